@@ -9,12 +9,16 @@ import java.util.Optional;
 import com.snapgames.core.entity.Entity;
 import com.snapgames.core.graphics.Renderer;
 import com.snapgames.core.input.InputHandler;
+import com.snapgames.core.loop.FixedStepGameLoop;
 import com.snapgames.core.loop.GameLoop;
 import com.snapgames.core.loop.StandardGameLoop;
 import com.snapgames.core.math.physic.CollisionDetection;
+import com.snapgames.core.math.physic.CollisionResolver;
 import com.snapgames.core.math.physic.PhysicEngine;
 import com.snapgames.core.math.physic.PhysicType;
 import com.snapgames.core.math.physic.SpacePartition;
+import com.snapgames.core.math.physic.SpatialHashGrid;
+import com.snapgames.core.math.physic.SweepAndPrune;
 import com.snapgames.core.scene.Scene;
 import com.snapgames.core.scene.SceneManager;
 import com.snapgames.core.system.GSystemManager;
@@ -49,6 +53,11 @@ import com.snapgames.core.utils.i18n.I18n;
 public abstract class Application {
     public static int FPS = 60;
     public static int UPS = 120;
+    /**
+     * Conversion factor from the loop elapsed time (in nanoseconds) to the physic time unit used by the
+     * {@link PhysicEngine}, the {@link SpacePartition} and the {@link CollisionDetection}.
+     */
+    public static final double PHYSIC_TIME_FACTOR = 0.00000002;
 
     public boolean exit = false;
     public boolean pause = false;
@@ -114,11 +123,16 @@ public abstract class Application {
      */
     private void initializeService() {
         GSystemManager.get();
-        gameLoop = new StandardGameLoop(configuration);
+        gameLoop = "fixed".equals(configuration.gameLoop)
+            ? new FixedStepGameLoop(configuration)
+            : new StandardGameLoop(configuration);
         GSystemManager.add(I18n.get());
         GSystemManager.add(new PhysicEngine(this));
         GSystemManager.add(new SpacePartition(this));
+        GSystemManager.add(new SpatialHashGrid(this));
+        GSystemManager.add(new SweepAndPrune());
         GSystemManager.add(new CollisionDetection(this));
+        GSystemManager.add(new CollisionResolver(this));
         GSystemManager.add(new Renderer(this));
         GSystemManager.add(new InputHandler(this));
         GSystemManager.add(new SceneManager(this));
@@ -140,19 +154,49 @@ public abstract class Application {
     }
 
     public void draw(Scene scene, Map<String, Object> stats) {
+        draw(scene, stats, 1.0);
+    }
+
+    /**
+     * Draw the {@link Scene}, with entities interpolated between their previous and current positions.
+     *
+     * @param scene the {@link Scene} to be drawn.
+     * @param stats the statistics to be displayed.
+     * @param alpha the interpolation factor, from 0.0 (previous positions) to 1.0 (current positions).
+     */
+    public void draw(Scene scene, Map<String, Object> stats, double alpha) {
         PhysicEngine physicEngine = GSystemManager.find(PhysicEngine.class);
         Renderer renderer = GSystemManager.find(Renderer.class);
-        renderer.draw(physicEngine.getWorld(), scene, stats);
+        if (configuration.renderPipelined) {
+            // the render thread is drawing the snapshots published on each update: while paused, there is no update,
+            // so the changes made by the input (e.g. the pause text) are published from here.
+            if (pause) {
+                renderer.publish(physicEngine.getWorld(), scene, stats, false);
+            }
+            return;
+        }
+        renderer.draw(physicEngine.getWorld(), scene, stats, alpha);
     }
 
+    /**
+     * Update the {@link Scene} through all the physic services.
+     *
+     * @param scene   the {@link Scene} to be updated.
+     * @param elapsed the elapsed time in nanoseconds, converted with {@link Application#PHYSIC_TIME_FACTOR}.
+     * @param stats   the statistics to be feed.
+     */
     public void update(Scene scene, long elapsed, Map<String, Object> stats) {
         PhysicEngine physicEngine = GSystemManager.find(PhysicEngine.class);
         CollisionDetection cd = GSystemManager.find(CollisionDetection.class);
-        SpacePartition spacePartition = GSystemManager.find(SpacePartition.class);
-        physicEngine.update(scene, elapsed * 0.00000002, stats);
-        spacePartition.update(scene, elapsed * 0.00000002);
-        cd.update(scene, elapsed * 0.00000002, stats);
+        double time = elapsed * PHYSIC_TIME_FACTOR;
+        physicEngine.update(scene, time, stats);
+        cd.getBroadPhase().update(scene, time);
+        cd.update(scene, time, stats);
         cd.reset();
+        if (configuration.renderPipelined) {
+            Renderer renderer = GSystemManager.find(Renderer.class);
+            renderer.publish(physicEngine.getWorld(), scene, stats, true);
+        }
     }
 
 
@@ -0,0 +1,84 @@
+package com.snapgames.core.behavior;
+
+import com.snapgames.core.entity.Entity;
+
+/**
+ * The {@link CollisionInterest} declares which other {@link Entity}'s a {@link CollisionResponseBehavior} wants to
+ * respond to. It is checked by the {@link com.snapgames.core.math.physic.CollisionDetection} before any intersection
+ * test or {@link com.snapgames.core.math.physic.CollisionEvent} creation, so pairs nobody is interested in cost
+ * nearly nothing.
+ *
+ * @author Frédéric Delorme
+ * @see CollisionResponseBehavior#accept(Entity)
+ * @since 1.0.5
+ */
+@FunctionalInterface
+public interface CollisionInterest {
+
+    /**
+     * Interested in any {@link Entity}.
+     */
+    CollisionInterest ANY = e -> true;
+
+    /**
+     * Check if the other {@link Entity} of a pair is of any interest.
+     *
+     * @param other the other {@link Entity} of the colliding pair.
+     * @return true if the collision must be processed.
+     */
+    boolean matches(Entity<?> other);
+
+    /**
+     * Interested in the entities whose name starts with one of the prefixes.
+     *
+     * @param prefixes the list of accepted name prefixes.
+     * @return the corresponding {@link CollisionInterest}.
+     */
+    static CollisionInterest namePrefix(String... prefixes) {
+        return e -> {
+            for (String prefix : prefixes) {
+                if (e.getName().startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Interested in the entities whose name is part of a filter string (e.g. <code>"player,enemy"</code>).
+     *
+     * @param filter the string containing the accepted names.
+     * @return the corresponding {@link CollisionInterest}.
+     */
+    static CollisionInterest nameIn(String filter) {
+        return e -> filter.contains(e.getName());
+    }
+
+    /**
+     * Interested in the entities on one of the layers.
+     *
+     * @param layers the list of accepted layers.
+     * @return the corresponding {@link CollisionInterest}.
+     */
+    static CollisionInterest layer(int... layers) {
+        return e -> {
+            for (int layer : layers) {
+                if (e.getLayer() == layer) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Interested in the entities tagged with an attribute.
+     *
+     * @param tag the name of the attribute the entity must own.
+     * @return the corresponding {@link CollisionInterest}.
+     */
+    static CollisionInterest tag(String tag) {
+        return e -> e.getAttribute(tag, null) != null;
+    }
+}
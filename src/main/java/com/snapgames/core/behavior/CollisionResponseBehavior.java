@@ -28,4 +28,17 @@ public interface CollisionResponseBehavior extends Behavior<Entity<?>> {
      * @return boolean true if collision must be processed.
      */
     boolean filter(CollisionEvent ce);
+
+    /**
+     * Declare up front if the other {@link Entity} of a pair is of any interest for this response. This is checked
+     * before the recorded {@link CollisionEvent} is dispatched to the responders; the
+     * {@link CollisionResponseBehavior#filter(CollisionEvent)} is then only called on the accepted pairs.
+     *
+     * @param other the other {@link Entity} of the pair.
+     * @return true if this response may process a collision with <code>other</code> (default to true).
+     * @see CollisionInterest
+     */
+    default boolean accept(Entity<?> other) {
+        return true;
+    }
 }
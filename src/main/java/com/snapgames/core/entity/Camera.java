@@ -38,6 +38,8 @@ public class Camera extends Entity<Camera> {
 
     @Override
     public void update(double elapsed) {
+        // keep previous position for rendering interpolation.
+        setOldPosition(this.x, this.y);
         this.rotation += dRotation;
         this.x += (target.x - ((this.width - target.width) * 0.5) - this.x) * tween * elapsed;
         this.y += (target.y - ((this.height - target.height) * 0.5) - this.y) * tween * elapsed;
@@ -53,6 +55,16 @@ public class Camera extends Entity<Camera> {
     }
 
     public boolean inViewport(Entity<? extends Entity<?>> e) {
-        return getBounds2D().contains(e.getBounds2D());
+        return contains(e.x, e.y, e.width, e.height);
+    }
+
+    /**
+     * Test if an {@link Entity} is, even partially, into the camera viewport.
+     *
+     * @param e the {@link Entity} to be tested.
+     * @return true if the entity overlaps the viewport.
+     */
+    public boolean overlapsViewport(Entity<? extends Entity<?>> e) {
+        return e.x < x + width && x < e.x + e.width && e.y < y + height && y < e.y + e.height;
     }
 }
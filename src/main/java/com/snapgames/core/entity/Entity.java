@@ -3,15 +3,21 @@ package com.snapgames.core.entity;
 import java.awt.Color;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.snapgames.core.behavior.Behavior;
+import com.snapgames.core.behavior.CollisionResponseBehavior;
+import com.snapgames.core.graphics.RenderQueue;
 import com.snapgames.core.graphics.plugins.RendererPlugin;
 import com.snapgames.core.math.Vector2D;
+import com.snapgames.core.math.physic.ForceAccumulator;
+import com.snapgames.core.math.physic.CollisionMatrix;
 import com.snapgames.core.math.physic.Material;
+import com.snapgames.core.math.physic.PerturbationIndex;
 import com.snapgames.core.math.physic.PhysicType;
 
 /**
@@ -37,7 +43,13 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
     public Vector2D acceleration = Vector2D.ZERO();
     public PhysicType physicType = PhysicType.DYNAMIC;
 
-    public List<Vector2D> forces = new ArrayList<>();
+    /**
+     * Default contributor name for forces and impulses added without any source.
+     */
+    private static final String FORCE_SOURCE = "force";
+    private static final String IMPULSE_SOURCE = "impulse";
+
+    public final ForceAccumulator forces = new ForceAccumulator();
     public double dRotation;
     public Material material;
     public double mass;
@@ -45,6 +57,32 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
     public boolean constrainedToPlayArea;
     public boolean stickToCamera;
     public int contact;
+    /**
+     * Continuous collision detection mode, to be used on small and fast entities.
+     */
+    public boolean continuous;
+    /**
+     * A sleeping {@link Entity} is resting: it is no more integrated until something wakes it up.
+     */
+    public boolean sleeping;
+    /**
+     * Number of consecutive updates the {@link Entity} has been resting.
+     */
+    public int quietTicks;
+    /**
+     * The perturbations overlapping this {@link Entity}, cached by the {@link PerturbationIndex}.
+     */
+    public PerturbationIndex.Cache perturbationCache;
+    /**
+     * The place of this {@link Entity} into the {@link RenderQueue} of its Scene.
+     */
+    public RenderQueue.Node renderNode;
+    /**
+     * Collision category bit of this {@link Entity}, and mask of the categories it collides with
+     * (see {@link CollisionMatrix}).
+     */
+    public int collisionCategory = 1;
+    public int collisionMask = -1;
 
     public boolean active;
     public boolean enabled;
@@ -60,12 +98,23 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
     Map<String, Object> attributes = new HashMap<>();
 
     public List<Behavior<?>> behaviors = new ArrayList<>();
+    /**
+     * The {@link CollisionResponseBehavior}'s from the behaviors list, refreshed by
+     * {@link Entity#addBehavior(Behavior)}.
+     */
+    private CollisionResponseBehavior[] responders = new CollisionResponseBehavior[0];
 
     public int debug = 5;
 
     public Entity<?> parent;
     public List<Entity<?>> child = new CopyOnWriteArrayList<>();
 
+    /**
+     * The packed {@link EntityStore} this {@link Entity} is attached to, if any, and its slot into.
+     */
+    EntityStore store;
+    int slot = -1;
+
 
     /**
      * Entity's constructor with a name, a position (x,y) and a size (w,h).
@@ -125,6 +174,9 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
      */
     public T setEnabled(boolean enabled) {
         this.enabled = enabled;
+        if (store != null) {
+            store.setFlag(slot, EntityStore.FLAG_ENABLED, enabled);
+        }
         if (duration != -1) {
             lifespan = duration;
         }
@@ -148,9 +200,37 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
 
     public T addBehavior(Behavior<?> b) {
         behaviors.add(b);
+        if (b instanceof CollisionResponseBehavior crb) {
+            responders = Arrays.copyOf(responders, responders.length + 1);
+            responders[responders.length - 1] = crb;
+        }
         return (T) this;
     }
 
+    /**
+     * Retrieve the collision responders of this {@link Entity}, precomputed when behaviors are added.
+     *
+     * @return the array of {@link CollisionResponseBehavior}'s (not to be modified).
+     */
+    public CollisionResponseBehavior[] getResponders() {
+        return responders;
+    }
+
+    /**
+     * Check if any of the collision responders of this {@link Entity} accepts the other one.
+     *
+     * @param other the other {@link Entity} of a colliding pair.
+     * @return true if a collision with <code>other</code> must be processed.
+     */
+    public boolean isInterestedIn(Entity<?> other) {
+        for (CollisionResponseBehavior r : responders) {
+            if (r.accept(other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Add an attribute to this Entity.
      *
@@ -159,6 +239,10 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
      */
     public T setAttribute(String attrName, Object attrValue) {
         attributes.put(attrName, attrValue);
+        // physic limits are cached into the packed store.
+        if (store != null && (attrName.equals("maxAccelY") || attrName.equals("maxVelX"))) {
+            store.pull(this);
+        }
         return (T) this;
     }
 
@@ -173,39 +257,112 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
         return (Y) attributes.getOrDefault(attrName, defaultValue);
     }
 
+    /**
+     * Retrieve the specified numeric attribute value, without boxing the default value.
+     *
+     * @param attrName     Attribute's name
+     * @param defaultValue the default value if it does not exist.
+     * @return Attribute's value or the default value if it was not existing.
+     */
+    public double getDoubleAttribute(String attrName, double defaultValue) {
+        Object value = attributes.get(attrName);
+        return value instanceof Number n ? n.doubleValue() : defaultValue;
+    }
+
     public T setSpeed(double dx, double dy) {
-        return (T) setSpeed(new Vector2D(dx, dy));
+        this.vel.set(dx, dy);
+        if (store != null) {
+            store.velX[slot] = dx;
+            store.velY[slot] = dy;
+        }
+        return (T) this;
     }
 
+    /**
+     * Set the velocity of this {@link Entity}. The values of d are copied, the {@link Vector2D} is not kept.
+     *
+     * @param d the new velocity.
+     * @return the updated T Entity.
+     */
     public T setSpeed(Vector2D d) {
-        this.vel = d;
-        return (T) this;
+        return setSpeed(d.x, d.y);
     }
 
+    /**
+     * Move this {@link Entity} to (x,y), the current position becoming the old one.
+     *
+     * @param x X axis position
+     * @param y Y axis position
+     * @return the updated T Entity.
+     */
     public T setPosition(double x, double y) {
-        return (T) setPosition(new Vector2D(x, y));
+        wake();
+        this.oldPos.set(pos);
+        this.pos.set(x, y);
+        this.x = x;
+        this.y = y;
+        if (store != null) {
+            store.oldX[slot] = oldPos.x;
+            store.oldY[slot] = oldPos.y;
+            store.posX[slot] = x;
+            store.posY[slot] = y;
+        }
+        return (T) this;
     }
 
+    /**
+     * Move this {@link Entity} to p. The values of p are copied, the {@link Vector2D} is not kept.
+     *
+     * @param p the new position.
+     * @return the updated T Entity.
+     */
     public T setPosition(Vector2D p) {
-        this.oldPos = pos;
-        this.pos = p;
+        return setPosition(p.x, p.y);
+    }
+
+    /**
+     * Move this {@link Entity} with its previous position, so that the move is not seen as a motion
+     * (e.g. to correct an overlap).
+     *
+     * @param dx the horizontal offset.
+     * @param dy the vertical offset.
+     * @return the updated T Entity.
+     */
+    public T translate(double dx, double dy) {
+        wake();
+        this.oldPos.addLocal(dx, dy);
+        this.pos.addLocal(dx, dy);
         this.x = pos.x;
         this.y = pos.y;
+        if (store != null) {
+            store.oldX[slot] = oldPos.x;
+            store.oldY[slot] = oldPos.y;
+            store.posX[slot] = pos.x;
+            store.posY[slot] = pos.y;
+        }
         return (T) this;
     }
 
     public T setAcceleration(double ax, double ay) {
-        return (T) setAcceleration(new Vector2D(ax, ay));
+        this.acceleration.set(ax, ay);
+        if (store != null) {
+            store.accX[slot] = ax;
+            store.accY[slot] = ay;
+        }
+        return (T) this;
     }
 
     public T setAcceleration(Vector2D acc) {
-        this.acceleration = acc;
-        return (T) this;
+        return setAcceleration(acc.x, acc.y);
     }
 
     public T setSize(double w, double h) {
         this.width = w;
         this.height = h;
+        if (store != null) {
+            store.width[slot] = w;
+            store.height[slot] = h;
+        }
         return (T) this;
     }
 
@@ -221,11 +378,17 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
 
     public T setMass(double m) {
         this.mass = m;
+        if (store != null) {
+            store.mass[slot] = m;
+        }
         return (T) this;
     }
 
     public T setMaterial(Material mat) {
         this.material = mat;
+        if (store != null) {
+            store.setMaterial(slot, mat);
+        }
         return (T) this;
     }
 
@@ -239,11 +402,20 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
 
     public T setStickToCameraView(boolean b) {
         this.stickToCamera = b;
+        if (store != null) {
+            store.setFlag(slot, EntityStore.FLAG_STICK_TO_CAMERA, b);
+        }
+        if (renderNode != null) {
+            renderNode.getQueue().update(this);
+        }
         return (T) this;
     }
 
     public T setPhysicType(PhysicType t) {
         this.physicType = t;
+        if (store != null) {
+            store.setPhysicType(slot, t);
+        }
         return (T) this;
     }
 
@@ -260,21 +432,97 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
 
     public T setPriority(int t) {
         this.priority = t;
+        if (renderNode != null) {
+            renderNode.getQueue().update(this);
+        }
         return (T) this;
     }
 
     public T setContact(int c) {
         this.contact = c;
+        if (store != null) {
+            store.contact[slot] = c;
+        }
+        return (T) this;
+    }
+
+    /**
+     * Request the continuous collision detection for this {@link Entity}: its whole move since the previous update
+     * is tested against its neighbours, so that it can not go through a thin entity between two updates.
+     *
+     * @param c true to activate the continuous collision detection.
+     * @return the updated T Entity.
+     */
+    public T setContinuous(boolean c) {
+        this.continuous = c;
+        return (T) this;
+    }
+
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    /**
+     * Define the collision category bit of this {@link Entity} and the mask of the categories it collides with.
+     * Categories are mostly assigned by name through {@link CollisionMatrix#apply(Entity, String)}.
+     *
+     * @param category the category bit.
+     * @param mask     the mask of the colliding categories.
+     * @return the updated T Entity.
+     */
+    public T setCollisionFilter(int category, int mask) {
+        this.collisionCategory = category;
+        this.collisionMask = mask;
+        return (T) this;
+    }
+
+    /**
+     * Put this {@link Entity} to sleep (its velocity is then cleared), or wake it up.
+     *
+     * @param s true to put the Entity to sleep.
+     * @return the updated T Entity.
+     */
+    public T setSleeping(boolean s) {
+        this.sleeping = s;
+        this.quietTicks = 0;
+        if (s) {
+            setSpeed(0.0, 0.0);
+        }
+        if (store != null) {
+            store.setFlag(slot, EntityStore.FLAG_SLEEPING, s);
+        }
+        return (T) this;
+    }
+
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * Wake this {@link Entity} up if it is sleeping: on any force, impulse or move requested by the game.
+     *
+     * @return the updated T Entity.
+     */
+    public T wake() {
+        if (sleeping) {
+            setSleeping(false);
+        }
         return (T) this;
     }
 
     public T setConstrainedToPlayArea(boolean ctpa) {
         this.constrainedToPlayArea = ctpa;
+        if (store != null) {
+            store.setFlag(slot, EntityStore.FLAG_CONSTRAINED, ctpa);
+        }
         return (T) this;
     }
 
     public T setLayer(int l) {
         this.layer = l;
+        if (renderNode != null) {
+            renderNode.getQueue().update(this);
+        }
         return (T) this;
     }
 
@@ -293,6 +541,9 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
         if (duration != -1) {
             info.add(String.format("5_life:%d/%d", lifespan, duration));
         }
+        for (String contributor : forces.getContributors()) {
+            info.add(String.format("5_f:%s", contributor));
+        }
         return info;
     }
 
@@ -312,21 +563,98 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
     }
 
     public T setOldPosition(double x, double y) {
-        this.oldPos = new Vector2D(x, y);
+        this.oldPos.set(x, y);
+        if (store != null) {
+            store.oldX[slot] = x;
+            store.oldY[slot] = y;
+        }
         return (T) this;
     }
 
     public T setOldPosition(Vector2D p) {
-        this.oldPos = p;
-        return (T) this;
+        return setOldPosition(p.x, p.y);
     }
 
     public List<Entity<?>> getChild() {
         return child;
     }
 
+    /**
+     * Add a force to the {@link Entity}. Only the values of f are accumulated, the {@link Vector2D} is not kept.
+     *
+     * @param f the force to be applied.
+     * @return the updated T Entity.
+     */
     public T addForce(Vector2D f) {
-        this.forces.add(f);
+        return addForce(FORCE_SOURCE, f.x, f.y);
+    }
+
+    /**
+     * Add a force (fx,fy) to the {@link Entity}.
+     *
+     * @param fx horizontal force value
+     * @param fy vertical force value
+     * @return the updated T Entity.
+     */
+    public T addForce(double fx, double fy) {
+        return addForce(FORCE_SOURCE, fx, fy);
+    }
+
+    /**
+     * Add a force (fx,fy) to the {@link Entity}, from a named source (see {@link ForceAccumulator}).
+     *
+     * @param source name of the contributor, displayed in debug mode.
+     * @param fx     horizontal force value
+     * @param fy     vertical force value
+     * @return the updated T Entity.
+     */
+    public T addForce(String source, double fx, double fy) {
+        wake();
+        this.forces.add(source, fx, fy);
+        if (store != null) {
+            store.forceX[slot] += fx;
+            store.forceY[slot] += fy;
+        }
+        return (T) this;
+    }
+
+    /**
+     * Add a one-shot impulse (ix,iy) to the {@link Entity}: it is directly applied to the velocity on the next
+     * update, without being integrated over the elapsed time.
+     *
+     * @param ix horizontal impulse value
+     * @param iy vertical impulse value
+     * @return the updated T Entity.
+     */
+    public T addImpulse(double ix, double iy) {
+        return addImpulse(IMPULSE_SOURCE, ix, iy);
+    }
+
+    /**
+     * Add a one-shot impulse (ix,iy) to the {@link Entity}, from a named source.
+     *
+     * @param source name of the contributor, displayed in debug mode.
+     * @param ix     horizontal impulse value
+     * @param iy     vertical impulse value
+     * @return the updated T Entity.
+     */
+    public T addImpulse(String source, double ix, double iy) {
+        wake();
+        this.forces.addImpulse(source, ix, iy);
+        if (store != null) {
+            store.impulseX[slot] += ix;
+            store.impulseY[slot] += iy;
+        }
+        return (T) this;
+    }
+
+    /**
+     * Reset all the forces and impulses applied on this {@link Entity}.
+     *
+     * @return the updated T Entity.
+     */
+    public T clearForces() {
+        forces.clear();
         return (T) this;
     }
 
@@ -334,7 +662,7 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
         return this.material;
     }
 
-    public List<Vector2D> getForces() {
+    public ForceAccumulator getForces() {
         return forces;
     }
 
@@ -346,10 +674,29 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
         return this.priority;
     }
 
+    /**
+     * Retrieve the render group of this {@link Entity}: the entities of the same layer and priority are drawn grouped
+     * by this value (see {@link RenderQueue}).
+     *
+     * @return the render group, 0 by default.
+     */
+    public int getRenderGroup() {
+        return 0;
+    }
+
     public String getName() {
         return name;
     }
 
+    /**
+     * Retrieve the unique identifier of this {@link Entity}.
+     *
+     * @return the entity id.
+     */
+    public int getId() {
+        return id;
+    }
+
     public Vector2D getPosition() {
         return pos;
     }
@@ -369,7 +716,9 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
      * @return the updated T Entity.
      */
     public T addForces(List<Vector2D> forces) {
-        forces.forEach(f -> this.addForce(f));
+        for (int i = 0; i < forces.size(); i++) {
+            this.addForce(forces.get(i));
+        }
         return (T) this;
     }
 
@@ -403,4 +752,22 @@ public class Entity<T extends Entity<?>> extends Rectangle2D.Double {
     public boolean isEntityConstrained(Entity<?> e) {
         return entityIsConstrained;
     }
+
+    /**
+     * Retrieve the {@link EntityStore} this {@link Entity} is attached to.
+     *
+     * @return the {@link EntityStore} instance or null if this {@link Entity} is not packed.
+     */
+    public EntityStore getStore() {
+        return store;
+    }
+
+    /**
+     * Retrieve the slot of this {@link Entity} into its {@link EntityStore}.
+     *
+     * @return the slot number or -1 if this {@link Entity} is not packed.
+     */
+    public int getSlot() {
+        return slot;
+    }
 }
@@ -0,0 +1,323 @@
+package com.snapgames.core.entity;
+
+import java.util.Arrays;
+
+import com.snapgames.core.math.Vector2D;
+import com.snapgames.core.math.physic.Material;
+import com.snapgames.core.math.physic.PhysicType;
+
+/**
+ * The {@link EntityStore} is a packed storage for the physic state of the {@link Entity}'s of a
+ * {@link com.snapgames.core.scene.Scene}.
+ * <p>
+ * Position, velocity, acceleration, forces and impulses, mass, contact and some flags are kept into parallel
+ * primitive arrays, indexed by a dense slot number given to each attached {@link Entity}. The
+ * {@link com.snapgames.core.math.physic.PhysicEngine} can then integrate all the attached entities by walking
+ * straight over those arrays, without chasing any pointer to the {@link Entity} objects.
+ * <p>
+ * Once attached, an {@link Entity} writes any change on its physic attributes (through its setters) to its slot,
+ * and its own {@link Vector2D} fields are refreshed from the slot after each integration
+ * pass (see {@link EntityStore#writeBack()}).
+ * <p>
+ * The store is activated with the following configuration entries:
+ *
+ * <pre>
+ * app.physic.store.packed=true
+ * app.physic.store.capacity=1024
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see com.snapgames.core.scene.AbstractScene#setEntityStore(EntityStore)
+ * @since 1.0.5
+ */
+public class EntityStore {
+
+    /**
+     * The {@link Entity} is enabled.
+     */
+    public static final int FLAG_ENABLED = 1;
+    /**
+     * The {@link Entity} sticks to the camera viewport.
+     */
+    public static final int FLAG_STICK_TO_CAMERA = 2;
+    /**
+     * The {@link Entity} must be kept inside the World play area.
+     */
+    public static final int FLAG_CONSTRAINED = 4;
+    /**
+     * The {@link Entity} is a {@link PhysicType#NONE} one.
+     */
+    public static final int FLAG_NONE = 8;
+    /**
+     * The {@link Entity} is a {@link PhysicType#STATIC} one.
+     */
+    public static final int FLAG_STATIC = 16;
+    /**
+     * The {@link Entity} is a {@link PhysicType#DYNAMIC} one.
+     */
+    public static final int FLAG_DYNAMIC = 32;
+    /**
+     * The {@link Entity} is sleeping, and not integrated.
+     */
+    public static final int FLAG_SLEEPING = 64;
+
+    private static final int PHYSIC_TYPE_FLAGS = FLAG_NONE | FLAG_STATIC | FLAG_DYNAMIC;
+
+    public double[] posX, posY;
+    public double[] oldX, oldY;
+    public double[] velX, velY;
+    public double[] accX, accY;
+    public double[] forceX, forceY;
+    public double[] impulseX, impulseY;
+    public double[] width, height;
+    public double[] mass;
+    /**
+     * Material density, elasticity and roughness (1.0 if the {@link Entity} has no {@link Material}).
+     */
+    public double[] density, elasticity, roughness;
+    /**
+     * Per-entity maximum acceleration and velocity (<code>NaN</code> to use the engine's default ones).
+     */
+    public double[] maxAcc, maxVel;
+    public int[] contact;
+    public int[] flags;
+
+    private Entity<?>[] entities;
+    private int size;
+
+    /**
+     * Create a new {@link EntityStore} with an initial capacity. The store will grow if more entities are attached.
+     *
+     * @param capacity the initial number of slots.
+     */
+    public EntityStore(int capacity) {
+        allocate(Math.max(capacity, 16));
+    }
+
+    private void allocate(int capacity) {
+        posX = resize(posX, capacity);
+        posY = resize(posY, capacity);
+        oldX = resize(oldX, capacity);
+        oldY = resize(oldY, capacity);
+        velX = resize(velX, capacity);
+        velY = resize(velY, capacity);
+        accX = resize(accX, capacity);
+        accY = resize(accY, capacity);
+        forceX = resize(forceX, capacity);
+        forceY = resize(forceY, capacity);
+        impulseX = resize(impulseX, capacity);
+        impulseY = resize(impulseY, capacity);
+        width = resize(width, capacity);
+        height = resize(height, capacity);
+        mass = resize(mass, capacity);
+        density = resize(density, capacity);
+        elasticity = resize(elasticity, capacity);
+        roughness = resize(roughness, capacity);
+        maxAcc = resize(maxAcc, capacity);
+        maxVel = resize(maxVel, capacity);
+        contact = contact == null ? new int[capacity] : Arrays.copyOf(contact, capacity);
+        flags = flags == null ? new int[capacity] : Arrays.copyOf(flags, capacity);
+        entities = entities == null ? new Entity<?>[capacity] : Arrays.copyOf(entities, capacity);
+    }
+
+    private static double[] resize(double[] a, int capacity) {
+        return a == null ? new double[capacity] : Arrays.copyOf(a, capacity);
+    }
+
+    /**
+     * Attach an {@link Entity} to a new slot at the end of the store, and copy all its physic state into it.
+     *
+     * @param e the {@link Entity} to be attached.
+     */
+    public void attach(Entity<?> e) {
+        if (e.store == this) {
+            return;
+        }
+        if (e.store != null) {
+            e.store.detach(e);
+        }
+        if (size == entities.length) {
+            allocate(entities.length * 2);
+        }
+        int slot = size++;
+        entities[slot] = e;
+        e.store = this;
+        e.slot = slot;
+        pull(e);
+    }
+
+    /**
+     * Release the slot of the {@link Entity}. The last slot is moved into the released one to keep the arrays dense.
+     *
+     * @param e the {@link Entity} to be detached.
+     */
+    public void detach(Entity<?> e) {
+        if (e.store != this) {
+            return;
+        }
+        int slot = e.slot;
+        int last = --size;
+        if (slot != last) {
+            move(last, slot);
+        }
+        entities[last] = null;
+        e.store = null;
+        e.slot = -1;
+    }
+
+    /**
+     * Detach all the entities from this store.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entities[i].store = null;
+            entities[i].slot = -1;
+            entities[i] = null;
+        }
+        size = 0;
+    }
+
+    private void move(int from, int to) {
+        posX[to] = posX[from];
+        posY[to] = posY[from];
+        oldX[to] = oldX[from];
+        oldY[to] = oldY[from];
+        velX[to] = velX[from];
+        velY[to] = velY[from];
+        accX[to] = accX[from];
+        accY[to] = accY[from];
+        forceX[to] = forceX[from];
+        forceY[to] = forceY[from];
+        impulseX[to] = impulseX[from];
+        impulseY[to] = impulseY[from];
+        width[to] = width[from];
+        height[to] = height[from];
+        mass[to] = mass[from];
+        density[to] = density[from];
+        elasticity[to] = elasticity[from];
+        roughness[to] = roughness[from];
+        maxAcc[to] = maxAcc[from];
+        maxVel[to] = maxVel[from];
+        contact[to] = contact[from];
+        flags[to] = flags[from];
+        entities[to] = entities[from];
+        entities[to].slot = to;
+    }
+
+    /**
+     * Copy the full physic state of an attached {@link Entity} into its slot.
+     *
+     * @param e the attached {@link Entity}.
+     */
+    public void pull(Entity<?> e) {
+        int i = e.slot;
+        posX[i] = e.pos.x;
+        posY[i] = e.pos.y;
+        oldX[i] = e.oldPos.x;
+        oldY[i] = e.oldPos.y;
+        velX[i] = e.vel.x;
+        velY[i] = e.vel.y;
+        accX[i] = e.acceleration.x;
+        accY[i] = e.acceleration.y;
+        forceX[i] = e.forces.fx;
+        forceY[i] = e.forces.fy;
+        impulseX[i] = e.forces.ix;
+        impulseY[i] = e.forces.iy;
+        width[i] = e.width;
+        height[i] = e.height;
+        mass[i] = e.mass;
+        contact[i] = e.contact;
+        setMaterial(i, e.material);
+        maxAcc[i] = e.getDoubleAttribute("maxAccelY", Double.NaN);
+        maxVel[i] = e.getDoubleAttribute("maxVelX", Double.NaN);
+        flags[i] = flagsOf(e);
+    }
+
+    /**
+     * Refresh the {@link Entity}'s fields from their slot, after an integration pass over the arrays.
+     */
+    public void writeBack() {
+        for (int i = 0; i < size; i++) {
+            Entity<?> e = entities[i];
+            e.oldPos.x = oldX[i];
+            e.oldPos.y = oldY[i];
+            e.pos.x = posX[i];
+            e.pos.y = posY[i];
+            e.vel.x = velX[i];
+            e.vel.y = velY[i];
+            e.acceleration.x = accX[i];
+            e.acceleration.y = accY[i];
+            e.contact = contact[i];
+            e.x = posX[i];
+            e.y = posY[i];
+            e.clearForces();
+        }
+    }
+
+    void setMaterial(int i, Material m) {
+        density[i] = m != null ? m.getDensity() : 1.0;
+        elasticity[i] = m != null ? m.getElasticity() : 1.0;
+        roughness[i] = m != null ? m.getRoughness() : 1.0;
+    }
+
+    void setFlag(int i, int flag, boolean value) {
+        flags[i] = value ? flags[i] | flag : flags[i] & ~flag;
+    }
+
+    void setPhysicType(int i, PhysicType t) {
+        flags[i] = (flags[i] & ~PHYSIC_TYPE_FLAGS) | physicTypeFlag(t);
+    }
+
+    private static int flagsOf(Entity<?> e) {
+        int f = physicTypeFlag(e.physicType);
+        if (e.enabled) {
+            f |= FLAG_ENABLED;
+        }
+        if (e.stickToCamera) {
+            f |= FLAG_STICK_TO_CAMERA;
+        }
+        if (e.constrainedToPlayArea) {
+            f |= FLAG_CONSTRAINED;
+        }
+        if (e.sleeping) {
+            f |= FLAG_SLEEPING;
+        }
+        return f;
+    }
+
+    private static int physicTypeFlag(PhysicType t) {
+        return switch (t) {
+            case NONE -> FLAG_NONE;
+            case STATIC -> FLAG_STATIC;
+            case DYNAMIC -> FLAG_DYNAMIC;
+        };
+    }
+
+    /**
+     * Retrieve the {@link Entity} attached to a slot.
+     *
+     * @param slot the slot number.
+     * @return the {@link Entity} owning this slot.
+     */
+    public Entity<?> get(int slot) {
+        return entities[slot];
+    }
+
+    /**
+     * Number of attached entities. Slots from 0 to <code>size()-1</code> are all used.
+     *
+     * @return the number of used slots.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Current number of slots allocated into the arrays.
+     *
+     * @return the capacity of this store.
+     */
+    public int capacity() {
+        return entities.length;
+    }
+}
@@ -1,6 +1,7 @@
 package com.snapgames.core.entity;
 
 import com.snapgames.core.behavior.CollisionResponseBehavior;
+import com.snapgames.core.graphics.TextureAtlas;
 import com.snapgames.core.math.Vector2D;
 import com.snapgames.core.math.physic.CollisionEvent;
 
@@ -27,6 +28,7 @@ public class GameObject extends Entity<GameObject> {
 
     public GameObjectType type = GameObjectType.TYPE_RECTANGLE;
     private BufferedImage image;
+    private TextureAtlas.Region region;
 
     /**
      * Create a new GameObject.
@@ -52,6 +54,9 @@ public class GameObject extends Entity<GameObject> {
 
     public GameObject setType(GameObjectType t) {
         this.type = t;
+        if (renderNode != null) {
+            renderNode.getQueue().update(this);
+        }
         return this;
     }
 
@@ -63,4 +68,33 @@ public class GameObject extends Entity<GameObject> {
     public BufferedImage getImage() {
         return image;
     }
+
+    /**
+     * Define the {@link TextureAtlas} region to be drawn for a {@link GameObjectType#TYPE_IMAGE} object, in place of
+     * its image.
+     *
+     * @param r the {@link TextureAtlas.Region} to be drawn.
+     * @return this {@link GameObject}.
+     */
+    public GameObject setRegion(TextureAtlas.Region r) {
+        this.region = r;
+        if (renderNode != null) {
+            renderNode.getQueue().update(this);
+        }
+        return this;
+    }
+
+    public TextureAtlas.Region getRegion() {
+        return region;
+    }
+
+    /**
+     * The image objects drawn from a {@link TextureAtlas} are grouped by atlas.
+     *
+     * @return the atlas identifier, or 0 if the object is not drawn from an atlas.
+     */
+    @Override
+    public int getRenderGroup() {
+        return type == GameObjectType.TYPE_IMAGE && region != null ? region.getAtlas().getId() : 0;
+    }
 }
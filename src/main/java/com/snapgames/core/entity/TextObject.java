@@ -3,7 +3,9 @@ package com.snapgames.core.entity;
 import java.awt.Color;
 import java.awt.Font;
 import java.util.List;
+import java.util.Objects;
 
+import com.snapgames.core.graphics.TextSpriteCache;
 import com.snapgames.core.utils.i18n.I18n;
 
 /**
@@ -26,6 +28,9 @@ import com.snapgames.core.utils.i18n.I18n;
  * <li>a <code>borderColor</code> and a <code>borderWidth</code> to define a
  * outlined border on the text.</li>
  * </ul>
+ * <p>
+ * Any change of the look of the text increases its <code>version</code>, telling the renderer to retrieve a new
+ * prerendered sprite from the {@link TextSpriteCache}.
  */
 public class TextObject extends Entity<TextObject> {
     public static final int ALIGN_LEFT = 1;
@@ -40,6 +45,12 @@ public class TextObject extends Entity<TextObject> {
     Color borderColor;
     int textAlign = ALIGN_LEFT;
     String i18nKeyCode;
+    int version;
+    /**
+     * The prerendered text, and the version of this {@link TextObject} it was retrieved for.
+     */
+    public TextSpriteCache.Sprite sprite;
+    public int spriteVersion = -1;
 
     /**
      * Create a new {@link TextObject} at (x,y) with name n.
@@ -63,45 +74,84 @@ public class TextObject extends Entity<TextObject> {
 
     public TextObject setShadowColor(Color sc) {
         this.shadowColor = sc;
+        version++;
         return this;
     }
 
     public TextObject setShadowWidth(int sw) {
         this.shadowWidth = sw;
+        version++;
         return this;
     }
 
     public TextObject setBorderColor(Color bc) {
         this.borderColor = bc;
+        version++;
         return this;
     }
 
     public TextObject setBorderWidth(int bw) {
         this.borderWidth = bw;
+        version++;
         return this;
     }
 
     public TextObject setFont(Font f) {
         this.font = f;
+        version++;
         return this;
     }
 
     public TextObject setText(String t) {
-        this.text = t;
+        if (!Objects.equals(text, t)) {
+            this.text = t;
+            version++;
+        }
         return this;
     }
 
     public TextObject setValue(Object v) {
-        this.value = v;
+        if (!Objects.equals(value, v)) {
+            this.value = v;
+            version++;
+        }
         return this;
     }
 
     public TextObject setTextAlign(int ta) {
         assert (ta == ALIGN_LEFT || ta == ALIGN_CENTER || ta == ALIGN_RIGHT);
         this.textAlign = ta;
+        version++;
         return this;
     }
 
+    @Override
+    public TextObject setColor(Color c) {
+        version++;
+        return super.setColor(c);
+    }
+
+    /**
+     * Retrieve the text to be displayed, formatted with the <code>value</code> if the text is a format.
+     *
+     * @return the text to be displayed, or null if there is no text.
+     */
+    public String getFormattedText() {
+        if (text != null && text.contains("%") && value != null) {
+            return String.format(text, value);
+        }
+        return text;
+    }
+
+    /**
+     * Retrieve the version of this {@link TextObject}, increased on any change of its text, value or look.
+     *
+     * @return the version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     @Override
     public List<String> getDebugInfo() {
         List<String> infos = super.getDebugInfo();
@@ -152,6 +202,7 @@ public class TextObject extends Entity<TextObject> {
 
     public TextObject setI18nKeyCode(String i18nKeyCode) {
         this.i18nKeyCode = i18nKeyCode;
+        version++;
         return this;
     }
 }
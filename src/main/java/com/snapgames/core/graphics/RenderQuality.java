@@ -0,0 +1,118 @@
+package com.snapgames.core.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link RenderQuality} profiles define the Java2D rendering hints used to draw the Scene:
+ * <ul>
+ * <li><code>speed</code>: no antialiasing at all, speed rendering,</li>
+ * <li><code>balanced</code>: antialiased texts only, default rendering,</li>
+ * <li><code>quality</code>: antialiased shapes and texts, quality rendering.</li>
+ * </ul>
+ * <p>
+ * The default profile is set with the <code>app.render.quality</code> configuration key, and can be overridden per
+ * layer (or range of layers) with <code>app.render.quality.layers</code>, e.g. to draw the particles without
+ * antialiasing while keeping it on the HUD texts:
+ *
+ * <pre>
+ * app.render.quality=balanced
+ * app.render.quality.layers=1:quality,10-18:speed
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see Renderer
+ * @since 1.0.5
+ */
+public enum RenderQuality {
+    SPEED(RenderingHints.VALUE_RENDER_SPEED, RenderingHints.VALUE_COLOR_RENDER_SPEED,
+        RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF),
+    BALANCED(RenderingHints.VALUE_RENDER_DEFAULT, RenderingHints.VALUE_COLOR_RENDER_DEFAULT,
+        RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_TEXT_ANTIALIAS_ON),
+    QUALITY(RenderingHints.VALUE_RENDER_QUALITY, RenderingHints.VALUE_COLOR_RENDER_QUALITY,
+        RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+    private final Object rendering, colorRendering, antialiasing, textAntialiasing;
+
+    RenderQuality(Object rendering, Object colorRendering, Object antialiasing, Object textAntialiasing) {
+        this.rendering = rendering;
+        this.colorRendering = colorRendering;
+        this.antialiasing = antialiasing;
+        this.textAntialiasing = textAntialiasing;
+    }
+
+    /**
+     * Set the rendering hints of this profile on a {@link Graphics2D}.
+     *
+     * @param g the {@link Graphics2D} API instance.
+     */
+    public void apply(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, rendering);
+        g.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, colorRendering);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, textAntialiasing);
+    }
+
+    /**
+     * The {@link RenderingHints#KEY_TEXT_ANTIALIASING} value of this profile.
+     *
+     * @return the text antialiasing hint value.
+     */
+    public Object getTextAntialiasing() {
+        return textAntialiasing;
+    }
+
+    /**
+     * Retrieve a profile from its name.
+     *
+     * @param name         the profile name (<code>speed</code>, <code>balanced</code> or <code>quality</code>).
+     * @param defaultValue the profile to be returned if the name is unknown.
+     * @return the corresponding {@link RenderQuality}.
+     */
+    public static RenderQuality parse(String name, RenderQuality defaultValue) {
+        for (RenderQuality q : values()) {
+            if (q.name().equalsIgnoreCase(name.trim())) {
+                return q;
+            }
+        }
+        System.out.printf(">> <!> RenderQuality: unknown quality profile '%s', using %s%n", name,
+            defaultValue.name().toLowerCase());
+        return defaultValue;
+    }
+
+    /**
+     * Parse the per-layer profiles, defined as a list of <code>layer:profile</code> or
+     * <code>first-last:profile</code> entries separated by <code>,</code>.
+     *
+     * @param definition   the per-layer profiles, as defined by <code>app.render.quality.layers</code>.
+     * @param defaultValue the default profile.
+     * @return the profile overriding the default one, by layer.
+     */
+    public static Map<Integer, RenderQuality> parseLayers(String definition, RenderQuality defaultValue) {
+        Map<Integer, RenderQuality> layers = new HashMap<>();
+        if (definition == null || definition.isBlank()) {
+            return layers;
+        }
+        for (String entry : definition.split(",")) {
+            String[] parts = entry.split(":", 2);
+            if (parts.length < 2) {
+                System.out.printf(">> <!> RenderQuality: wrong layer quality entry '%s'%n", entry);
+                continue;
+            }
+            RenderQuality q = parse(parts[1], defaultValue);
+            String[] range = parts[0].trim().split("-", 2);
+            try {
+                int first = Integer.parseInt(range[0].trim());
+                int last = range.length > 1 ? Integer.parseInt(range[1].trim()) : first;
+                for (int l = first; l <= last; l++) {
+                    layers.put(l, q);
+                }
+            } catch (NumberFormatException e) {
+                System.out.printf(">> <!> RenderQuality: wrong layer in entry '%s'%n", entry);
+            }
+        }
+        return layers;
+    }
+}
@@ -0,0 +1,279 @@
+package com.snapgames.core.graphics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.scene.AbstractScene;
+
+/**
+ * The {@link RenderQueue} keeps the entities of a {@link com.snapgames.core.scene.Scene} into buckets of the same
+ * <code>layer * 1000 + priority</code>, the buckets being kept in the drawing order: from the highest value to the
+ * lowest one. Into the same layer and priority, the entities are also split by render group (see
+ * {@link Entity#getRenderGroup()}), so that the images coming from the same {@link TextureAtlas} are drawn in a row.
+ * <p>
+ * The buckets are only updated when an {@link Entity} is added or removed (see {@link AbstractScene}), or when its
+ * layer, priority or render group is changed (see {@link Entity#setLayer(int)} and {@link Entity#setPriority(int)}).
+ * Ordering the visible entities on each frame is then a single placement pass over the buckets, instead of a sort.
+ * <p>
+ * The queue also keeps the list of its entities sticking to the camera, updated the same way from
+ * {@link Entity#setStickToCameraView(boolean)}, so that the renderer does not search them.
+ *
+ * @author Frédéric Delorme
+ * @see Renderer
+ * @see RenderSnapshot
+ * @since 1.0.5
+ */
+public class RenderQueue {
+
+    /**
+     * The place of an {@link Entity} into a {@link RenderQueue}.
+     */
+    public static final class Node {
+        private final RenderQueue queue;
+        private Bucket bucket;
+        private int index;
+        private boolean stickToCamera;
+
+        private Node(RenderQueue queue) {
+            this.queue = queue;
+        }
+
+        public RenderQueue getQueue() {
+            return queue;
+        }
+    }
+
+    /**
+     * All the entities sharing the same <code>layer * 1000 + priority</code> and render group.
+     */
+    private static final class Bucket {
+        final int order;
+        final int group;
+        Entity<?>[] items = new Entity<?>[8];
+        int size;
+        /**
+         * Index of the next visible entity of this bucket into the ordered list.
+         */
+        int offset;
+
+        Bucket(int order, int group) {
+            this.order = order;
+            this.group = group;
+        }
+    }
+
+    private Bucket[] buckets = new Bucket[8];
+    private int bucketCount;
+    private int size;
+
+    private final List<Entity<?>> stickToCamera = new ArrayList<>();
+    private final List<Entity<?>> stickToCameraView = Collections.unmodifiableList(stickToCamera);
+
+    private Entity<?>[] scratch = new Entity<?>[256];
+    private Bucket[] scratchBuckets = new Bucket[256];
+
+    private static int order(Entity<?> e) {
+        return e.getLayer() * 1000 + e.getPriority();
+    }
+
+    /**
+     * Add an {@link Entity} to the bucket of its layer and priority, removing it from any other queue.
+     *
+     * @param e the {@link Entity} to be added.
+     */
+    public void add(Entity<?> e) {
+        Node node = e.renderNode;
+        if (node != null) {
+            if (node.queue == this) {
+                return;
+            }
+            node.queue.remove(e);
+        }
+        node = new Node(this);
+        e.renderNode = node;
+        insert(e, node, bucket(order(e), e.getRenderGroup()));
+        updateStickToCamera(e, node);
+        size++;
+    }
+
+    /**
+     * Remove an {@link Entity} from this queue.
+     *
+     * @param e the {@link Entity} to be removed.
+     */
+    public void remove(Entity<?> e) {
+        Node node = e.renderNode;
+        if (node == null || node.queue != this) {
+            return;
+        }
+        extract(node);
+        if (node.stickToCamera) {
+            stickToCamera.remove(e);
+        }
+        e.renderNode = null;
+        size--;
+    }
+
+    /**
+     * Move an {@link Entity} to the bucket of its new layer, priority and render group, if they changed, and to or
+     * from the entities sticking to the camera.
+     *
+     * @param e the {@link Entity} whose layer, priority, render group or stick to camera flag changed.
+     */
+    public void update(Entity<?> e) {
+        Node node = e.renderNode;
+        if (node == null || node.queue != this) {
+            return;
+        }
+        updateStickToCamera(e, node);
+        if (node.bucket.order == order(e) && node.bucket.group == e.getRenderGroup()) {
+            return;
+        }
+        extract(node);
+        insert(e, node, bucket(order(e), e.getRenderGroup()));
+    }
+
+    private void updateStickToCamera(Entity<?> e, Node node) {
+        if (node.stickToCamera != e.stickToCamera) {
+            node.stickToCamera = e.stickToCamera;
+            if (e.stickToCamera) {
+                stickToCamera.add(e);
+            } else {
+                stickToCamera.remove(e);
+            }
+        }
+    }
+
+    /**
+     * Remove all the entities from this queue.
+     */
+    public void clear() {
+        for (int b = 0; b < bucketCount; b++) {
+            Bucket bucket = buckets[b];
+            for (int i = 0; i < bucket.size; i++) {
+                bucket.items[i].renderNode = null;
+            }
+            Arrays.fill(bucket.items, 0, bucket.size, null);
+            bucket.size = 0;
+        }
+        stickToCamera.clear();
+        size = 0;
+    }
+
+    /**
+     * Put the entities of a list into the drawing order, keeping the list order for entities of the same bucket. The
+     * entities not known by this queue (i.e. the {@link com.snapgames.core.math.physic.World} perturbations) are
+     * placed from their current layer and priority, without being added to it.
+     *
+     * @param entities the list of entities to be ordered.
+     */
+    public void order(List<Entity<?>> entities) {
+        int n = entities.size();
+        if (scratch.length < n) {
+            scratch = new Entity<?>[Math.max(n, scratch.length * 2)];
+            scratchBuckets = new Bucket[scratch.length];
+        }
+        for (int i = 0; i < n; i++) {
+            Entity<?> e = entities.get(i);
+            Bucket bucket = e.renderNode != null && e.renderNode.queue == this
+                ? e.renderNode.bucket
+                : bucket(order(e), e.getRenderGroup());
+            bucket.offset++;
+            scratch[i] = e;
+            scratchBuckets[i] = bucket;
+        }
+        int start = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            int count = buckets[b].offset;
+            buckets[b].offset = start;
+            start += count;
+        }
+        for (int i = 0; i < n; i++) {
+            entities.set(scratchBuckets[i].offset++, scratch[i]);
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            buckets[b].offset = 0;
+        }
+        Arrays.fill(scratch, 0, n, null);
+        Arrays.fill(scratchBuckets, 0, n, null);
+    }
+
+    /**
+     * Retrieve the bucket for an order value and a render group, creating it at its place if it does not exist.
+     */
+    private Bucket bucket(int order, int group) {
+        int lo = 0, hi = bucketCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            Bucket b = buckets[mid];
+            if (b.order == order && b.group == group) {
+                return b;
+            } else if (b.order > order || (b.order == order && b.group < group)) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (bucketCount == buckets.length) {
+            buckets = Arrays.copyOf(buckets, bucketCount * 2);
+        }
+        System.arraycopy(buckets, lo, buckets, lo + 1, bucketCount - lo);
+        buckets[lo] = new Bucket(order, group);
+        bucketCount++;
+        return buckets[lo];
+    }
+
+    private static void insert(Entity<?> e, Node node, Bucket bucket) {
+        if (bucket.size == bucket.items.length) {
+            bucket.items = Arrays.copyOf(bucket.items, bucket.size * 2);
+        }
+        node.bucket = bucket;
+        node.index = bucket.size;
+        bucket.items[bucket.size++] = e;
+    }
+
+    /**
+     * Remove the entity of a node from its bucket, moving the last entity of the bucket to its place.
+     */
+    private static void extract(Node node) {
+        Bucket bucket = node.bucket;
+        int last = --bucket.size;
+        if (node.index != last) {
+            Entity<?> moved = bucket.items[last];
+            bucket.items[node.index] = moved;
+            moved.renderNode.index = node.index;
+        }
+        bucket.items[last] = null;
+        node.bucket = null;
+    }
+
+    /**
+     * Retrieve the entities of this queue sticking to the camera, in the order they were added.
+     *
+     * @return a read-only list of the entities sticking to the camera.
+     */
+    public List<Entity<?>> getStickToCameraEntities() {
+        return stickToCameraView;
+    }
+
+    /**
+     * Number of entities into this queue.
+     *
+     * @return the number of entities.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of buckets, i.e. of distinct layer, priority and render group values met by this queue.
+     *
+     * @return the number of buckets.
+     */
+    public int getBucketCount() {
+        return bucketCount;
+    }
+}
@@ -0,0 +1,226 @@
+package com.snapgames.core.graphics;
+
+import java.awt.Color;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.snapgames.core.entity.Camera;
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.entity.GameObjectType;
+import com.snapgames.core.math.physic.PhysicType;
+import com.snapgames.core.scene.Scene;
+
+/**
+ * The {@link RenderSnapshot} is a copy of the renderable state of a {@link Scene} (position, size, rotation, colors,
+ * type and layer of each visible {@link Entity}, and the active {@link Camera}) taken at the end of an update.
+ * <p>
+ * Snapshots are pooled by the {@link Renderer}: their {@link Item}'s are allocated once and refilled on each
+ * {@link RenderSnapshot#capture(Scene, Iterable, Rectangle2D, Map)}, so that the update thread can publish one on each
+ * tick without feeding the garbage collector. Once published, a snapshot is never modified until the render thread
+ * has released it.
+ * <p>
+ * The render thread must only draw from the {@link Item} values: everything else a plugin needs (a prerendered text,
+ * the debug info lines) is prepared on the update thread by
+ * {@link com.snapgames.core.graphics.plugins.RendererPlugin#capture(Renderer, Entity, Item)}.
+ *
+ * @author Frédéric Delorme
+ * @see Renderer#publish(com.snapgames.core.math.physic.World, Scene, Map, boolean)
+ * @since 1.0.5
+ */
+public class RenderSnapshot {
+
+    /**
+     * The renderable state of one {@link Entity}.
+     */
+    public static class Item {
+        /**
+         * The source {@link Entity}, used to select the renderer plugin. Its state must not be read by the render
+         * thread.
+         */
+        public Entity<?> entity;
+        public double x, y;
+        public double oldX, oldY;
+        public double width, height;
+        public double rotation;
+        public Color color, fillColor;
+        public GameObjectType type;
+        public int layer, priority;
+        public boolean stickToCamera;
+        /**
+         * The {@link Entity} moves and must be interpolated between its old and current positions.
+         */
+        public boolean interpolate;
+        /**
+         * The {@link Entity} image must be drawn horizontally flipped.
+         */
+        public boolean flip;
+        /**
+         * The {@link TextureAtlas} region of an image {@link GameObject}, if any.
+         */
+        public TextureAtlas.Region region;
+        /**
+         * The prerendered text of a {@link com.snapgames.core.entity.TextObject}, if any.
+         */
+        public TextSpriteCache.Sprite sprite;
+        /**
+         * The debug info lines of the {@link Entity}, empty if it is not debugged.
+         */
+        public final List<String> debugInfo = new ArrayList<>();
+
+        private void set(Entity<?> e) {
+            entity = e;
+            x = e.pos.x;
+            y = e.pos.y;
+            oldX = e.oldPos.x;
+            oldY = e.oldPos.y;
+            width = e.width;
+            height = e.height;
+            rotation = e.rotation;
+            layer = e.getLayer();
+            priority = e.getPriority();
+            stickToCamera = e.stickToCamera;
+            interpolate = e.physicType == PhysicType.DYNAMIC && !e.stickToCamera;
+            flip = e.vel.x <= 0;
+            color = e.getColor();
+            fillColor = e.getFillColor();
+            sprite = null;
+            debugInfo.clear();
+            if (e instanceof GameObject go) {
+                type = go.type;
+                region = go.type == GameObjectType.TYPE_IMAGE ? go.getRegion() : null;
+            } else {
+                region = null;
+                type = null;
+            }
+        }
+    }
+
+    private Item[] items = new Item[0];
+    private int size;
+
+    private Scene scene;
+    private boolean hasCamera;
+    private double camX, camY, camOldX, camOldY, camRotation, camWidth, camHeight;
+    private final Rectangle2D.Double playArea = new Rectangle2D.Double();
+    private final Map<String, Object> stats = new HashMap<>();
+    private long time;
+    volatile boolean fresh;
+    /**
+     * The render thread interpolates the entities since the previous update (set when published).
+     */
+    boolean interpolate = true;
+
+    /**
+     * Copy the state of the visible entities. Entities from <code>entities</code> are expected to be already filtered
+     * against the camera viewport, and put in drawing order by the {@link RenderQueue}.
+     *
+     * @param scene    the {@link Scene} the entities are coming from.
+     * @param entities the visible {@link Entity}'s.
+     * @param playArea the play area of the World.
+     * @param stats    the statistics to be displayed with this snapshot.
+     */
+    public void capture(Scene scene, Iterable<Entity<?>> entities, Rectangle2D playArea, Map<String, Object> stats) {
+        this.scene = scene;
+        size = 0;
+        for (Entity<?> e : entities) {
+            if (size == items.length) {
+                grow();
+            }
+            items[size++].set(e);
+        }
+
+        Camera cam = scene.getActiveCamera();
+        hasCamera = cam != null;
+        if (hasCamera) {
+            camX = cam.x;
+            camY = cam.y;
+            camOldX = cam.oldPos.x;
+            camOldY = cam.oldPos.y;
+            camRotation = cam.rotation;
+            camWidth = cam.width;
+            camHeight = cam.height;
+        }
+        this.playArea.setRect(playArea);
+        this.stats.clear();
+        this.stats.putAll(stats);
+        time = System.nanoTime();
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, items.length * 2);
+        items = Arrays.copyOf(items, capacity);
+        for (int i = size; i < capacity; i++) {
+            items[i] = new Item();
+        }
+    }
+
+    public Item get(int i) {
+        return items[i];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Scene getScene() {
+        return scene;
+    }
+
+    public boolean hasCamera() {
+        return hasCamera;
+    }
+
+    /**
+     * Camera horizontal position, interpolated between its old and current positions.
+     *
+     * @param alpha the interpolation factor
+     * @return the camera x position.
+     */
+    public double getCameraX(double alpha) {
+        return alpha < 1.0 ? camOldX + (camX - camOldX) * alpha : camX;
+    }
+
+    /**
+     * Camera vertical position, interpolated between its old and current positions.
+     *
+     * @param alpha the interpolation factor
+     * @return the camera y position.
+     */
+    public double getCameraY(double alpha) {
+        return alpha < 1.0 ? camOldY + (camY - camOldY) * alpha : camY;
+    }
+
+    public double getCameraRotation() {
+        return camRotation;
+    }
+
+    public double getCameraWidth() {
+        return camWidth;
+    }
+
+    public double getCameraHeight() {
+        return camHeight;
+    }
+
+    public Rectangle2D getPlayArea() {
+        return playArea;
+    }
+
+    public Map<String, Object> getStats() {
+        return stats;
+    }
+
+    /**
+     * Time of the capture, in nanoseconds.
+     *
+     * @return the {@link System#nanoTime()} value at capture.
+     */
+    public long getTime() {
+        return time;
+    }
+}
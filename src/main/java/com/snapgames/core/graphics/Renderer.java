@@ -3,15 +3,18 @@ package com.snapgames.core.graphics;
 import static com.snapgames.core.utils.StringUtils.prepareStatsString;
 
 import java.awt.Color;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Transparency;
 import java.awt.Graphics2D;
 import java.awt.GridLayout;
-import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.swing.*;
 
@@ -23,10 +26,13 @@ import com.snapgames.core.graphics.plugins.PerturbationRendererPlugin;
 import com.snapgames.core.graphics.plugins.RendererPlugin;
 import com.snapgames.core.graphics.plugins.TextObjectRendererPlugin;
 import com.snapgames.core.input.InputHandler;
+import com.snapgames.core.math.physic.BroadPhase;
+import com.snapgames.core.math.physic.CollisionDetection;
 import com.snapgames.core.math.physic.World;
 import com.snapgames.core.math.physic.entity.Perturbation;
 import com.snapgames.core.scene.Scene;
 import com.snapgames.core.system.GSystem;
+import com.snapgames.core.system.GSystemManager;
 
 /**
  * The {@link Renderer} service will draw all entities from the {@link Scene}.
@@ -42,7 +48,47 @@ public class Renderer extends JPanel implements GSystem {
      */
     private JFrame frame;
     private BufferedImage buffer;
+    /**
+     * Accelerated back buffer, when available (see <code>app.render.accelerated</code>), <code>buffer</code> being
+     * used otherwise.
+     */
+    private VolatileImage volatileBuffer;
     private boolean drawing = true;
+    /**
+     * Interpolation factor between previous and current positions for the frame being drawn.
+     */
+    private double alpha = 1.0;
+    /**
+     * Snapshot used when drawing from the update thread.
+     */
+    private final RenderSnapshot snapshot = new RenderSnapshot();
+    private final List<Entity<?>> visible = new ArrayList<>();
+    /**
+     * Reusable buffer receiving the entities found by the {@link BroadPhase} into the camera viewport.
+     */
+    private Entity<?>[] culled = new Entity<?>[256];
+    /**
+     * The sprites atlas loaded from <code>app.render.atlas</code>, if any.
+     */
+    private TextureAtlas atlas;
+    /**
+     * The rendering hints profile, and its overrides by layer.
+     */
+    private RenderQuality quality = RenderQuality.QUALITY;
+    private Map<Integer, RenderQuality> layerQualities = new HashMap<>();
+    /**
+     * The cached play area grid and perturbation areas, if activated with <code>app.render.static.layer</code>.
+     */
+    private StaticLayer staticLayer;
+    /**
+     * Triple buffer of snapshots for the pipelined mode: <code>back</code> is filled by the update thread,
+     * <code>front</code> is drawn by the render thread, and <code>ready</code> holds the latest published one.
+     */
+    private RenderSnapshot back = new RenderSnapshot();
+    private RenderSnapshot front = new RenderSnapshot();
+    private final AtomicReference<RenderSnapshot> ready = new AtomicReference<>(new RenderSnapshot());
+    private Thread renderThread;
+    private volatile boolean rendering;
     private static int sc_index;
 
     private Map<Class<?>, RendererPlugin<? extends Entity>> plugins = new HashMap<>();
@@ -85,10 +131,43 @@ public class Renderer extends JPanel implements GSystem {
         frame.addKeyListener(ih);
         clearWindow(frame);
 
-        buffer = new BufferedImage(
+        createBuffers(frame.getGraphicsConfiguration());
+        if (!application.getConfiguration().atlas.isEmpty()) {
+            atlas = TextureAtlas.load(frame.getGraphicsConfiguration(), application.getConfiguration().atlas);
+        }
+        if (application.getConfiguration().renderPipelined) {
+            startRenderThread();
+        }
+    }
+
+    /**
+     * Create the back buffers compatible with the screen: an opaque {@link BufferedImage}, and an accelerated
+     * {@link VolatileImage} if activated and supported.
+     *
+     * @param gc the {@link GraphicsConfiguration} of the window.
+     */
+    private void createBuffers(GraphicsConfiguration gc) {
+        int width = application.getConfiguration().bufferResolution.width;
+        int height = application.getConfiguration().bufferResolution.height;
+        buffer = gc != null
+            ? gc.createCompatibleImage(width, height, Transparency.OPAQUE)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        volatileBuffer = application.getConfiguration().renderAccelerated ? createVolatileBuffer(gc) : null;
+    }
+
+    private VolatileImage createVolatileBuffer(GraphicsConfiguration gc) {
+        if (gc == null) {
+            return null;
+        }
+        VolatileImage vi = gc.createCompatibleVolatileImage(
             application.getConfiguration().bufferResolution.width,
             application.getConfiguration().bufferResolution.height,
-            BufferedImage.TYPE_INT_ARGB);
+            Transparency.OPAQUE);
+        if (vi == null || !vi.getCapabilities().isAccelerated()) {
+            System.out.println(">> <!> Renderer: no accelerated back buffer available, using a BufferedImage");
+            return null;
+        }
+        return vi;
     }
 
     private void clearWindow(JFrame frame) {
@@ -103,51 +182,138 @@ public class Renderer extends JPanel implements GSystem {
      *              purpose. (only if Application#debug >0)
      */
     public void draw(World world, Scene scene, Map<String, Object> stats) {
+        draw(world, scene, stats, 1.0);
+    }
+
+    /**
+     * Draw all {@link Application} the Entities on window, the dynamic ones and the camera being interpolated
+     * between their previous and current positions.
+     *
+     * @param stats a set of metadata to be displayed on screen as debug
+     *              purpose. (only if Application#debug >0)
+     * @param alpha the interpolation factor, from 0.0 (previous positions) to 1.0 (current positions).
+     */
+    public void draw(World world, Scene scene, Map<String, Object> stats, double alpha) {
+        capture(snapshot, world, scene, stats);
+        render(snapshot, alpha);
+    }
+
+    /**
+     * Publish a new {@link RenderSnapshot} of the {@link Scene} for the render thread. This is called by the update
+     * thread at the end of each tick when the pipelined mode is activated (<code>app.render.pipelined=true</code>).
+     * It is also called on each frame while the game is paused, so that the changes made by the input are still drawn.
+     *
+     * @param world       the {@link World} containing the perturbations to be drawn.
+     * @param scene       the {@link Scene} to be captured.
+     * @param stats       the statistics to be displayed.
+     * @param interpolate false to draw the entities at their current positions, e.g. while no update is running.
+     */
+    public void publish(World world, Scene scene, Map<String, Object> stats, boolean interpolate) {
+        capture(back, world, scene, stats);
+        back.interpolate = interpolate;
+        back.fresh = true;
+        back = ready.getAndSet(back);
+    }
+
+    private void capture(RenderSnapshot s, World world, Scene scene, Map<String, Object> stats) {
+        Camera cam = scene.getActiveCamera();
+        CollisionDetection cd = GSystemManager.find(CollisionDetection.class);
+        BroadPhase bp = cd != null ? cd.getBroadPhase() : null;
+        visible.clear();
+        if (cam != null && bp != null) {
+            cull(cam, bp, scene, world);
+        } else {
+            // join all Entity in Scene and all Perturbation in World.
+            for (Entity<?> e : scene.getEntities()) {
+                if (isVisible(cam, e)) {
+                    visible.add(e);
+                }
+            }
+            for (Entity<?> e : world.getPerturbations()) {
+                if (isVisible(cam, e)) {
+                    visible.add(e);
+                }
+            }
+        }
+        if (staticLayer != null) {
+            staticLayer.update(world, frame != null ? frame.getGraphicsConfiguration() : null);
+        }
+        scene.getRenderQueue().order(visible);
+        stats.put("3_rendered", visible.size());
+        s.capture(scene, visible, world.getPlayArea(), stats);
+        // everything read from the entities is captured here, on the update thread.
+        for (int i = 0; i < s.size(); i++) {
+            RenderSnapshot.Item item = s.get(i);
+            Entity e = item.entity;
+            RendererPlugin rp = plugins.get(e.getClass());
+            rp.capture(this, e, item);
+            e.setDrawnBy(rp.getClass());
+            if (isDebugged(e)) {
+                item.debugInfo.addAll(e.getDebugInfo());
+            }
+        }
+    }
+
+    private boolean isDebugged(Entity<?> e) {
+        return application.getConfiguration().debug
+            && application.getConfiguration().debugLevel > 0
+            && application.getConfiguration().debugLevel >= e.debug
+            && application.getConfiguration().debugFilter.contains(e.getName());
+    }
+
+    /**
+     * Ask the {@link BroadPhase} for the entities overlapping the camera viewport, instead of testing all the
+     * {@link Scene} entities, then add the ones sticking to the camera and the {@link World} perturbations.
+     */
+    private void cull(Camera cam, BroadPhase bp, Scene scene, World world) {
+        int count = bp.find((Rectangle2D) cam, culled);
+        if (count > culled.length) {
+            culled = new Entity<?>[Math.max(count, culled.length * 2)];
+            count = bp.find((Rectangle2D) cam, culled);
+        }
+        for (int i = 0; i < count; i++) {
+            Entity<?> e = culled[i];
+            if (e.isEnabled() && !e.stickToCamera && !(e instanceof Perturbation) && cam.overlapsViewport(e)) {
+                visible.add(e);
+            }
+        }
+        Arrays.fill(culled, 0, count, null);
+        for (Entity<?> e : scene.getStickToCameraEntities()) {
+            if (e.isEnabled()) {
+                visible.add(e);
+            }
+        }
+        for (Entity<?> e : world.getPerturbations()) {
+            if (e.isEnabled()) {
+                visible.add(e);
+            }
+        }
+    }
+
+    private static boolean isVisible(Camera cam, Entity<?> e) {
+        return e.isEnabled()
+            // object in the camera viewport and not stick to camera
+            && (((cam != null
+            && cam.inViewport(e)
+            && !e.stickToCamera)
+            // object stick to camera
+            || (e.stickToCamera)
+            // object is a Perturbation instance
+            || e.getClass().isAssignableFrom(Perturbation.class))
+            // Scene has no camera !
+            || cam == null);
+    }
+
+    private void render(RenderSnapshot s, double alpha) {
+        this.alpha = alpha;
         if (drawing) {
-            // prepare rendering buffer
-            Graphics2D g = buffer.createGraphics();
-            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-            g.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-
-            // clear buffer
-            g.setColor(Color.BLACK);
-            g.fillRect(0, 0, buffer.getWidth(), buffer.getHeight());
-
-            // draw playArea
-            Camera cam = scene.getActiveCamera();
-            moveFromCameraPoV(g, cam, -1);
-            drawGrid(g, world.getPlayArea());
-            g.setColor(Color.BLUE);
-            g.draw(world.getPlayArea());
-            moveFromCameraPoV(g, cam, 1);
-
-            // draw everything to be drawn
-            drawEntities(g, scene,
-                // join all Entity in Scene and all Perturbation in World.
-                Stream.concat(scene.getEntities().stream(), world.getPerturbations().stream())
-                    .filter(e -> e.isEnabled()
-                        // object in the camera viewport and not stick to camera
-                        && (((cam != null
-                        && cam.inViewport(e)
-                        && !e.stickToCamera)
-                        // object stick to camera
-                        || (e.stickToCamera)
-                        // object is a Perturbation instance
-                        || e.getClass().isAssignableFrom(Perturbation.class))
-                        // Scene has no camera !
-                        || cam == null))
-                    .collect(Collectors.toList()));
-            scene.draw(application, g, stats);
-            // execute all the SceneBehavior on the draw operation event
-            scene.getBehaviors().forEach(sb -> sb.draw(scene, this));
-            g.dispose();
+            // draw the scene to the back buffer
+            Image backBuffer = renderBuffer(s);
 
             // copy to JFrame
             Graphics2D gScreen = (Graphics2D) frame.getBufferStrategy().getDrawGraphics();
             gScreen.drawImage(
-                buffer, 0, 0, frame.getWidth(), frame.getHeight(),
+                backBuffer, 0, 0, frame.getWidth(), frame.getHeight(),
                 0, 0, buffer.getWidth(), buffer.getHeight(),
                 null);
             if (application.getConfiguration().debug && application.getConfiguration().debugLevel > 0) {
@@ -156,7 +322,7 @@ public class Renderer extends JPanel implements GSystem {
                 gScreen.fillRect(0, frame.getHeight() - 32, frame.getWidth(), 32);
                 gScreen.setColor(Color.ORANGE);
                 gScreen.drawString(
-                    prepareStatsString(stats, "[ ", " | ", " ]"),
+                    prepareStatsString(s.getStats(), "[ ", " | ", " ]"),
                     20, frame.getHeight() - 20);
             }
             gScreen.dispose();
@@ -165,55 +331,243 @@ public class Renderer extends JPanel implements GSystem {
         }
     }
 
-    private void drawEntities(Graphics2D g, Scene scene, List<Entity> list) {
-        list.stream().filter(e -> e.isEnabled())
-            .sorted(Comparator.comparingInt((Entity a) -> a.getLayer() * 1000 + a.getPriority()).reversed())
-            .forEach(
-                e -> {
+    /**
+     * Draw the snapshot to the accelerated back buffer, restoring it and drawing again as long as its contents are
+     * lost, or to the {@link BufferedImage} back buffer if no accelerated one is available.
+     *
+     * @return the back buffer image to be copied to the window.
+     */
+    private Image renderBuffer(RenderSnapshot s) {
+        while (volatileBuffer != null) {
+            if (volatileBuffer.validate(frame.getGraphicsConfiguration()) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                volatileBuffer = createVolatileBuffer(frame.getGraphicsConfiguration());
+                continue;
+            }
+            Graphics2D g = volatileBuffer.createGraphics();
+            drawBuffer(g, s);
+            g.dispose();
+            if (!volatileBuffer.contentsLost()) {
+                return volatileBuffer;
+            }
+        }
+        Graphics2D g = buffer.createGraphics();
+        drawBuffer(g, s);
+        g.dispose();
+        return buffer;
+    }
+
+    private void drawBuffer(Graphics2D g, RenderSnapshot s) {
+        Scene scene = s.getScene();
+        quality.apply(g);
+
+        // clear buffer
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, buffer.getWidth(), buffer.getHeight());
+
+        // draw playArea
+        moveFromCameraPoV(g, s, -1);
+        if (staticLayer != null) {
+            drawStaticLayer(g, s);
+        } else {
+            drawGrid(g, s.getPlayArea());
+            g.setColor(Color.BLUE);
+            g.draw(s.getPlayArea());
+        }
+        moveFromCameraPoV(g, s, 1);
+
+        // draw everything to be drawn
+        drawEntities(g, scene, s);
+        // the scene debug drawing walks the live broad phase, being rebuilt by the update thread when pipelined.
+        if (!application.getConfiguration().renderPipelined) {
+            scene.draw(application, g, s.getStats());
+        }
+        // execute all the SceneBehavior on the draw operation event
+        scene.getBehaviors().forEach(sb -> sb.draw(scene, this));
+    }
+
+    /**
+     * Copy the part of the {@link StaticLayer} visible through the camera, or the whole layer if the camera is
+     * rotated.
+     */
+    private void drawStaticLayer(Graphics2D g, RenderSnapshot s) {
+        if (!s.hasCamera()) {
+            staticLayer.draw(g, 0, 0, buffer.getWidth(), buffer.getHeight());
+        } else if (s.getCameraRotation() != 0.0) {
+            staticLayer.draw(g);
+        } else {
+            staticLayer.draw(g, s.getCameraX(alpha), s.getCameraY(alpha), s.getCameraWidth(), s.getCameraHeight());
+        }
+    }
 
-                    if (!e.stickToCamera) moveFromCameraPoV(g, scene.getActiveCamera(), -1);
-                    RendererPlugin rp = plugins.get(e.getClass());
-                    // rotate camera
-                    g.rotate(-e.rotation,
-                        e.pos.x + e.width * 0.5,
-                        e.pos.y + e.height * 0.5);
-                    // draw the entity
-                    rp.draw(this, g, e);
-                    e.setDrawnBy(rp.getClass());
-                    // bring back camera
-                    g.rotate(e.rotation,
-                        e.pos.x + e.width * 0.5,
-                        e.pos.y + e.height * 0.5);
-                    // draw debug info
-                    rp.drawDebugInfo(application, scene, this, g, e);
+    private void drawEntities(Graphics2D g, Scene scene, RenderSnapshot s) {
+        RenderQuality current = quality;
+        int currentLayer = Integer.MIN_VALUE;
+        for (int i = 0; i < s.size(); i++) {
+            RenderSnapshot.Item item = s.get(i);
+            // the items are sorted by layer: the rendering hints only change between two layers.
+            if (item.layer != currentLayer && !layerQualities.isEmpty()) {
+                currentLayer = item.layer;
+                RenderQuality q = layerQualities.getOrDefault(currentLayer, quality);
+                if (q != current) {
+                    q.apply(g);
+                    current = q;
+                }
+            }
+            if (item.region != null && item.rotation == 0.0) {
+                i = drawAtlasBatch(g, scene, s, i) - 1;
+                continue;
+            }
+            Entity e = item.entity;
+            if (!item.stickToCamera) moveFromCameraPoV(g, s, -1);
+            // move the entity back between its previous and current positions.
+            double ix = 0.0, iy = 0.0;
+            if (alpha < 1.0 && item.interpolate) {
+                ix = (item.oldX - item.x) * (1.0 - alpha);
+                iy = (item.oldY - item.y) * (1.0 - alpha);
+                g.translate(ix, iy);
+            }
+            RendererPlugin rp = plugins.get(e.getClass());
+            // rotate camera
+            g.rotate(-item.rotation,
+                item.x + item.width * 0.5,
+                item.y + item.height * 0.5);
+            // draw the entity
+            rp.draw(this, g, e, item);
+            // bring back camera
+            g.rotate(item.rotation,
+                item.x + item.width * 0.5,
+                item.y + item.height * 0.5);
+            // draw debug info
+            rp.drawDebugInfo(application, s, this, g, item);
+            if (ix != 0.0 || iy != 0.0) {
+                g.translate(-ix, -iy);
+            }
 
-                    if (application.isDebugAtLeast(6)) {
-                        System.out.printf(">> <d> draw entity %s with %s%n", e.getName(),
-                            rp.getClass().getSimpleName());
-                    }
+            if (application.isDebugAtLeast(6)) {
+                System.out.printf(">> <d> draw entity %s with %s%n", e.getName(),
+                    rp.getClass().getSimpleName());
+            }
 
-                    if (!e.stickToCamera) moveFromCameraPoV(g, scene.getActiveCamera(), 1);
-                });
+            if (!item.stickToCamera) moveFromCameraPoV(g, s, 1);
+        }
+        if (current != quality) {
+            quality.apply(g);
+        }
+    }
+
+    /**
+     * Draw the consecutive not rotated items coming from the same {@link TextureAtlas}, all with the same camera
+     * transformation and from the same source image.
+     *
+     * @return the index of the first item not drawn.
+     */
+    private int drawAtlasBatch(Graphics2D g, Scene scene, RenderSnapshot s, int start) {
+        RenderSnapshot.Item first = s.get(start);
+        TextureAtlas atlas = first.region.getAtlas();
+        boolean stickToCamera = first.stickToCamera;
+        RendererPlugin rp = plugins.get(first.entity.getClass());
+        if (!stickToCamera) moveFromCameraPoV(g, s, -1);
+        int end = start;
+        while (end < s.size()) {
+            RenderSnapshot.Item item = s.get(end);
+            if (item.region == null || item.region.getAtlas() != atlas || item.rotation != 0.0
+                || item.stickToCamera != stickToCamera) {
+                break;
+            }
+            double x = item.x, y = item.y;
+            if (alpha < 1.0 && item.interpolate) {
+                x += (item.oldX - item.x) * (1.0 - alpha);
+                y += (item.oldY - item.y) * (1.0 - alpha);
+            }
+            atlas.draw(g, item.region, (int) x, (int) y, item.flip);
+            end++;
+        }
+        for (int i = start; i < end; i++) {
+            rp.drawDebugInfo(application, s, this, g, s.get(i));
+        }
+        if (!stickToCamera) moveFromCameraPoV(g, s, 1);
+        return end;
     }
 
     public void moveFromCameraPoV(Graphics2D g, Camera camera, double direction) {
         if (camera != null) {
-            AffineTransform af = AffineTransform.getRotateInstance(
-                direction * camera.rotation,
-                camera.width * 0.5,
-                camera.height * 0.5);
-            af.translate(camera.x * direction, camera.y * direction);
-            // A Zoom factor can be : af.scale(1.0 / zoom, 1.0 / zoom);
-            g.transform(af);
+            double cx = alpha < 1.0 ? camera.oldPos.x + (camera.x - camera.oldPos.x) * alpha : camera.x;
+            double cy = alpha < 1.0 ? camera.oldPos.y + (camera.y - camera.oldPos.y) * alpha : camera.y;
+            moveFromCameraPoV(g, cx, cy, camera.rotation, camera.width, camera.height, direction);
+        }
+    }
+
+    private void moveFromCameraPoV(Graphics2D g, RenderSnapshot s, double direction) {
+        if (s.hasCamera()) {
+            moveFromCameraPoV(g, s.getCameraX(alpha), s.getCameraY(alpha),
+                s.getCameraRotation(), s.getCameraWidth(), s.getCameraHeight(), direction);
         }
     }
 
+    private void moveFromCameraPoV(Graphics2D g, double cx, double cy, double rotation, double width, double height,
+                                   double direction) {
+        AffineTransform af = AffineTransform.getRotateInstance(
+            direction * rotation,
+            width * 0.5,
+            height * 0.5);
+        af.translate(cx * direction, cy * direction);
+        // A Zoom factor can be : af.scale(1.0 / zoom, 1.0 / zoom);
+        g.transform(af);
+    }
+
+    /**
+     * Start the render thread, drawing the latest published {@link RenderSnapshot} at the configured FPS rate.
+     */
+    private void startRenderThread() {
+        long frameTime = 1_000_000_000L / application.getConfiguration().fps;
+        double stepTime = 1_000_000_000.0 / application.getConfiguration().ups;
+        rendering = true;
+        renderThread = new Thread(() -> {
+            int frames = 0;
+            long fpsTime = System.nanoTime();
+            int realFPS = 0;
+            while (rendering) {
+                long start = System.nanoTime();
+                if (ready.get().fresh) {
+                    front = ready.getAndSet(front);
+                    front.fresh = false;
+                }
+                if (front.getScene() != null) {
+                    // interpolate from the previous tick up to the published one, while waiting for the next.
+                    double a = front.interpolate ? Math.min(1.0, (start - front.getTime()) / stepTime) : 1.0;
+                    front.getStats().put("2_rfps", realFPS);
+                    render(front, a);
+                    frames++;
+                }
+                if (start - fpsTime > 1_000_000_000L) {
+                    realFPS = frames;
+                    frames = 0;
+                    fpsTime = start;
+                }
+                LockSupport.parkNanos(frameTime - (System.nanoTime() - start));
+            }
+        }, "render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+        System.out.printf(">> <!> Render thread started at %d fps%n", application.getConfiguration().fps);
+    }
+
+    private void stopRenderThread() {
+        rendering = false;
+        try {
+            renderThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        renderThread = null;
+    }
+
     private void drawGrid(Graphics2D g, Rectangle2D playArea) {
         g.setColor(Color.DARK_GRAY);
         for (int x = 0; x < playArea.getWidth(); x += 32) {
             g.drawRect(x, 0, 32, (int) playArea.getHeight());
         }
-        for (int y = 0; y < playArea.getWidth(); y += 32) {
+        for (int y = 0; y < playArea.getHeight(); y += 32) {
             g.drawRect(0, y, (int) playArea.getWidth(), 32);
         }
     }
@@ -223,6 +577,9 @@ public class Renderer extends JPanel implements GSystem {
     }
 
     public void dispose() {
+        if (Optional.ofNullable(renderThread).isPresent()) {
+            stopRenderThread();
+        }
         if (Optional.ofNullable(frame).isPresent()) {
             frame.dispose();
         }
@@ -244,9 +601,32 @@ public class Renderer extends JPanel implements GSystem {
 
     @Override
     public void initialize(Application app) {
+        quality = RenderQuality.parse(app.getConfiguration().renderQuality, RenderQuality.QUALITY);
+        layerQualities = RenderQuality.parseLayers(app.getConfiguration().renderQualityLayers, quality);
+        staticLayer = app.getConfiguration().renderStaticLayer ? new StaticLayer() : null;
         addPlugin(new GameObjectRendererPlugin());
-        addPlugin(new TextObjectRendererPlugin());
-        addPlugin(new PerturbationRendererPlugin());
+        addPlugin(new TextObjectRendererPlugin(app.getConfiguration().textCacheSize));
+        // with the static layer, the perturbation areas are already drawn.
+        addPlugin(new PerturbationRendererPlugin(!app.getConfiguration().renderStaticLayer));
+    }
+
+    /**
+     * Retrieve the rendering hints profile of a layer.
+     *
+     * @param layer the layer.
+     * @return the {@link RenderQuality} of the layer, or the default one if not overridden.
+     */
+    public RenderQuality getQuality(int layer) {
+        return layerQualities.getOrDefault(layer, quality);
+    }
+
+    /**
+     * Retrieve the sprites atlas defined by the <code>app.render.atlas</code> configuration key.
+     *
+     * @return the {@link TextureAtlas}, or null if none is defined.
+     */
+    public TextureAtlas getAtlas() {
+        return atlas;
     }
 
     public JFrame getWindow() {
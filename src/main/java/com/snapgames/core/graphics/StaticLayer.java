@@ -0,0 +1,151 @@
+package com.snapgames.core.graphics;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.math.physic.World;
+import com.snapgames.core.math.physic.entity.Perturbation;
+
+/**
+ * The {@link StaticLayer} renders the static background of the {@link World} (the play area grid, its border and the
+ * {@link Perturbation} areas) once into an image, and only copies the part of it visible through the camera on each
+ * frame.
+ * <p>
+ * The image is rendered again only when the {@link World#getVersion()} changes, or when another {@link World} is
+ * used. It is rendered by the update thread and published as a whole, so that the render thread of the pipelined
+ * mode always draws a complete image.
+ *
+ * <pre>
+ * app.render.static.layer=true
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see Renderer
+ * @since 1.0.5
+ */
+public class StaticLayer {
+
+    /**
+     * The rendered image, and the world position of its top-left corner.
+     */
+    private record Layer(BufferedImage image, int x, int y) {
+    }
+
+    private static final int GRID_SIZE = 32;
+
+    private volatile Layer layer;
+    private World world;
+    private int version;
+    private int redraws;
+
+    /**
+     * Render the layer again if the {@link World} changed since the last call.
+     *
+     * @param world the {@link World} to be rendered.
+     * @param gc    the {@link GraphicsConfiguration} of the window, or null to create a standard image.
+     */
+    public void update(World world, GraphicsConfiguration gc) {
+        if (world == this.world && world.getVersion() == version && layer != null) {
+            return;
+        }
+        this.world = world;
+        this.version = world.getVersion();
+        Rectangle2D playArea = world.getPlayArea();
+        // the perturbations may go beyond the play area.
+        Rectangle2D bounds = new Rectangle2D.Double();
+        bounds.setRect(playArea);
+        for (Entity<?> p : world.getPerturbations()) {
+            Rectangle2D.union(bounds, p, bounds);
+        }
+        int x = (int) Math.floor(bounds.getX());
+        int y = (int) Math.floor(bounds.getY());
+        // one more pixel for the right and bottom border lines.
+        int width = (int) Math.ceil(bounds.getMaxX()) - x + 1;
+        int height = (int) Math.ceil(bounds.getMaxY()) - y + 1;
+        BufferedImage image = gc != null
+            ? gc.createCompatibleImage(width, height, Transparency.OPAQUE)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, width, height);
+        g.translate(-x, -y);
+        drawGrid(g, playArea);
+        for (Entity<?> e : world.getPerturbations()) {
+            Perturbation p = (Perturbation) e;
+            if (p.getFillColor() != null) {
+                g.setColor(p.getFillColor());
+                g.fill(p);
+            }
+            if (p.getColor() != null) {
+                g.setColor(p.getColor());
+                g.draw(p);
+            }
+        }
+        g.setColor(Color.BLUE);
+        g.draw(playArea);
+        g.dispose();
+        layer = new Layer(image, x, y);
+        redraws++;
+    }
+
+    private static void drawGrid(Graphics2D g, Rectangle2D playArea) {
+        g.setColor(Color.DARK_GRAY);
+        for (int x = 0; x < playArea.getWidth(); x += GRID_SIZE) {
+            g.drawRect(x, 0, GRID_SIZE, (int) playArea.getHeight());
+        }
+        for (int y = 0; y < playArea.getHeight(); y += GRID_SIZE) {
+            g.drawRect(0, y, (int) playArea.getWidth(), GRID_SIZE);
+        }
+    }
+
+    /**
+     * Copy the part of the layer visible into a window of the world. The {@link Graphics2D} is expected to be already
+     * moved to the camera point of view.
+     *
+     * @param g      the {@link Graphics2D} API instance.
+     * @param x      horizontal position of the window into the world.
+     * @param y      vertical position of the window into the world.
+     * @param width  width of the window.
+     * @param height height of the window.
+     */
+    public void draw(Graphics2D g, double x, double y, double width, double height) {
+        Layer l = layer;
+        if (l == null) {
+            return;
+        }
+        int x1 = Math.max((int) Math.floor(x), l.x());
+        int y1 = Math.max((int) Math.floor(y), l.y());
+        int x2 = Math.min((int) Math.ceil(x + width) + 1, l.x() + l.image().getWidth());
+        int y2 = Math.min((int) Math.ceil(y + height) + 1, l.y() + l.image().getHeight());
+        if (x1 < x2 && y1 < y2) {
+            g.drawImage(l.image(), x1, y1, x2, y2, x1 - l.x(), y1 - l.y(), x2 - l.x(), y2 - l.y(), null);
+        }
+    }
+
+    /**
+     * Copy the whole layer, e.g. when the visible window is rotated.
+     *
+     * @param g the {@link Graphics2D} API instance.
+     */
+    public void draw(Graphics2D g) {
+        Layer l = layer;
+        if (l != null) {
+            g.drawImage(l.image(), l.x(), l.y(), null);
+        }
+    }
+
+    /**
+     * Number of times the layer has been rendered.
+     *
+     * @return the number of redraws.
+     */
+    public int getRedraws() {
+        return redraws;
+    }
+}
@@ -0,0 +1,201 @@
+package com.snapgames.core.graphics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.snapgames.core.entity.TextObject;
+
+/**
+ * The {@link TextSpriteCache} keeps the prerendered images of texts, with their shadow and border, so that a
+ * {@link TextObject} is drawn with a single image copy instead of one <code>drawString</code> per shadow and border
+ * step.
+ * <p>
+ * The sprites are shared between all the texts with the same {@link Key} (text, font, colors, widths, alignment and
+ * text antialiasing hint, as set by the {@link RenderQuality} of the text layer), and the least recently used ones are
+ * dropped once the capacity is reached:
+ *
+ * <pre>
+ * app.render.text.cache.size=128
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see com.snapgames.core.graphics.plugins.TextObjectRendererPlugin
+ * @since 1.0.5
+ */
+public class TextSpriteCache {
+
+    /**
+     * Everything defining the look of a prerendered text.
+     *
+     * @param textAntialiasing the {@link RenderingHints#KEY_TEXT_ANTIALIASING} value the text is rendered with.
+     */
+    public record Key(String text, Font font, Color color, Color shadowColor, int shadowWidth, Color borderColor,
+                      int borderWidth, int textAlign, Object textAntialiasing) {
+    }
+
+    /**
+     * A prerendered text, and its offset from the {@link TextObject} position.
+     */
+    public static final class Sprite {
+        public final Key key;
+        public final BufferedImage image;
+        public final int offsetX, offsetY;
+        /**
+         * Size of the last line of text, as set on the {@link TextObject} when drawn.
+         */
+        public final int lineWidth, lineHeight;
+
+        private Sprite(Key key, BufferedImage image, int offsetX, int offsetY, int lineWidth, int lineHeight) {
+            this.key = key;
+            this.image = image;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.lineWidth = lineWidth;
+            this.lineHeight = lineHeight;
+        }
+    }
+
+    private final Map<Key, Sprite> sprites;
+    /**
+     * Scratch graphics providing the font metrics, so that the sprites are rendered on the update thread, without
+     * the {@link Graphics2D} they will be drawn on.
+     */
+    private final Graphics2D scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    private int misses;
+
+    /**
+     * Create a new {@link TextSpriteCache}.
+     *
+     * @param capacity the maximum number of sprites to be kept.
+     */
+    public TextSpriteCache(int capacity) {
+        this.sprites = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Sprite> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Retrieve the sprite of a {@link Key}, rendering it on a cache miss.
+     *
+     * @param key the look of the text.
+     * @return the corresponding {@link Sprite}.
+     */
+    public Sprite get(Key key) {
+        Sprite sprite = sprites.get(key);
+        if (sprite == null) {
+            RenderingHints hints = new RenderingHints(RenderingHints.KEY_RENDERING,
+                RenderingHints.VALUE_RENDER_QUALITY);
+            if (key.textAntialiasing() != null) {
+                hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, key.textAntialiasing());
+            }
+            scratch.setRenderingHints(hints);
+            sprite = render(key, scratch.getFontMetrics(key.font()), hints);
+            sprites.put(key, sprite);
+            misses++;
+        }
+        return sprite;
+    }
+
+    /**
+     * Render the text lines the way {@link TextObject} were drawn: the shadow, then the border, then the text, each
+     * line being aligned on the {@link TextObject} position.
+     */
+    private static Sprite render(Key key, FontMetrics fm, RenderingHints hints) {
+        String[] lines = key.text().contains("\n") ? key.text().split("\n") : new String[]{key.text()};
+        // a multiline text starts one line below the position.
+        int firstLine = lines.length > 1 ? 1 : 0;
+        int lineHeight = fm.getHeight();
+        int shadow = key.shadowColor() != null ? key.shadowWidth() : 0;
+        int border = key.borderColor() != null ? key.borderWidth() : 0;
+        // margin for the glyphs going beyond their advance, the shadow and the border.
+        int before = Math.max(0, border) + 2;
+        int after = Math.max(Math.max(shadow - 1, border - 1), 0) + 2;
+
+        int[] offsets = new int[lines.length];
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, lineWidth = 0;
+        for (int i = 0; i < lines.length; i++) {
+            lineWidth = fm.stringWidth(lines[i]);
+            offsets[i] = switch (key.textAlign()) {
+                case TextObject.ALIGN_CENTER -> (int) (-lineWidth * 0.5);
+                case TextObject.ALIGN_RIGHT -> -lineWidth;
+                default -> 0;
+            };
+            minX = Math.min(minX, offsets[i]);
+            maxX = Math.max(maxX, offsets[i] + lineWidth);
+        }
+        int left = minX - before;
+        int top = firstLine * lineHeight - fm.getMaxAscent() - before;
+        int bottom = (firstLine + lines.length - 1) * lineHeight + fm.getMaxDescent() + after;
+        BufferedImage image = new BufferedImage(
+            Math.max(1, maxX + after - left), Math.max(1, bottom - top), BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHints(hints);
+        g.setFont(key.font());
+        for (int l = 0; l < lines.length; l++) {
+            int x = offsets[l] - left;
+            int y = (firstLine + l) * lineHeight - top;
+            if (shadow > 0) {
+                g.setColor(key.shadowColor());
+                for (int i = 0; i < shadow; i++) {
+                    g.drawString(lines[l], x + i, y + i);
+                }
+            }
+            if (border > 0) {
+                g.setColor(key.borderColor());
+                for (int i = -border; i < border; i++) {
+                    for (int j = -border; j < border; j++) {
+                        g.drawString(lines[l], x + i, y + j);
+                    }
+                }
+            }
+            g.setColor(key.color());
+            g.drawString(lines[l], x, y);
+        }
+        g.dispose();
+        return new Sprite(key, image, left, top, lineWidth, lineHeight);
+    }
+
+    /**
+     * The font used for the texts without any font defined.
+     *
+     * @return the default {@link Font}.
+     */
+    public Font getDefaultFont() {
+        return scratch.getFont();
+    }
+
+    /**
+     * Number of sprites into the cache.
+     *
+     * @return the number of sprites.
+     */
+    public int size() {
+        return sprites.size();
+    }
+
+    /**
+     * Number of sprites rendered since the cache creation.
+     *
+     * @return the number of cache misses.
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Drop all the sprites.
+     */
+    public void clear() {
+        sprites.clear();
+    }
+}
@@ -0,0 +1,210 @@
+package com.snapgames.core.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+/**
+ * The {@link TextureAtlas} packs a set of images, and their horizontally flipped variants, into one single image
+ * compatible with the screen, so that the image entities are drawn from the same source image, without any
+ * mirroring at draw time.
+ * <p>
+ * The atlas is loaded from a descriptor file in <code>src/main/resources/images</code>, listing the images to be
+ * packed by sprite name:
+ *
+ * <pre>
+ * # space between two packed images
+ * atlas.padding=1
+ * sprite.player=/images/player.png
+ * sprite.ball=/images/ball.png
+ * </pre>
+ * <p>
+ * and activated with the <code>app.render.atlas</code> configuration key:
+ *
+ * <pre>
+ * app.render.atlas=/images/sprites.atlas
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see com.snapgames.core.graphics.plugins.GameObjectRendererPlugin
+ * @since 1.0.5
+ */
+public class TextureAtlas {
+
+    private static final AtomicInteger nextId = new AtomicInteger(1);
+
+    /**
+     * The place of one packed image, and of its flipped variant, into the atlas.
+     */
+    public static final class Region {
+        private final TextureAtlas atlas;
+        private final String name;
+        public final int x, y, width, height;
+        public final int flippedX;
+
+        private Region(TextureAtlas atlas, String name, int x, int y, int width, int height, int flippedX) {
+            this.atlas = atlas;
+            this.name = name;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.flippedX = flippedX;
+        }
+
+        public TextureAtlas getAtlas() {
+            return atlas;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final int id = nextId.getAndIncrement();
+    private final Map<String, Region> regions = new HashMap<>();
+    private final BufferedImage image;
+
+    /**
+     * Pack the images into a new {@link TextureAtlas}. Each image and its flipped variant are placed side by side on
+     * shelves, the images being sorted from the tallest to the smallest.
+     *
+     * @param gc      the {@link GraphicsConfiguration} of the screen, or null to create a standard ARGB image.
+     * @param images  the images to be packed, by sprite name.
+     * @param padding the space between two packed images.
+     */
+    public TextureAtlas(GraphicsConfiguration gc, Map<String, BufferedImage> images, int padding) {
+        List<Map.Entry<String, BufferedImage>> sorted = new ArrayList<>(images.entrySet());
+        sorted.sort((a, b) -> Integer.compare(b.getValue().getHeight(), a.getValue().getHeight()));
+        long area = 0;
+        int maxWidth = 1;
+        for (Map.Entry<String, BufferedImage> e : sorted) {
+            int w = 2 * (e.getValue().getWidth() + padding);
+            area += (long) w * (e.getValue().getHeight() + padding);
+            maxWidth = Math.max(maxWidth, w);
+        }
+        int width = Math.max(maxWidth, (int) Math.ceil(Math.sqrt(area)));
+
+        // place the images on shelves.
+        int[] xs = new int[sorted.size()], ys = new int[sorted.size()];
+        int x = 0, y = 0, shelfHeight = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            BufferedImage img = sorted.get(i).getValue();
+            int w = 2 * (img.getWidth() + padding);
+            if (x + w > width) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            xs[i] = x;
+            ys[i] = y;
+            x += w;
+            shelfHeight = Math.max(shelfHeight, img.getHeight() + padding);
+        }
+        int height = Math.max(1, y + shelfHeight);
+
+        image = gc != null
+            ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        for (int i = 0; i < sorted.size(); i++) {
+            String name = sorted.get(i).getKey();
+            BufferedImage img = sorted.get(i).getValue();
+            int w = img.getWidth(), h = img.getHeight();
+            int fx = xs[i] + w + padding;
+            g.drawImage(img, xs[i], ys[i], null);
+            // the flipped variant, drawn once here instead of on each frame.
+            g.drawImage(img, fx, ys[i], fx + w, ys[i] + h, w, 0, 0, h, null);
+            regions.put(name, new Region(this, name, xs[i], ys[i], w, h, fx));
+        }
+        g.dispose();
+    }
+
+    /**
+     * Load a {@link TextureAtlas} from its descriptor file, from the classpath.
+     *
+     * @param gc         the {@link GraphicsConfiguration} of the screen, or null to create a standard ARGB image.
+     * @param descriptor the path of the descriptor file.
+     * @return the new {@link TextureAtlas}, or null if the descriptor can not be read.
+     */
+    public static TextureAtlas load(GraphicsConfiguration gc, String descriptor) {
+        Properties props = new Properties();
+        try (InputStream is = TextureAtlas.class.getResourceAsStream(descriptor)) {
+            if (is == null) {
+                System.out.printf(">> <!> TextureAtlas: unable to find descriptor %s%n", descriptor);
+                return null;
+            }
+            props.load(is);
+        } catch (IOException e) {
+            System.out.printf(">> <!> TextureAtlas: unable to read descriptor %s: %s%n", descriptor, e.getMessage());
+            return null;
+        }
+        Map<String, BufferedImage> images = new LinkedHashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith("sprite.")) {
+                String path = props.getProperty(key);
+                try (InputStream is = TextureAtlas.class.getResourceAsStream(path)) {
+                    BufferedImage img = is != null ? ImageIO.read(is) : null;
+                    if (img != null) {
+                        images.put(key.substring("sprite.".length()), img);
+                    } else {
+                        System.out.printf(">> <!> TextureAtlas: unable to load image %s%n", path);
+                    }
+                } catch (IOException e) {
+                    System.out.printf(">> <!> TextureAtlas: unable to load image %s: %s%n", path, e.getMessage());
+                }
+            }
+        }
+        int padding = Integer.parseInt(props.getProperty("atlas.padding", "1"));
+        return new TextureAtlas(gc, images, padding);
+    }
+
+    /**
+     * Draw a region of the atlas, with its top-left corner at (x,y).
+     *
+     * @param g    the {@link Graphics2D} API instance.
+     * @param r    the {@link Region} to be drawn.
+     * @param x    horizontal position.
+     * @param y    vertical position.
+     * @param flip true to draw the horizontally flipped variant.
+     */
+    public void draw(Graphics2D g, Region r, int x, int y, boolean flip) {
+        int sx = flip ? r.flippedX : r.x;
+        g.drawImage(image, x, y, x + r.width, y + r.height, sx, r.y, sx + r.width, r.y + r.height, null);
+    }
+
+    /**
+     * Retrieve a packed image.
+     *
+     * @param name the sprite name.
+     * @return the {@link Region} of the sprite, or null if it does not exist.
+     */
+    public Region getRegion(String name) {
+        return regions.get(name);
+    }
+
+    /**
+     * Unique identifier of this atlas, used as render group by the image entities.
+     *
+     * @return the atlas identifier.
+     */
+    public int getId() {
+        return id;
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+}
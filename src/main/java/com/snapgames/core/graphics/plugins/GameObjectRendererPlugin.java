@@ -1,9 +1,12 @@
 package com.snapgames.core.graphics.plugins;
 
 import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.graphics.RenderSnapshot;
 import com.snapgames.core.graphics.Renderer;
+import com.snapgames.core.graphics.TextureAtlas;
 
 import java.awt.*;
+import java.awt.geom.Rectangle2D;
 import java.util.Optional;
 
 /**
@@ -14,6 +17,8 @@ import java.util.Optional;
  * @since 1.0.0
  */
 public class GameObjectRendererPlugin implements RendererPlugin<GameObject> {
+    private final Rectangle2D.Double shape = new Rectangle2D.Double();
+
     @Override
     public Class<?> getEntityClass() {
         return GameObject.class;
@@ -55,7 +60,10 @@ public class GameObjectRendererPlugin implements RendererPlugin<GameObject> {
                 }
             }
             case TYPE_IMAGE -> {
-                if (Optional.ofNullable(entity.getImage()).isPresent()) {
+                if (entity.getRegion() != null) {
+                    TextureAtlas.Region region = entity.getRegion();
+                    region.getAtlas().draw(g, region, (int) entity.pos.x, (int) entity.pos.y, entity.vel.x <= 0);
+                } else if (Optional.ofNullable(entity.getImage()).isPresent()) {
                     if (entity.vel.x > 0) {
                         g.drawImage(entity.getImage(), (int) entity.pos.x, (int) entity.pos.y, null);
                     } else {
@@ -71,4 +79,60 @@ public class GameObjectRendererPlugin implements RendererPlugin<GameObject> {
             default -> System.err.printf("Unknown Entity type %d%n", entity.type);
         }
     }
+
+    @Override
+    public void draw(Renderer r, Graphics2D g, GameObject entity, RenderSnapshot.Item item) {
+        switch (item.type) {
+            case TYPE_POINT -> {
+                if (item.color != null) {
+                    g.setColor(item.color);
+                    g.drawRect((int) item.x, (int) item.y, 1, 1);
+                }
+            }
+            case TYPE_LINE -> {
+                if (item.color != null) {
+                    g.setColor(item.color);
+                    g.drawLine((int) item.x, (int) item.y, (int) item.oldX, (int) item.oldY);
+                }
+            }
+            case TYPE_RECTANGLE -> {
+                shape.setRect(item.x, item.y, item.width, item.height);
+                if (item.fillColor != null) {
+                    g.setColor(item.fillColor);
+                    g.fill(shape);
+                }
+                if (item.color != null) {
+                    g.setColor(item.color);
+                    g.draw(shape);
+                }
+            }
+            case TYPE_ELLIPSE -> {
+                if (item.fillColor != null) {
+                    g.setColor(item.fillColor);
+                    g.fillOval((int) item.x, (int) item.y, (int) item.width, (int) item.height);
+                }
+                if (item.color != null) {
+                    g.setColor(item.color);
+                    g.drawOval((int) item.x, (int) item.y, (int) item.width, (int) item.height);
+                }
+            }
+            case TYPE_IMAGE -> {
+                if (item.region != null) {
+                    item.region.getAtlas().draw(g, item.region, (int) item.x, (int) item.y, item.flip);
+                } else if (Optional.ofNullable(entity.getImage()).isPresent()) {
+                    if (!item.flip) {
+                        g.drawImage(entity.getImage(), (int) item.x, (int) item.y, null);
+                    } else {
+                        g.drawImage(entity.getImage(),
+                                (int) (item.x - item.width),
+                                (int) item.y,
+                                (int) -item.width,
+                                (int) item.height,
+                                null);
+                    }
+                }
+            }
+            default -> System.err.printf("Unknown Entity type %s%n", item.type);
+        }
+    }
 }
@@ -1,14 +1,32 @@
 package com.snapgames.core.graphics.plugins;
 
 import com.snapgames.core.Application;
+import com.snapgames.core.graphics.RenderSnapshot;
 import com.snapgames.core.graphics.Renderer;
 import com.snapgames.core.math.physic.entity.Perturbation;
 import com.snapgames.core.scene.Scene;
 
 import java.awt.*;
+import java.awt.geom.Rectangle2D;
 import java.util.Optional;
 
 public class PerturbationRendererPlugin implements RendererPlugin<Perturbation> {
+    private final boolean drawArea;
+    private final Rectangle2D.Double shape = new Rectangle2D.Double();
+
+    public PerturbationRendererPlugin() {
+        this(true);
+    }
+
+    /**
+     * Create a new {@link PerturbationRendererPlugin}.
+     *
+     * @param drawArea true to draw the perturbation area on each frame, false if it is already drawn by the
+     *                 {@link com.snapgames.core.graphics.StaticLayer}.
+     */
+    public PerturbationRendererPlugin(boolean drawArea) {
+        this.drawArea = drawArea;
+    }
     @Override
     public Class<?> getEntityClass() {
         return Perturbation.class;
@@ -22,6 +40,9 @@ public class PerturbationRendererPlugin implements RendererPlugin<Perturbation>
     @Override
     public void drawDebugInfo(Application application, Scene scene, Renderer r, Graphics2D g, Perturbation e) {
         RendererPlugin.super.drawDebugInfo(application, scene, r, g, e);
+        if (!drawArea) {
+            return;
+        }
         g.setColor(e.getFillColor());
         g.fill(e);
         if (Optional.ofNullable(e.getColor()).isPresent()) {
@@ -29,4 +50,20 @@ public class PerturbationRendererPlugin implements RendererPlugin<Perturbation>
             g.draw(e);
         }
     }
+
+    @Override
+    public void drawDebugInfo(Application application, RenderSnapshot s, Renderer r, Graphics2D g,
+                              RenderSnapshot.Item item) {
+        RendererPlugin.super.drawDebugInfo(application, s, r, g, item);
+        if (!drawArea) {
+            return;
+        }
+        shape.setRect(item.x, item.y, item.width, item.height);
+        g.setColor(item.fillColor);
+        g.fill(shape);
+        if (Optional.ofNullable(item.color).isPresent()) {
+            g.setColor(item.color);
+            g.draw(shape);
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.snapgames.core.graphics.plugins;
 import com.snapgames.core.Application;
 import com.snapgames.core.entity.Camera;
 import com.snapgames.core.entity.Entity;
+import com.snapgames.core.graphics.RenderSnapshot;
 import com.snapgames.core.graphics.Renderer;
 import com.snapgames.core.scene.Scene;
 
@@ -37,6 +38,31 @@ public interface RendererPlugin<T extends Entity<?>> {
      */
     void draw(Renderer r, Graphics2D g, T entity);
 
+    /**
+     * Draw the T {@link Entity} from its captured state. The default implementation draws the entity itself;
+     * plugins may override this to only rely on the {@link RenderSnapshot.Item} values, which are safe to read
+     * from the render thread.
+     *
+     * @param r      the {@link Renderer} service instance
+     * @param g      the Graphics2D API instance to use to render this entity.
+     * @param entity the instance of the Entity T to be drawn.
+     * @param item   the captured state of the entity.
+     */
+    default void draw(Renderer r, Graphics2D g, T entity, RenderSnapshot.Item item) {
+        draw(r, g, entity);
+    }
+
+    /**
+     * Prepare on the update thread the {@link RenderSnapshot.Item} values this plugin needs to draw the entity from
+     * the render thread. The default implementation has nothing more to capture.
+     *
+     * @param r      the {@link Renderer} service instance
+     * @param entity the instance of the Entity T being captured.
+     * @param item   the captured state of the entity.
+     */
+    default void capture(Renderer r, T entity, RenderSnapshot.Item item) {
+    }
+
     /**
      * Draw all info from this entity to the display debug mode.
      *
@@ -51,35 +77,60 @@ public interface RendererPlugin<T extends Entity<?>> {
                 && application.getConfiguration().debugLevel > 0
                 && application.getConfiguration().debugLevel >= e.debug
                 && application.getConfiguration().debugFilter.contains(e.getName())) {
-            List<String> info = e.getDebugInfo();
-            int l = 0;
-            float fontSize = 9f;
-            g.setFont(g.getFont().deriveFont(fontSize));
             Camera activeCamera = scene.getActiveCamera();
-            int maxWidth = info.stream().mapToInt(s -> g.getFontMetrics().stringWidth(s)).max().orElse(0);
-            int offsetX = 4;
-            int offsetY = 0;
             if (Optional.ofNullable(activeCamera).isPresent()) {
-                offsetX = (int) (e.pos.x + maxWidth > (
-                        (e.stickToCamera ? 0 : scene.getActiveCamera().x) + scene.getActiveCamera().width) ? -(maxWidth + 4.0)
-                        : 4.0);
-                long nbLines = info.stream().filter(i -> Integer.parseInt((i.contains("_") ? i.substring(0, i.indexOf("_")) : "0")) <= application.getConfiguration().debugLevel).count();
-                offsetY = (int) (e.pos.y + (fontSize * nbLines) >
-                        ((e.stickToCamera ? 0 : scene.getActiveCamera().y) + scene.getActiveCamera().height)
-                        ? -(9.0 + (fontSize * nbLines))
-                        : 0);
+                drawDebugLines(application, g, e.getDebugInfo(), e.pos.x, e.pos.y, e.getWidth(), e.stickToCamera,
+                        true, activeCamera.x, activeCamera.y, activeCamera.width, activeCamera.height);
+            } else {
+                drawDebugLines(application, g, e.getDebugInfo(), e.pos.x, e.pos.y, e.getWidth(), e.stickToCamera,
+                        false, 0, 0, 0, 0);
             }
-            g.setColor(Color.ORANGE);
-            for (String item : info) {
-                if (!item.equals("")) {
-                    String levelStr = item.contains("_") ? item.substring(0, item.indexOf("_")) : "0";
-                    int level = Integer.parseInt(levelStr);
-                    if (level <= application.getConfiguration().debugLevel) {
-                        g.drawString(item.substring(info.indexOf("_") + 1),
-                                (int) (e.pos.x + e.getWidth() + offsetX),
-                                (int) (e.pos.y + offsetY + (l * fontSize)));
-                        l++;
-                    }
+        }
+    }
+
+    /**
+     * Draw the debug info lines captured into a {@link RenderSnapshot.Item}, without reading the entity.
+     *
+     * @param application the parent {@link Application}
+     * @param s           the {@link RenderSnapshot} being drawn
+     * @param r           the {@link Renderer} instance
+     * @param g           the {@link Graphics2D} API instance
+     * @param item        the captured state of the entity.
+     */
+    default void drawDebugInfo(Application application, RenderSnapshot s, Renderer r, Graphics2D g,
+                               RenderSnapshot.Item item) {
+        if (!item.debugInfo.isEmpty()) {
+            drawDebugLines(application, g, item.debugInfo, item.x, item.y, item.width, item.stickToCamera,
+                    s.hasCamera(), s.getCameraX(1.0), s.getCameraY(1.0), s.getCameraWidth(), s.getCameraHeight());
+        }
+    }
+
+    private void drawDebugLines(Application application, Graphics2D g, List<String> info,
+                                double x, double y, double width, boolean stickToCamera,
+                                boolean hasCamera, double camX, double camY, double camWidth, double camHeight) {
+        int l = 0;
+        float fontSize = 9f;
+        g.setFont(g.getFont().deriveFont(fontSize));
+        int maxWidth = info.stream().mapToInt(s -> g.getFontMetrics().stringWidth(s)).max().orElse(0);
+        int offsetX = 4;
+        int offsetY = 0;
+        if (hasCamera) {
+            offsetX = (int) (x + maxWidth > ((stickToCamera ? 0 : camX) + camWidth) ? -(maxWidth + 4.0) : 4.0);
+            long nbLines = info.stream().filter(i -> Integer.parseInt((i.contains("_") ? i.substring(0, i.indexOf("_")) : "0")) <= application.getConfiguration().debugLevel).count();
+            offsetY = (int) (y + (fontSize * nbLines) > ((stickToCamera ? 0 : camY) + camHeight)
+                    ? -(9.0 + (fontSize * nbLines))
+                    : 0);
+        }
+        g.setColor(Color.ORANGE);
+        for (String item : info) {
+            if (!item.equals("")) {
+                String levelStr = item.contains("_") ? item.substring(0, item.indexOf("_")) : "0";
+                int level = Integer.parseInt(levelStr);
+                if (level <= application.getConfiguration().debugLevel) {
+                    g.drawString(item.substring(info.indexOf("_") + 1),
+                            (int) (x + width + offsetX),
+                            (int) (y + offsetY + (l * fontSize)));
+                    l++;
                 }
             }
         }
@@ -1,26 +1,44 @@
 package com.snapgames.core.graphics.plugins;
 
-import static com.snapgames.core.entity.TextObject.ALIGN_CENTER;
-import static com.snapgames.core.entity.TextObject.ALIGN_LEFT;
-import static com.snapgames.core.entity.TextObject.ALIGN_RIGHT;
-
-import java.awt.FontMetrics;
+import java.awt.Font;
 import java.awt.Graphics2D;
-import java.util.Arrays;
+import java.awt.RenderingHints;
+import java.util.Objects;
 import java.util.Optional;
 
 import com.snapgames.core.entity.TextObject;
+import com.snapgames.core.graphics.RenderSnapshot;
 import com.snapgames.core.graphics.Renderer;
+import com.snapgames.core.graphics.TextSpriteCache;
 
 /**
  * The {@link TextObjectRendererPlugin} is the {@link RendererPlugin}
  * implementation to draw the {@link TextObject}.
+ * <p>
+ * The text, with its shadow and border, is prerendered once into a sprite kept by a {@link TextSpriteCache}, and
+ * only retrieved again when the {@link TextObject#getVersion()} changes. The sprite is retrieved on the update thread
+ * when the entity is captured, the render thread only drawing the captured one.
  *
  * @author Frédéric Delorme
  * @see RendererPlugin
  * @since 1.0.0
  */
 public class TextObjectRendererPlugin implements RendererPlugin<TextObject> {
+    private final TextSpriteCache cache;
+
+    public TextObjectRendererPlugin() {
+        this(128);
+    }
+
+    /**
+     * Create a new {@link TextObjectRendererPlugin}.
+     *
+     * @param cacheSize the maximum number of prerendered texts to be kept.
+     */
+    public TextObjectRendererPlugin(int cacheSize) {
+        this.cache = new TextSpriteCache(cacheSize);
+    }
+
     @Override
     public Class<?> getEntityClass() {
         return TextObject.class;
@@ -28,74 +46,64 @@ public class TextObjectRendererPlugin implements RendererPlugin<TextObject> {
 
     @Override
     public void draw(Renderer r, Graphics2D g, TextObject entity) {
-        if (Optional.ofNullable(entity.getFont()).isPresent()) {
-            g.setFont(entity.getFont());
+        TextSpriteCache.Sprite sprite = resolve(entity, g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING));
+        if (sprite != null) {
+            g.drawImage(sprite.image, (int) entity.pos.x + sprite.offsetX, (int) entity.pos.y + sprite.offsetY, null);
         }
-        FontMetrics fm = g.getFontMetrics();
-        String textValue = entity.getText();
-        if (entity.getText() != null && entity.getText().contains("%")
-                && Optional.ofNullable(entity.getValue()).isPresent()) {
-            textValue = String.format(entity.getText(), entity.getValue());
-        }
-        if (textValue != null) {
+    }
 
-            if (textValue.contains("\n")) {
-                String[] lines = textValue.split("\n");
-                int i = 0;
-                for (String l : lines) {
-                    drawLine(g, entity, fm, l, ++i);
-                }
-            } else {
-                drawLine(g, entity, fm, textValue, 0);
-            }
+    /**
+     * Retrieve the sprite on the update thread, with the text antialiasing of the layer quality profile, so that the
+     * render thread only copies its image.
+     */
+    @Override
+    public void capture(Renderer r, TextObject entity, RenderSnapshot.Item item) {
+        item.sprite = resolve(entity, r.getQuality(item.layer).getTextAntialiasing());
+        if (item.sprite != null) {
+            item.width = item.sprite.lineWidth;
+            item.height = item.sprite.lineHeight;
         }
     }
 
-    private void drawLine(Graphics2D g, TextObject entity, FontMetrics fm, String textValue, int lineOffset) {
-        entity.width = fm.stringWidth(textValue);
-        entity.height = fm.getHeight();
-        double offsetX = 0;
-        switch (entity.getTextAlign()) {
-            case ALIGN_LEFT -> {
-                offsetX = 0;
-            }
-            case ALIGN_CENTER -> {
-                offsetX = (int) (-entity.width * 0.5);
-
-            }
-            case ALIGN_RIGHT -> {
-                offsetX = -entity.width;
-            }
-            default -> {
-                offsetX = 0;
-                System.err.printf(">> <?> unknown textAlign %d value for %s%n", entity.getTextAlign(),
-                        entity.getName());
-            }
-        }
-        if (entity.getShadowWidth() > 0 && Optional.ofNullable(entity.getShadowColor()).isPresent()) {
-            drawShadowText(g, entity, textValue, entity.pos.x + offsetX, (int) entity.pos.y + (lineOffset * fm.getHeight()));
-        }
-        if (entity.getBorderWidth() > 0 && Optional.ofNullable(entity.getBorderWidth()).isPresent()) {
-            drawBorderText(g, entity, textValue, entity.pos.x + offsetX, (int) entity.pos.y + (lineOffset * fm.getHeight()));
+    @Override
+    public void draw(Renderer r, Graphics2D g, TextObject entity, RenderSnapshot.Item item) {
+        TextSpriteCache.Sprite sprite = item.sprite;
+        if (sprite != null) {
+            g.drawImage(sprite.image, (int) item.x + sprite.offsetX, (int) item.y + sprite.offsetY, null);
         }
-        g.setColor(entity.getColor());
-        g.drawString(textValue, (int) (entity.pos.x + offsetX), (int) entity.pos.y + (lineOffset * fm.getHeight()));
     }
 
-
-    private void drawShadowText(Graphics2D g, TextObject entity, String textValue, double x, double y) {
-        g.setColor(entity.getShadowColor());
-        for (int i = 0; i < entity.getShadowWidth(); i++) {
-            g.drawString(textValue, (int) x + i, (int) y + i);
+    /**
+     * Retrieve the sprite of a {@link TextObject} from the cache, only when its version or the text antialiasing
+     * changed, and set the {@link TextObject} size from it.
+     */
+    private TextSpriteCache.Sprite resolve(TextObject entity, Object textAntialiasing) {
+        TextSpriteCache.Sprite sprite = entity.sprite;
+        if (sprite == null || entity.spriteVersion != entity.getVersion()
+            || !Objects.equals(sprite.key.textAntialiasing(), textAntialiasing)) {
+            String textValue = entity.getFormattedText();
+            Font font = Optional.ofNullable(entity.getFont()).orElse(cache.getDefaultFont());
+            sprite = textValue != null ? cache.get(new TextSpriteCache.Key(textValue, font,
+                entity.getColor(),
+                entity.getShadowWidth() > 0 ? entity.getShadowColor() : null, entity.getShadowWidth(),
+                entity.getBorderWidth() > 0 ? entity.getBorderColor() : null, entity.getBorderWidth(),
+                entity.getTextAlign(), textAntialiasing)) : null;
+            entity.sprite = sprite;
+            entity.spriteVersion = entity.getVersion();
         }
+        if (sprite != null) {
+            entity.width = sprite.lineWidth;
+            entity.height = sprite.lineHeight;
+        }
+        return sprite;
     }
 
-    private void drawBorderText(Graphics2D g, TextObject entity, String textValue, double x, double y) {
-        g.setColor(entity.getBorderColor());
-        for (int i = -entity.getBorderWidth(); i < entity.getBorderWidth(); i++) {
-            for (int j = -entity.getBorderWidth(); j < entity.getBorderWidth(); j++) {
-                g.drawString(textValue, (int) x + i, (int) y + j);
-            }
-        }
+    /**
+     * Retrieve the cache of the prerendered texts.
+     *
+     * @return the {@link TextSpriteCache} instance.
+     */
+    public TextSpriteCache getCache() {
+        return cache;
     }
 }
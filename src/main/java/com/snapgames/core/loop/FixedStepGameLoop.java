@@ -0,0 +1,127 @@
+package com.snapgames.core.loop;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import com.snapgames.core.Application;
+import com.snapgames.core.scene.Scene;
+import com.snapgames.core.scene.SceneManager;
+import com.snapgames.core.system.GSystemManager;
+import com.snapgames.core.utils.StringUtils;
+import com.snapgames.core.utils.config.Configuration;
+
+/**
+ * A fixed time step implementation of the {@link GameLoop}.
+ * <p>
+ * The real elapsed time is accumulated, and consumed by updates of exactly <code>1/ups</code> second each, so the
+ * physic computation is always processed with the same time step, whatever the rendering load is. When the loop
+ * falls behind, no more than <code>app.loop.max.steps</code> updates are processed in one frame, and the remaining
+ * late time is dropped.
+ * <p>
+ * The frame is drawn with an interpolation factor (the remaining accumulated time relative to the time step), so
+ * that entities are rendered between their previous and current positions.
+ * <p>
+ * This loop is activated with the following configuration entries:
+ *
+ * <pre>
+ * app.loop=fixed
+ * app.loop.max.steps=5
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see StandardGameLoop
+ * @since 1.0.5
+ */
+public class FixedStepGameLoop extends StandardGameLoop {
+
+    private final long stepTime;
+    private final long frameTime;
+    private final int maxCatchUpSteps;
+
+    /**
+     * Initialize the fixed time step game loop.
+     *
+     * @param config the Application configuration to get values from.
+     */
+    public FixedStepGameLoop(Configuration config) {
+        super(config);
+        this.stepTime = 1_000_000_000L / config.ups;
+        this.frameTime = 1_000_000_000L / config.fps;
+        this.maxCatchUpSteps = Math.max(config.maxCatchUpSteps, 1);
+    }
+
+    @Override
+    public void loop(Application app) {
+
+        Scene scene = ((SceneManager) GSystemManager.find(SceneManager.class)).getCurrent();
+
+        System.out.printf(
+            ">> <!> Activate Scene '%s'(%s).%n",
+            scene.getName(), scene.getClass().getName());
+
+        scene.create(app);
+        traceStats(scene);
+
+        System.out.printf(
+            ">> <!> Application now loops on Scene '%s' with a fixed time step of %d ns%n",
+            scene.getName(), stepTime);
+        long previous = System.nanoTime();
+        long lastFrame = previous;
+        long lastStats = previous;
+        long accumulator = 0;
+        long cumulatedGameTime = 0;
+        int frames = 0;
+        int updates = 0;
+        int dropped = 0;
+        Map<String, Object> stats = new HashMap<>();
+        do {
+            scene = ((SceneManager) GSystemManager.find(SceneManager.class)).getCurrent();
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+
+            input(app, scene);
+            if (!app.isPaused()) {
+                int steps = 0;
+                while (accumulator >= stepTime && steps < maxCatchUpSteps) {
+                    update(app, scene, stepTime, stats);
+                    accumulator -= stepTime;
+                    cumulatedGameTime += stepTime;
+                    steps++;
+                }
+                updates += steps;
+                if (accumulator >= stepTime) {
+                    // too late: drop the time that could not be caught up.
+                    dropped += (int) (accumulator / stepTime);
+                    accumulator %= stepTime;
+                }
+            } else {
+                accumulator = 0;
+            }
+
+            if (now - lastFrame >= frameTime) {
+                app.draw(scene, stats, app.isPaused() ? 1.0 : (double) accumulator / stepTime);
+                frames++;
+                lastFrame = now;
+            }
+
+            if (now - lastStats >= 1_000_000_000L) {
+                traceStatsCycle(app, scene, frames, updates, stats);
+                stats.put("2_drop", dropped);
+                lastStats = now;
+                frames = 0;
+                updates = 0;
+                dropped = 0;
+            }
+            stats.put("5_internal", StringUtils.formatDuration(cumulatedGameTime / 1_000_000L));
+
+            // wait for the next update or the next frame, whichever comes first.
+            long wait = Math.min(stepTime - accumulator, lastFrame + frameTime - now)
+                - (System.nanoTime() - now);
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        } while (!(app.isExiting() || app.isTestMode()));
+    }
+}
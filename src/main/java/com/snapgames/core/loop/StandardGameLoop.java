@@ -117,7 +117,7 @@ public class StandardGameLoop implements GameLoop {
         app.update(scene, elapsed, stats);
     }
 
-    private void traceStatsCycle(Application app, Scene scene, int realFPS, int realUPS, Map<String, Object> datastats) {
+    protected void traceStatsCycle(Application app, Scene scene, int realFPS, int realUPS, Map<String, Object> datastats) {
         datastats.put("0_dbg", app.getConfiguration().debug ? "ON" : "off");
         if (app.getConfiguration().debug) {
             datastats.put("0_dbgLvl", app.getConfiguration().debugLevel);
@@ -140,7 +140,7 @@ public class StandardGameLoop implements GameLoop {
         }
     }
 
-    private void traceStats(Scene scene) {
+    protected void traceStats(Scene scene) {
         long staticEntities = scene.getEntities().stream()
             .filter(e -> e.physicType.equals(PhysicType.STATIC))
             .count();
@@ -5,6 +5,11 @@ import java.util.Objects;
 
 /**
  * Internal Class to manage simple Vector2D.
+ * <p>
+ * The <code>add</code>, <code>substract</code>, <code>multiply</code> and <code>divide</code> operations return
+ * a new {@link Vector2D}, while the <code>set</code>, <code>addLocal</code>, <code>subLocal</code>,
+ * <code>scaleLocal</code> and <code>addScaled</code> ones update this instance in place, and return it to be
+ * chained, without any allocation. Temporary vectors can be borrowed from the {@link Vector2DPool}.
  *
  * @author Frédéric Delorme
  * @since 1.0.0
@@ -32,6 +37,93 @@ public class Vector2D {
         this.y = y;
     }
 
+    /**
+     * Set the x and y values of this {@link Vector2D}.
+     *
+     * @param x horizontal axis coordinate
+     * @param y vertical axis coordinate
+     * @return this updated {@link Vector2D}.
+     */
+    public Vector2D set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Copy the values of the v {@link Vector2D} into this one.
+     *
+     * @param v the {@link Vector2D} to copy values from.
+     * @return this updated {@link Vector2D}.
+     */
+    public Vector2D set(Vector2D v) {
+        this.x = v.x;
+        this.y = v.y;
+        return this;
+    }
+
+    /**
+     * Add the v {@link Vector2D} to this one, in place.
+     *
+     * @param v the {@link Vector2D} to be added.
+     * @return this updated {@link Vector2D}.
+     */
+    public Vector2D addLocal(Vector2D v) {
+        this.x += v.x;
+        this.y += v.y;
+        return this;
+    }
+
+    /**
+     * Add the (dx,dy) values to this {@link Vector2D}, in place.
+     *
+     * @param dx horizontal value to be added
+     * @param dy vertical value to be added
+     * @return this updated {@link Vector2D}.
+     */
+    public Vector2D addLocal(double dx, double dy) {
+        this.x += dx;
+        this.y += dy;
+        return this;
+    }
+
+    /**
+     * Substract the v {@link Vector2D} from this one, in place.
+     *
+     * @param v the {@link Vector2D} to be substracted.
+     * @return this updated {@link Vector2D}.
+     */
+    public Vector2D subLocal(Vector2D v) {
+        this.x -= v.x;
+        this.y -= v.y;
+        return this;
+    }
+
+    /**
+     * Multiply this {@link Vector2D} by the f factor, in place.
+     *
+     * @param f the factor to be applied.
+     * @return this updated {@link Vector2D}.
+     */
+    public Vector2D scaleLocal(double f) {
+        this.x *= f;
+        this.y *= f;
+        return this;
+    }
+
+    /**
+     * Add the v {@link Vector2D} scaled by the f factor to this one, in place (<code>this += v * f</code>).
+     *
+     * @param v the {@link Vector2D} to be scaled and added.
+     * @param f the factor to be applied on v.
+     * @return this updated {@link Vector2D}.
+     */
+    public Vector2D addScaled(Vector2D v, double f) {
+        this.x += v.x * f;
+        this.y += v.y * f;
+        return this;
+    }
+
     public Vector2D add(Vector2D v) {
         return new Vector2D(x + v.x, y + v.y);
     }
@@ -79,6 +171,21 @@ public class Vector2D {
 
     }
 
+    /**
+     * Compute the sum of a list of {@link Vector2D} into this one, in place.
+     *
+     * @param forces the list of {@link Vector2D} to be summed.
+     * @return this updated {@link Vector2D}.
+     */
+    public Vector2D sumLocal(List<Vector2D> forces) {
+        this.x = 0.0;
+        this.y = 0.0;
+        for (int i = 0; i < forces.size(); i++) {
+            addLocal(forces.get(i));
+        }
+        return this;
+    }
+
     public Vector2D addAll(List<Vector2D> forces) {
         Vector2D sum = new Vector2D();
         for (Vector2D f : forces) {
@@ -0,0 +1,91 @@
+package com.snapgames.core.math;
+
+import java.util.Arrays;
+
+/**
+ * A per-thread pool of scratch {@link Vector2D}, to perform temporary computation without any allocation.
+ * <p>
+ * Borrowed vectors are only valid until the pool is released back to the mark taken before borrowing them:
+ *
+ * <pre>
+ * Vector2DPool pool = Vector2DPool.get();
+ * int mark = pool.mark();
+ * Vector2D d = pool.obtain(target.pos).subLocal(e.pos);
+ * // ... use d ...
+ * pool.release(mark);
+ * </pre>
+ * <p>
+ * A scratch vector must never be kept by an {@link com.snapgames.core.entity.Entity} or any other long living
+ * object.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class Vector2DPool {
+
+    private static final ThreadLocal<Vector2DPool> POOLS = ThreadLocal.withInitial(Vector2DPool::new);
+
+    private Vector2D[] vectors = new Vector2D[32];
+    private int used;
+
+    private Vector2DPool() {
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = new Vector2D();
+        }
+    }
+
+    /**
+     * Retrieve the pool for the current thread.
+     *
+     * @return the {@link Vector2DPool} instance of the current thread.
+     */
+    public static Vector2DPool get() {
+        return POOLS.get();
+    }
+
+    /**
+     * Borrow a scratch {@link Vector2D}, set to (x,y).
+     *
+     * @param x horizontal axis coordinate
+     * @param y vertical axis coordinate
+     * @return a scratch {@link Vector2D}.
+     */
+    public Vector2D obtain(double x, double y) {
+        if (used == vectors.length) {
+            int size = vectors.length;
+            vectors = Arrays.copyOf(vectors, size * 2);
+            for (int i = size; i < vectors.length; i++) {
+                vectors[i] = new Vector2D();
+            }
+        }
+        return vectors[used++].set(x, y);
+    }
+
+    /**
+     * Borrow a scratch {@link Vector2D}, set to the values of v.
+     *
+     * @param v the {@link Vector2D} to copy values from.
+     * @return a scratch {@link Vector2D}.
+     */
+    public Vector2D obtain(Vector2D v) {
+        return obtain(v.x, v.y);
+    }
+
+    /**
+     * Retrieve the current usage level of the pool.
+     *
+     * @return a mark to be given back to {@link Vector2DPool#release(int)}.
+     */
+    public int mark() {
+        return used;
+    }
+
+    /**
+     * Give back all the {@link Vector2D} borrowed since the mark was taken.
+     *
+     * @param mark the mark returned by {@link Vector2DPool#mark()}.
+     */
+    public void release(int mark) {
+        used = mark;
+    }
+}
@@ -0,0 +1,66 @@
+package com.snapgames.core.math.physic;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.graphics.Renderer;
+import com.snapgames.core.scene.Scene;
+import com.snapgames.core.system.GSystem;
+
+/**
+ * The {@link BroadPhase} is the first step of the {@link CollisionDetection}: it dispatches the {@link Scene}'s
+ * {@link Entity}'s into some spatial structure to quickly retrieve the neighbours of any entity.
+ * <p>
+ * The implementation used by the {@link CollisionDetection} is selected at startup with the
+ * <code>app.physic.broadphase</code> configuration key.
+ *
+ * @author Frédéric Delorme
+ * @see SpacePartition
+ * @see SpatialHashGrid
+ * @since 1.0.5
+ */
+public interface BroadPhase extends GSystem {
+
+    /**
+     * Dispatch all the {@link Scene} entities and {@link World} perturbations into the structure.
+     *
+     * @param scene   the Scene to be processed.
+     * @param elapsed the elapsed time since previous call.
+     */
+    void update(Scene scene, double elapsed);
+
+    /**
+     * Retrieve the neighbours of an {@link Entity}, without any allocation.
+     * <p>
+     * If the returned count is greater than the buffer length, only the first <code>buffer.length</code> neighbours
+     * have been written, and the caller must retry with a larger buffer.
+     *
+     * @param e      the entity to find the neighbours of.
+     * @param buffer the caller's buffer to be filled with the neighbours.
+     * @return the number of neighbours found.
+     */
+    default int find(Entity<?> e, Entity<?>[] buffer) {
+        return find((Rectangle2D) e, buffer);
+    }
+
+    /**
+     * Retrieve the entities possibly overlapping an area, without any allocation (e.g. the area swept by a moving
+     * entity).
+     *
+     * @param area   the area to be searched.
+     * @param buffer the caller's buffer to be filled with the entities.
+     * @return the number of entities found, possibly greater than the buffer length (see
+     * {@link BroadPhase#find(Entity, Entity[])}).
+     */
+    int find(Rectangle2D area, Entity<?>[] buffer);
+
+    /**
+     * Draw the structure for debug purpose.
+     *
+     * @param r     the {@link Renderer} instance
+     * @param g     the {@link Graphics2D} API instance
+     * @param scene the {@link Scene} to be processed.
+     */
+    void draw(Renderer r, Graphics2D g, Scene scene);
+}
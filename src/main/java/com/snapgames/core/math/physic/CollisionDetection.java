@@ -7,6 +7,7 @@ import com.snapgames.core.scene.Scene;
 import com.snapgames.core.system.GSystem;
 import com.snapgames.core.system.GSystemManager;
 
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +17,25 @@ import java.util.Map;
  * <p>
  * On any collision detected, a {@link CollisionEvent} is generated, and then a {@link CollisionResponseBehavior}
  * is called.
+ * <p>
+ * Each pair of colliding entities is processed once per update, whatever the number of times the {@link BroadPhase}
+ * reports it: the intersection is tested once, and the same event is presented to the behaviors of both entities,
+ * each one seeing itself as the event's entity1. The {@link NarrowPhase} replaces the bounding box intersection and
+ * gives the contact manifold of the event.
+ * <p>
+ * The responses are dispatched through the precomputed {@link Entity#getResponders()} array, only when one of the
+ * entities' responders accepts the other one (see {@link CollisionResponseBehavior#accept(Entity)}). The events are
+ * recorded, and the {@link CollisionListener}'s notified, whatever the responders, so that a listener like the
+ * {@link CollisionResolver} processes all the contacts.
+ * <p>
+ * The neighbours of a continuous entity (see {@link Entity#setContinuous(boolean)}) are searched on the whole area
+ * covered by its last move, and its pairs are swept when the final positions do not overlap. The number of swept
+ * tests and their time are reported into the <code>5_ccd</code> and <code>5_ccd_us</code> stats.
+ * <p>
+ * Before anything else, the pairs whose categories do not collide are rejected with the {@link CollisionMatrix}.
+ * <p>
+ * Sleeping entities do not search their neighbours, and are woken up when hit by an entity moving faster than the
+ * <code>app.physic.sleep.velocity</code>.
  *
  * @author Frédéric Delorme
  * @since 1.0.4
@@ -28,14 +48,60 @@ public class CollisionDetection implements GSystem {
     Application application;
 
     /**
-     * A list of {@link CollisionEvent}.
+     * The pooled {@link CollisionEvent} records of the current update.
+     */
+    private CollisionEventBuffer collisions;
+
+    /**
+     * Listeners notified with the collisions at the end of each update.
+     */
+    private final List<CollisionListener> listeners = new ArrayList<>();
+
+    /**
+     * Simulation time, accumulated on each update.
      */
-    private ArrayList<CollisionEvent> collisions;
+    private double time;
+
+    /**
+     * Record receiving the {@link NarrowPhase} manifold before being copied into the events buffer.
+     */
+    private final CollisionEvent contact = new CollisionEvent();
 
     /**
      * Space partitioning system to manage collision faster.
      */
-    private SpacePartition spacePartition;
+    private BroadPhase broadPhase;
+
+    /**
+     * Buffer receiving the neighbours of the entity being processed.
+     */
+    private Entity<?>[] neighbours = new Entity<?>[64];
+
+    /**
+     * Area swept by the continuous entity being processed.
+     */
+    private final Rectangle2D.Double swept = new Rectangle2D.Double();
+
+    /**
+     * Number of swept tests and their cost (in nanoseconds) on the current update.
+     */
+    private int ccdTests;
+    private long ccdTime;
+
+    /**
+     * Collision categories, from the <code>app.physic.collision.matrix</code> configuration.
+     */
+    private CollisionMatrix matrix = new CollisionMatrix("");
+
+    /**
+     * Squared velocity over which an entity wakes up the sleeping entities it hits.
+     */
+    private double wakeVelocity2;
+
+    /**
+     * Pairs already processed on the current update.
+     */
+    private final PairSet pairs = new PairSet(256);
 
     /**
      * Create the CollisionDetection system.
@@ -63,7 +129,48 @@ public class CollisionDetection implements GSystem {
      */
     @Override
     public void initialize(Application app) {
-        collisions = new ArrayList<>();
+        collisions = new CollisionEventBuffer(
+            app.getConfiguration().collisionEventsCapacity,
+            CollisionEventBuffer.OverflowPolicy.valueOf(app.getConfiguration().collisionEventsOverflow.toUpperCase()));
+        matrix = new CollisionMatrix(app.getConfiguration().collisionMatrix);
+        wakeVelocity2 = app.getConfiguration().sleepVelocity * app.getConfiguration().sleepVelocity;
+        broadPhase = switch (app.getConfiguration().broadPhase) {
+            case "grid" -> GSystemManager.find(SpatialHashGrid.class);
+            case "sap" -> GSystemManager.find(SweepAndPrune.class);
+            default -> GSystemManager.find(SpacePartition.class);
+        };
+        System.out.printf(">> <!> CollisionDetection uses the %s broadphase%n",
+            broadPhase.getClass().getSimpleName());
+    }
+
+    /**
+     * Retrieve the {@link BroadPhase} selected with the <code>app.physic.broadphase</code> configuration key.
+     *
+     * @return the {@link BroadPhase} instance in use.
+     */
+    public BroadPhase getBroadPhase() {
+        return broadPhase;
+    }
+
+    /**
+     * Retrieve the {@link CollisionMatrix} defined with the <code>app.physic.collision.matrix</code> configuration
+     * key, to assign the entities to their collision category.
+     *
+     * @return the {@link CollisionMatrix} instance.
+     */
+    public CollisionMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Define the {@link BroadPhase} to be used.
+     *
+     * @param broadPhase the new {@link BroadPhase} instance.
+     * @return this {@link CollisionDetection} system.
+     */
+    public CollisionDetection setBroadPhase(BroadPhase broadPhase) {
+        this.broadPhase = broadPhase;
+        return this;
     }
 
 
@@ -75,67 +182,175 @@ public class CollisionDetection implements GSystem {
      * @param metadata a map of metadata, mainly used for debug purpose.
      */
     public void update(Scene scene, double elapsed, Map<String, Object> metadata) {
-        spacePartition = GSystemManager.find(SpacePartition.class);
-        // TODO use the space partition instance in the parsing
-        scene.getEntities().stream().filter(e1 -> e1.isEnabled() && e1.physicType.equals(PhysicType.DYNAMIC))
-            .forEach(e1 -> {
-                List<Entity<?>> neighbours = spacePartition.find(e1);
-                if (neighbours != null && neighbours.size() > 0) {
-                    neighbours.stream()
-                        .filter(e2 -> e2.isEnabled() && e2.physicType.equals(PhysicType.DYNAMIC)
-                            && !e1.equals(e2))
-                        .forEach(e2 -> {
-                            if (e1.intersects(e2)) {
-                                collide(e2, e1);
-                            }
-                        });
+        time += elapsed;
+        pairs.clear();
+        ccdTests = 0;
+        ccdTime = 0;
+        for (Entity<?> e1 : scene.getEntities()) {
+            // a sleeping entity is found by the awake ones.
+            if (!e1.isEnabled() || !e1.physicType.equals(PhysicType.DYNAMIC) || e1.sleeping) {
+                continue;
+            }
+            long start = e1.continuous ? System.nanoTime() : 0;
+            int count = findNeighbours(e1);
+            if (count > neighbours.length) {
+                neighbours = new Entity<?>[Math.max(count, neighbours.length * 2)];
+                count = findNeighbours(e1);
+            }
+            for (int i = 0; i < count; i++) {
+                Entity<?> e2 = neighbours[i];
+                if (e2.isEnabled() && e2.physicType.equals(PhysicType.DYNAMIC)
+                    && e1 != e2
+                    && CollisionMatrix.canCollide(e1, e2)
+                    && pairs.add(PairSet.key(e1.getId(), e2.getId()))
+                    && intersect(e1, e2)) {
+                    // the relative velocity of the pair does not depend on which entity found the other.
+                    double dvx = e1.vel.x - e2.vel.x;
+                    double dvy = e1.vel.y - e2.vel.y;
+                    if (e2.sleeping && dvx * dvx + dvy * dvy > wakeVelocity2) {
+                        e2.wake();
+                    }
+                    collide(contact);
                 }
-            });
+            }
+            if (e1.continuous) {
+                ccdTime += System.nanoTime() - start;
+            }
+        }
         metadata.put("5_colliders", getCount());
+        if (collisions.getDropped() > 0) {
+            metadata.put("5_dropped", collisions.getDropped());
+        }
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onCollisions(collisions.view());
+        }
+        if (broadPhase instanceof SweepAndPrune sap) {
+            metadata.put("5_churn", sap.getPairChurn());
+        }
+        if (ccdTests > 0) {
+            metadata.put("5_ccd", ccdTests);
+            metadata.put("5_ccd_us", ccdTime / 1000);
+        }
+    }
+
+    /**
+     * Search the neighbours of an entity: only a continuous one needs the area query on its swept move, the other
+     * ones using the entity query, e.g. the adjacency lists of the {@link SweepAndPrune}.
+     *
+     * @param e the entity to find the neighbours of.
+     * @return the number of neighbours, possibly greater than the buffer size.
+     */
+    private int findNeighbours(Entity<?> e) {
+        return e.continuous ? broadPhase.find(sweptArea(e), neighbours) : broadPhase.find(e, neighbours);
+    }
+
+    /**
+     * Test the intersection of a pair with the {@link NarrowPhase}, sweeping the move of any continuous entity if
+     * their final positions do not overlap.
+     *
+     * @param e1 the first entity.
+     * @param e2 the second entity.
+     * @return true if the pair collides, the manifold being in the <code>contact</code> record.
+     */
+    private boolean intersect(Entity<?> e1, Entity<?> e2) {
+        if (NarrowPhase.collide(e1, e2, contact)) {
+            return true;
+        }
+        if (e1.continuous) {
+            ccdTests++;
+            if (NarrowPhase.sweep(e1, e2, contact)) {
+                return true;
+            }
+        }
+        if (e2.continuous) {
+            ccdTests++;
+            return NarrowPhase.sweep(e2, e1, contact);
+        }
+        return false;
     }
 
     /**
-     * Create the CollisionEvent fo this detected collision.
+     * Compute the area covered by the entity on its move since the previous update.
      *
-     * @param e2 the targeted entity by the collision
-     * @param e1 the source of the collision.
+     * @param e the continuous {@link Entity}.
+     * @return the reusable swept area.
      */
-    private void collide(Entity<?> e1, Entity<?> e2) {
-        CollisionEvent ce = new CollisionEvent(e1, e2);
+    private Rectangle2D sweptArea(Entity<?> e) {
+        double x0 = Math.min(e.oldPos.x, e.x), y0 = Math.min(e.oldPos.y, e.y);
+        swept.setRect(x0, y0,
+            Math.max(e.oldPos.x, e.x) - x0 + e.width,
+            Math.max(e.oldPos.y, e.y) - y0 + e.height);
+        return swept;
+    }
+
+    /**
+     * Record the detected collision into the events buffer, and present it to both entities.
+     *
+     * @param manifold the contact manifold computed by the {@link NarrowPhase}.
+     */
+    private void collide(CollisionEvent manifold) {
+        CollisionEvent ce = collisions.next().set(manifold, time);
+        Entity<?> e1 = ce.getEntity1();
+        Entity<?> e2 = ce.getEntity2();
         if (application.isDebugAtLeast(6) && (e1.getName().equals("player") || e2.getName().equals("player"))) {
             System.out.printf(">> <?> collision between %s and %s%n", e1.getName(), e2.getName());
         }
-        collisions.add(ce);
-        collisionResponse(ce);
+        if (e1.isInterestedIn(e2) || e2.isInterestedIn(e1)) {
+            boolean responded = collisionResponse(ce);
+            responded |= collisionResponse(ce.swap());
+            // keep the recorded event in the e1 to e2 order.
+            ce.swap();
+            ce.responded = responded;
+        }
     }
 
     /**
      * Call the response {@link CollisionResponseBehavior}'s {@link CollisionEvent}
      *
      * @param ce the {@link CollisionEvent} to be processed.
+     * @return true if at least one responder processed the event.
      */
-    private void collisionResponse(CollisionEvent ce) {
-        ce.getEntity1().behaviors
-            .forEach(
-                crb -> {
-                    try {
-                        if (((CollisionResponseBehavior) crb).filter(ce)) {
-                            ((CollisionResponseBehavior) crb).response(ce);
-                        }
-                    } catch (Exception e) {
-                        // nothing
-                    }
-                });
+    private boolean collisionResponse(CollisionEvent ce) {
+        boolean responded = false;
+        Entity<?> other = ce.getEntity2();
+        for (CollisionResponseBehavior crb : ce.getEntity1().getResponders()) {
+            if (crb.accept(other) && crb.filter(ce)) {
+                crb.response(ce);
+                responded = true;
+            }
+        }
+        return responded;
     }
 
+    /**
+     * Retrieve the collisions of the current update.
+     *
+     * @return a read-only view on the pooled {@link CollisionEvent}'s, valid until the next {@link CollisionDetection#reset()}.
+     */
     public List<CollisionEvent> getCollisions() {
-        return this.collisions;
+        return this.collisions.view();
     }
 
     public int getCount() {
         return collisions.size();
     }
 
+    /**
+     * Add a listener to be notified with all the collisions at the end of each update.
+     *
+     * @param listener the {@link CollisionListener} to be added.
+     * @return this {@link CollisionDetection} system.
+     */
+    public CollisionDetection addListener(CollisionListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public CollisionDetection removeListener(CollisionListener listener) {
+        listeners.remove(listener);
+        return this;
+    }
+
     public void reset() {
         collisions.clear();
     }
@@ -143,5 +358,6 @@ public class CollisionDetection implements GSystem {
     @Override
     public void dispose() {
         collisions.clear();
+        listeners.clear();
     }
 }
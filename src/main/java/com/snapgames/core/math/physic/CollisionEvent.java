@@ -2,13 +2,70 @@ package com.snapgames.core.math.physic;
 
 import com.snapgames.core.entity.Entity;
 
+/**
+ * The {@link CollisionEvent} is the record of a collision between two {@link Entity}'s: the entities and their ids,
+ * the contact manifold computed by the {@link NarrowPhase} (penetration depth, collision normal from entity1 to
+ * entity2 and up to 2 contact points) and the contact time.
+ * <p>
+ * The events created by the {@link CollisionDetection} are records from a {@link CollisionEventBuffer}, reused from
+ * one update to the next: they must not be kept after the update they were raised in.
+ *
+ * @author Frédéric Delorme
+ * @see CollisionEventBuffer
+ * @since 1.0.4
+ */
 public class CollisionEvent {
-    private final Entity<?> entity1;
-    private final Entity<?> entity2;
+    private Entity<?> entity1;
+    private Entity<?> entity2;
+    private int id1, id2;
+    double depth;
+    double normalX, normalY;
+    int contactCount;
+    double contactX1, contactY1, contactX2, contactY2;
+    private double time;
+    boolean responded;
+
+    CollisionEvent() {
+    }
 
     public CollisionEvent(Entity<?> e1, Entity<?> e2) {
-        entity1 = e1;
-        entity2 = e2;
+        setEntities(e1, e2);
+    }
+
+    void setEntities(Entity<?> e1, Entity<?> e2) {
+        this.entity1 = e1;
+        this.entity2 = e2;
+        this.id1 = e1.getId();
+        this.id2 = e2.getId();
+    }
+
+    /**
+     * Fill this record with a copy of another one, and the contact time.
+     */
+    CollisionEvent set(CollisionEvent ce, double time) {
+        this.entity1 = ce.entity1;
+        this.entity2 = ce.entity2;
+        this.id1 = ce.id1;
+        this.id2 = ce.id2;
+        this.depth = ce.depth;
+        this.normalX = ce.normalX;
+        this.normalY = ce.normalY;
+        this.contactCount = ce.contactCount;
+        this.contactX1 = ce.contactX1;
+        this.contactY1 = ce.contactY1;
+        this.contactX2 = ce.contactX2;
+        this.contactY2 = ce.contactY2;
+        this.time = time;
+        this.responded = false;
+        return this;
+    }
+
+    /**
+     * Release the entity references of this record.
+     */
+    void clear() {
+        entity1 = null;
+        entity2 = null;
     }
 
     public Entity<?> getEntity1() {
@@ -18,4 +75,94 @@ public class CollisionEvent {
     public Entity<?> getEntity2() {
         return entity2;
     }
+
+    public int getId1() {
+        return id1;
+    }
+
+    public int getId2() {
+        return id2;
+    }
+
+    /**
+     * Penetration depth of the two entities, along the normal.
+     *
+     * @return the depth of the overlap.
+     */
+    public double getDepth() {
+        return depth;
+    }
+
+    public double getNormalX() {
+        return normalX;
+    }
+
+    public double getNormalY() {
+        return normalY;
+    }
+
+    /**
+     * Number of contact points of the manifold: 1 for a circle, 2 for an edge between two boxes.
+     *
+     * @return the number of contact points.
+     */
+    public int getContactCount() {
+        return contactCount;
+    }
+
+    /**
+     * Horizontal position of a contact point.
+     *
+     * @param i the contact point index (0 or 1).
+     * @return the x position of the contact point.
+     */
+    public double getContactX(int i) {
+        return i == 0 ? contactX1 : contactX2;
+    }
+
+    /**
+     * Vertical position of a contact point.
+     *
+     * @param i the contact point index (0 or 1).
+     * @return the y position of the contact point.
+     */
+    public double getContactY(int i) {
+        return i == 0 ? contactY1 : contactY2;
+    }
+
+    /**
+     * Simulation time of the contact, as accumulated by the {@link CollisionDetection}.
+     *
+     * @return the contact time.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Tell if a {@link com.snapgames.core.behavior.CollisionResponseBehavior} of one of the entities has already
+     * answered this collision.
+     *
+     * @return true if the collision was processed by a responder.
+     */
+    public boolean isResponded() {
+        return responded;
+    }
+
+    /**
+     * Exchange the roles of the two entities, to present the same event to the other entity of the pair.
+     *
+     * @return this {@link CollisionEvent}.
+     */
+    CollisionEvent swap() {
+        Entity<?> e = entity1;
+        entity1 = entity2;
+        entity2 = e;
+        int id = id1;
+        id1 = id2;
+        id2 = id;
+        normalX = -normalX;
+        normalY = -normalY;
+        return this;
+    }
 }
@@ -0,0 +1,147 @@
+package com.snapgames.core.math.physic;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A bounded ring buffer of preallocated {@link CollisionEvent} records, reused from one update to the next.
+ * <p>
+ * When more events than its capacity are raised during one update, the {@link OverflowPolicy} decides what happens:
+ * <ul>
+ *     <li>{@link OverflowPolicy#DROP} the new events are not recorded (but still responded to),</li>
+ *     <li>{@link OverflowPolicy#OVERWRITE} the new events overwrite the oldest ones,</li>
+ *     <li>{@link OverflowPolicy#GROW} the buffer capacity is doubled.</li>
+ * </ul>
+ * The events are exposed through a read-only {@link List} view.
+ *
+ * <pre>
+ * app.physic.collision.events.capacity=1024
+ * app.physic.collision.events.overflow=drop
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see CollisionDetection
+ * @since 1.0.5
+ */
+public class CollisionEventBuffer {
+
+    /**
+     * What to do with the events raised when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        DROP,
+        OVERWRITE,
+        GROW
+    }
+
+    private CollisionEvent[] events;
+    private final OverflowPolicy policy;
+    private int head;
+    private int size;
+    private int dropped;
+    private final CollisionEvent scratch = new CollisionEvent();
+
+    private final List<CollisionEvent> view = new AbstractList<>() {
+        @Override
+        public CollisionEvent get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return events[(head + index) % events.length];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+
+    public CollisionEventBuffer(int capacity, OverflowPolicy policy) {
+        this.events = new CollisionEvent[Math.max(1, capacity)];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new CollisionEvent();
+        }
+        this.policy = policy;
+    }
+
+    /**
+     * Get the next record to be filled. With the {@link OverflowPolicy#DROP} policy and a full buffer, a scratch
+     * record is returned, which is not part of the buffer.
+     *
+     * @return the {@link CollisionEvent} record to be filled.
+     */
+    public CollisionEvent next() {
+        if (size == events.length) {
+            switch (policy) {
+                case DROP -> {
+                    dropped++;
+                    return scratch;
+                }
+                case OVERWRITE -> {
+                    CollisionEvent ce = events[head];
+                    head = (head + 1) % events.length;
+                    dropped++;
+                    return ce;
+                }
+                case GROW -> grow();
+            }
+        }
+        return events[(head + size++) % events.length];
+    }
+
+    private void grow() {
+        CollisionEvent[] bigger = new CollisionEvent[events.length * 2];
+        for (int i = 0; i < size; i++) {
+            bigger[i] = events[(head + i) % events.length];
+        }
+        for (int i = size; i < bigger.length; i++) {
+            bigger[i] = new CollisionEvent();
+        }
+        events = bigger;
+        head = 0;
+    }
+
+    /**
+     * Empty the buffer, keeping all the records for the next update.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            events[(head + i) % events.length].clear();
+        }
+        scratch.clear();
+        head = 0;
+        size = 0;
+        dropped = 0;
+    }
+
+    /**
+     * A read-only view on the recorded events, from the oldest to the newest.
+     *
+     * @return the list of events.
+     */
+    public List<CollisionEvent> view() {
+        return view;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return events.length;
+    }
+
+    /**
+     * Number of events dropped or overwritten since the last clear.
+     *
+     * @return the number of lost events.
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+}
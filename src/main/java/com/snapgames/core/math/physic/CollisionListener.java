@@ -0,0 +1,21 @@
+package com.snapgames.core.math.physic;
+
+import java.util.List;
+
+/**
+ * A {@link CollisionListener} is notified by the {@link CollisionDetection} at the end of each update with all the
+ * {@link CollisionEvent}'s raised during this update.
+ *
+ * @author Frédéric Delorme
+ * @see CollisionDetection#addListener(CollisionListener)
+ * @since 1.0.5
+ */
+@FunctionalInterface
+public interface CollisionListener {
+    /**
+     * Process the collisions of the update.
+     *
+     * @param events a read-only view on the events, only valid during this call.
+     */
+    void onCollisions(List<CollisionEvent> events);
+}
@@ -0,0 +1,142 @@
+package com.snapgames.core.math.physic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.snapgames.core.entity.Entity;
+
+/**
+ * The {@link CollisionMatrix} defines which categories of {@link Entity}'s may collide with each other.
+ * <p>
+ * Each category is one bit of an <code>int</code>: an {@link Entity} carries its category bit and the mask of the
+ * categories it collides with, and a pair is only processed if each entity's category is in the other's mask
+ * (see {@link CollisionMatrix#canCollide(Entity, Entity)}). The pairs are then rejected with two bitwise ANDs,
+ * before any intersection test or event creation.
+ * <p>
+ * The matrix is defined with the <code>app.physic.collision.matrix</code> configuration key, as a list of
+ * <code>category:other1,other2</code> entries separated by <code>;</code>. The matrix is symmetric: if a category
+ * collides with another one, the other one collides with it. The <code>default</code> category (bit 0) is the one
+ * of any {@link Entity} not assigned to a category, colliding with every category accepting it:
+ *
+ * <pre>
+ * app.physic.collision.matrix=player:default,ball,rain;rain:water;area:
+ * </pre>
+ * <p>
+ * Here, an entity of the <code>area</code> category never collides.
+ *
+ * @author Frédéric Delorme
+ * @see CollisionDetection
+ * @since 1.0.5
+ */
+public class CollisionMatrix {
+
+    /**
+     * Name of the category of the entities not assigned to any category.
+     */
+    public static final String DEFAULT = "default";
+    private static final int MAX_CATEGORIES = 32;
+
+    private final List<String> names = new ArrayList<>();
+    private final int[] masks = new int[MAX_CATEGORIES];
+
+    /**
+     * Create a {@link CollisionMatrix} from its definition.
+     *
+     * @param definition the matrix, as defined by the <code>app.physic.collision.matrix</code> configuration key.
+     */
+    public CollisionMatrix(String definition) {
+        names.add(DEFAULT);
+        boolean explicitDefault = false;
+        if (definition != null && !definition.isBlank()) {
+            for (String entry : definition.split(";")) {
+                explicitDefault |= parse(entry);
+            }
+        }
+        // without its own entry, the default category accepts any category.
+        if (!explicitDefault) {
+            masks[0] = -1;
+        }
+    }
+
+    private boolean parse(String entry) {
+        String[] parts = entry.split(":", 2);
+        int category = declare(parts[0].trim());
+        if (category < 0) {
+            return false;
+        }
+        if (parts.length > 1) {
+            for (String other : parts[1].split(",")) {
+                int o = other.isBlank() ? -1 : declare(other.trim());
+                if (o >= 0) {
+                    masks[category] |= 1 << o;
+                    masks[o] |= 1 << category;
+                }
+            }
+        }
+        return category == 0;
+    }
+
+    private int declare(String name) {
+        int index = names.indexOf(name);
+        if (index == -1) {
+            if (names.size() == MAX_CATEGORIES) {
+                System.out.printf(">> <!> CollisionMatrix: no more than %d categories, '%s' is ignored%n",
+                    MAX_CATEGORIES, name);
+                return -1;
+            }
+            names.add(name);
+            index = names.size() - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Test if two entities may collide, according to their category and mask.
+     *
+     * @param e1 the first entity.
+     * @param e2 the second entity.
+     * @return true if each entity's category is accepted by the other's mask.
+     */
+    public static boolean canCollide(Entity<?> e1, Entity<?> e2) {
+        return (e1.collisionCategory & e2.collisionMask) != 0 && (e2.collisionCategory & e1.collisionMask) != 0;
+    }
+
+    /**
+     * Assign an {@link Entity} to a category, setting its category bit and its mask.
+     *
+     * @param e        the entity to be assigned.
+     * @param category the name of the category.
+     * @return true if the category exists, else the entity is not changed.
+     */
+    public boolean apply(Entity<?> e, String category) {
+        int index = names.indexOf(category);
+        if (index == -1) {
+            System.out.printf(">> <!> CollisionMatrix: unknown category '%s' for %s%n", category, e.getName());
+            return false;
+        }
+        e.setCollisionFilter(1 << index, masks[index]);
+        return true;
+    }
+
+    /**
+     * Retrieve the bit of a category.
+     *
+     * @param category the name of the category.
+     * @return the category bit, or 0 if it does not exist.
+     */
+    public int getCategory(String category) {
+        int index = names.indexOf(category);
+        return index == -1 ? 0 : 1 << index;
+    }
+
+    /**
+     * Retrieve the mask of the categories colliding with a category.
+     *
+     * @param category the name of the category.
+     * @return the mask, or 0 if the category does not exist.
+     */
+    public int getMask(String category) {
+        int index = names.indexOf(category);
+        return index == -1 ? 0 : masks[index];
+    }
+}
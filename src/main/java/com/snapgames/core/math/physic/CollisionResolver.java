@@ -0,0 +1,199 @@
+package com.snapgames.core.math.physic;
+
+import java.util.List;
+
+import com.snapgames.core.Application;
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.math.physic.entity.Perturbation;
+import com.snapgames.core.system.GSystem;
+import com.snapgames.core.system.GSystemManager;
+
+/**
+ * The {@link CollisionResolver} separates the colliding {@link Entity}'s reported by the {@link CollisionDetection},
+ * from the contact manifold of each {@link CollisionEvent}.
+ * <p>
+ * The velocities are solved with mass-weighted impulses along the contact normal, the restitution being the lowest
+ * {@link Material} elasticity of the pair, and a friction impulse along the tangent, clamped by a friction
+ * coefficient of <code>1 - roughness</code> (a roughness of 1.0 keeps all the velocity, see {@link PhysicEngine}).
+ * All the contacts are processed in a batch, several iterations long, to let the impulses propagate through stacks
+ * of entities. The remaining overlap is then corrected by moving the entities apart, in proportion of their inverse
+ * mass. An {@link Entity} with no mass or not {@link PhysicType#DYNAMIC} is never moved, nor is a {@link Perturbation}
+ * area.
+ * <p>
+ * The {@link com.snapgames.core.behavior.CollisionResponseBehavior}'s take precedence: a contact already answered by
+ * a responder (see {@link CollisionEvent#isResponded()}) is left as is, to not be resolved twice.
+ * <p>
+ * The resolver is activated with the following configuration:
+ *
+ * <pre>
+ * app.physic.resolver=true
+ * app.physic.resolver.iterations=4
+ * app.physic.resolver.correction=0.8
+ * app.physic.resolver.slop=0.01
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see CollisionDetection
+ * @see NarrowPhase
+ * @since 1.0.5
+ */
+public class CollisionResolver implements GSystem, CollisionListener {
+
+    private int iterations = 4;
+    private double correction = 0.8;
+    private double slop = 0.01;
+    private int resolved;
+
+    public CollisionResolver() {
+    }
+
+    public CollisionResolver(Application app) {
+        this.iterations = app.getConfiguration().resolverIterations;
+        this.correction = app.getConfiguration().resolverCorrection;
+        this.slop = app.getConfiguration().resolverSlop;
+    }
+
+    public CollisionResolver setIterations(int iterations) {
+        this.iterations = iterations;
+        return this;
+    }
+
+    @Override
+    public void onCollisions(List<CollisionEvent> events) {
+        resolve(events);
+    }
+
+    /**
+     * Resolve the velocities, then the positions, of all the colliding pairs.
+     *
+     * @param events the {@link CollisionEvent}'s of the current update.
+     */
+    public void resolve(List<CollisionEvent> events) {
+        resolved = 0;
+        int n = events.size();
+        for (int it = 0; it < iterations; it++) {
+            for (int i = 0; i < n; i++) {
+                if (applyImpulse(events.get(i)) && it == 0) {
+                    resolved++;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            correctPosition(events.get(i));
+        }
+    }
+
+    private boolean applyImpulse(CollisionEvent ce) {
+        if (ce.isResponded()) {
+            return false;
+        }
+        Entity<?> a = ce.getEntity1();
+        Entity<?> b = ce.getEntity2();
+        double invA = inverseMass(a), invB = inverseMass(b);
+        double invSum = invA + invB;
+        if (invSum == 0.0) {
+            return false;
+        }
+        double nx = ce.getNormalX(), ny = ce.getNormalY();
+        double rvx = b.vel.x - a.vel.x;
+        double rvy = b.vel.y - a.vel.y;
+        double vn = rvx * nx + rvy * ny;
+        // already separating.
+        if (vn > 0) {
+            return false;
+        }
+        double e = Math.min(elasticity(a), elasticity(b));
+        double j = -(1.0 + e) * vn / invSum;
+        double avx = a.vel.x - j * invA * nx, avy = a.vel.y - j * invA * ny;
+        double bvx = b.vel.x + j * invB * nx, bvy = b.vel.y + j * invB * ny;
+
+        // friction along the tangent of the contact.
+        rvx = bvx - avx;
+        rvy = bvy - avy;
+        vn = rvx * nx + rvy * ny;
+        double tx = rvx - vn * nx, ty = rvy - vn * ny;
+        double tl = Math.sqrt(tx * tx + ty * ty);
+        if (tl > 1e-9) {
+            tx /= tl;
+            ty /= tl;
+            double mu = 1.0 - Math.min(roughness(a), roughness(b));
+            double jt = -(rvx * tx + rvy * ty) / invSum;
+            jt = Math.max(-j * mu, Math.min(j * mu, jt));
+            avx -= jt * invA * tx;
+            avy -= jt * invA * ty;
+            bvx += jt * invB * tx;
+            bvy += jt * invB * ty;
+        }
+        if (invA > 0) {
+            a.setSpeed(avx, avy);
+        }
+        if (invB > 0) {
+            b.setSpeed(bvx, bvy);
+        }
+        return true;
+    }
+
+    private void correctPosition(CollisionEvent ce) {
+        if (ce.isResponded()) {
+            return;
+        }
+        Entity<?> a = ce.getEntity1();
+        Entity<?> b = ce.getEntity2();
+        double invA = inverseMass(a), invB = inverseMass(b);
+        double invSum = invA + invB;
+        double depth = ce.getDepth() - slop;
+        if (invSum == 0.0 || depth <= 0.0) {
+            return;
+        }
+        double k = depth / invSum * correction;
+        double cx = ce.getNormalX() * k, cy = ce.getNormalY() * k;
+        if (invA > 0) {
+            a.translate(-cx * invA, -cy * invA);
+        }
+        if (invB > 0) {
+            b.translate(cx * invB, cy * invB);
+        }
+    }
+
+    private static double inverseMass(Entity<?> e) {
+        // a sleeping entity still touched after the contact wake-up is a resting support, and a perturbation a
+        // static region.
+        return e.physicType == PhysicType.DYNAMIC && !e.sleeping && e.mass > 0 && !(e instanceof Perturbation)
+            ? 1.0 / e.mass : 0.0;
+    }
+
+    private static double elasticity(Entity<?> e) {
+        return e.getMaterial() != null ? e.getMaterial().getElasticity() : 0.0;
+    }
+
+    private static double roughness(Entity<?> e) {
+        return e.getMaterial() != null ? e.getMaterial().getRoughness() : 1.0;
+    }
+
+    /**
+     * Number of pairs whose velocities were resolved on the last update.
+     *
+     * @return the number of resolved contacts.
+     */
+    public int getResolvedCount() {
+        return resolved;
+    }
+
+    @Override
+    public Class<? extends GSystem> getSystemName() {
+        return CollisionResolver.class;
+    }
+
+    @Override
+    public void initialize(Application app) {
+        if (app.getConfiguration().resolverEnabled) {
+            CollisionDetection cd = GSystemManager.find(CollisionDetection.class);
+            cd.addListener(this);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // nothing to release.
+    }
+}
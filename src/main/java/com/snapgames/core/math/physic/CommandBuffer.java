@@ -0,0 +1,107 @@
+package com.snapgames.core.math.physic;
+
+import java.util.Arrays;
+
+import com.snapgames.core.entity.Entity;
+
+/**
+ * The {@link CommandBuffer} collects the operations on shared state (scene content, other entities, behavior
+ * fields...) requested by {@link com.snapgames.core.behavior.Behavior}'s while the {@link PhysicEngine} processes
+ * entities in parallel.
+ * <p>
+ * Each chunk of entities processed by a thread owns its buffer; once all the chunks are done, the buffers are
+ * replayed in chunk order on the update thread, so the result is the same whatever the threads scheduling.
+ * <p>
+ * When no buffer is bound to the current thread (sequential processing), a deferred command is executed
+ * immediately.
+ * <p>
+ * Commands are kept as (command, entity, value) triplets so that a behavior can defer its work without any
+ * allocation, by keeping its {@link Command} instance into a field:
+ *
+ * <pre>
+ * private final CommandBuffer.Command spawn = (e, elapsed) -&gt; { ... };
+ *
+ * public void update(Entity&lt;?&gt; e, double elapsed) {
+ *     CommandBuffer.defer(spawn, e, elapsed);
+ * }
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class CommandBuffer {
+
+    /**
+     * A deferred operation on an {@link Entity}.
+     */
+    @FunctionalInterface
+    public interface Command {
+        void execute(Entity<?> e, double value);
+    }
+
+    private static final ThreadLocal<CommandBuffer> CURRENT = new ThreadLocal<>();
+
+    private Command[] commands = new Command[16];
+    private Entity<?>[] entities = new Entity<?>[16];
+    private double[] values = new double[16];
+    private int size;
+
+    /**
+     * Defer the command c on the e {@link Entity} into the buffer bound to the current thread, or execute it right
+     * now if there is none.
+     *
+     * @param c     the command to be executed.
+     * @param e     the {@link Entity} the command applies on.
+     * @param value a value given to the command (usually the elapsed time).
+     */
+    public static void defer(Command c, Entity<?> e, double value) {
+        CommandBuffer b = CURRENT.get();
+        if (b == null) {
+            c.execute(e, value);
+        } else {
+            b.add(c, e, value);
+        }
+    }
+
+    private void add(Command c, Entity<?> e, double value) {
+        if (size == commands.length) {
+            commands = Arrays.copyOf(commands, size * 2);
+            entities = Arrays.copyOf(entities, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        commands[size] = c;
+        entities[size] = e;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * Bind this buffer to the current thread: following deferred commands are recorded into it.
+     */
+    void bind() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * Unbind this buffer from the current thread.
+     */
+    void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Execute all the recorded commands, in order, and empty the buffer.
+     */
+    void replay() {
+        for (int i = 0; i < size; i++) {
+            commands[i].execute(entities[i], values[i]);
+            commands[i] = null;
+            entities[i] = null;
+        }
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
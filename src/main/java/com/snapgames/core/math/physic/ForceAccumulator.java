@@ -0,0 +1,116 @@
+package com.snapgames.core.math.physic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.math.Vector2D;
+
+/**
+ * The {@link ForceAccumulator} sums all the forces applied on an {@link Entity} during one update, into
+ * primitive fields, without keeping any {@link Vector2D}.
+ * <p>
+ * Two sums are maintained:
+ * <ul>
+ * <li><code>fx</code>, <code>fy</code> for the continuous forces (gravity, perturbations, behaviors, inputs),
+ * turned into acceleration by the {@link PhysicEngine},</li>
+ * <li><code>ix</code>, <code>iy</code> for the one-shot impulses, directly added to the velocity.</li>
+ * </ul>
+ * Both are reset by the {@link PhysicEngine} once the {@link Entity} has been integrated.
+ * <p>
+ * For debug purpose, each contributor can be recorded (source name and value), to be displayed by the
+ * {@link Entity#getDebugInfo()} overlay. This is activated with the configuration entry:
+ *
+ * <pre>
+ * app.physic.debug.forces=true
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+public class ForceAccumulator {
+
+    public double fx, fy;
+    public double ix, iy;
+
+    private boolean debug;
+    private List<String> contributors = new ArrayList<>();
+    private List<String> lastContributors = new ArrayList<>();
+
+    /**
+     * Add a continuous force (fx,fy).
+     *
+     * @param source name of the contributor, only used in debug mode.
+     * @param fx     horizontal force value
+     * @param fy     vertical force value
+     * @return this updated {@link ForceAccumulator}.
+     */
+    public ForceAccumulator add(String source, double fx, double fy) {
+        this.fx += fx;
+        this.fy += fy;
+        if (debug) {
+            contributors.add(String.format("%s:(%.03f,%.03f)", source, fx, fy));
+        }
+        return this;
+    }
+
+    /**
+     * Add a one-shot impulse (ix,iy).
+     *
+     * @param source name of the contributor, only used in debug mode.
+     * @param ix     horizontal impulse value
+     * @param iy     vertical impulse value
+     * @return this updated {@link ForceAccumulator}.
+     */
+    public ForceAccumulator addImpulse(String source, double ix, double iy) {
+        this.ix += ix;
+        this.iy += iy;
+        if (debug) {
+            contributors.add(String.format("%s!:(%.03f,%.03f)", source, ix, iy));
+        }
+        return this;
+    }
+
+    /**
+     * Reset forces and impulses. In debug mode, the recorded contributors are kept as the last ones.
+     *
+     * @return this updated {@link ForceAccumulator}.
+     */
+    public ForceAccumulator clear() {
+        fx = 0.0;
+        fy = 0.0;
+        ix = 0.0;
+        iy = 0.0;
+        if (debug) {
+            List<String> l = lastContributors;
+            lastContributors = contributors;
+            contributors = l;
+            contributors.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Activate the recording of the contributors.
+     *
+     * @param d true to record each contributor.
+     * @return this updated {@link ForceAccumulator}.
+     */
+    public ForceAccumulator setDebug(boolean d) {
+        this.debug = d;
+        return this;
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Retrieve the contributors recorded before the last reset.
+     *
+     * @return a list of contributors, empty if the debug mode is off.
+     */
+    public List<String> getContributors() {
+        return lastContributors;
+    }
+}
@@ -0,0 +1,237 @@
+package com.snapgames.core.math.physic;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.entity.GameObjectType;
+
+/**
+ * The {@link NarrowPhase} computes the contact manifold of two {@link Entity}'s reported by the {@link BroadPhase}:
+ * the collision normal (from the first entity to the second one), the penetration depth and up to 2 contact points.
+ * <p>
+ * A {@link GameObject} of type {@link GameObjectType#TYPE_ELLIPSE} is processed as a circle (its radius being half
+ * of its smallest side), any other {@link Entity} as an axis-aligned bounding box. The AABB-AABB, circle-circle and
+ * AABB-circle cases are supported.
+ * <p>
+ * The manifold is written into the primitive fields of a {@link CollisionEvent}, without any allocation.
+ * <p>
+ * For the entities having the continuous collision mode (see {@link Entity#setContinuous(boolean)}),
+ * {@link NarrowPhase#sweep(Entity, Entity, CollisionEvent)} tests the whole move of the last update instead of the
+ * final position only.
+ *
+ * @author Frédéric Delorme
+ * @see CollisionDetection
+ * @see CollisionEvent
+ * @since 1.0.5
+ */
+public class NarrowPhase {
+
+    private NarrowPhase() {
+    }
+
+    /**
+     * Test if the {@link Entity} is processed as a circle.
+     *
+     * @param e the entity to be tested.
+     * @return true for a {@link GameObjectType#TYPE_ELLIPSE} {@link GameObject}.
+     */
+    public static boolean isCircle(Entity<?> e) {
+        return e instanceof GameObject go && go.type == GameObjectType.TYPE_ELLIPSE;
+    }
+
+    /**
+     * Compute the contact manifold between two entities.
+     *
+     * @param e1  the first entity.
+     * @param e2  the second entity.
+     * @param out the {@link CollisionEvent} receiving the entities and the manifold.
+     * @return true if the two entities are colliding.
+     */
+    public static boolean collide(Entity<?> e1, Entity<?> e2, CollisionEvent out) {
+        boolean c1 = isCircle(e1);
+        boolean c2 = isCircle(e2);
+        boolean hit;
+        if (c1 && c2) {
+            hit = circleCircle(e1, e2, out);
+        } else if (!c1 && !c2) {
+            hit = aabbAabb(e1, e2, out);
+        } else if (c2) {
+            hit = aabbCircle(e1, e2, out);
+        } else {
+            hit = aabbCircle(e2, e1, out);
+            // the normal was computed from e2 to e1.
+            out.normalX = -out.normalX;
+            out.normalY = -out.normalY;
+        }
+        if (hit) {
+            out.setEntities(e1, e2);
+        }
+        return hit;
+    }
+
+    static boolean aabbAabb(Entity<?> a, Entity<?> b, CollisionEvent out) {
+        double ox0 = Math.max(a.x, b.x);
+        double ox1 = Math.min(a.x + a.width, b.x + b.width);
+        double oy0 = Math.max(a.y, b.y);
+        double oy1 = Math.min(a.y + a.height, b.y + b.height);
+        double overlapX = ox1 - ox0;
+        double overlapY = oy1 - oy0;
+        if (overlapX <= 0 || overlapY <= 0) {
+            return false;
+        }
+        if (overlapX < overlapY) {
+            out.normalX = b.getCenterX() < a.getCenterX() ? -1.0 : 1.0;
+            out.normalY = 0.0;
+            out.depth = overlapX;
+            double cx = (ox0 + ox1) * 0.5;
+            setContacts(out, cx, oy0, cx, oy1);
+        } else {
+            out.normalX = 0.0;
+            out.normalY = b.getCenterY() < a.getCenterY() ? -1.0 : 1.0;
+            out.depth = overlapY;
+            double cy = (oy0 + oy1) * 0.5;
+            setContacts(out, ox0, cy, ox1, cy);
+        }
+        return true;
+    }
+
+    static boolean circleCircle(Entity<?> a, Entity<?> b, CollisionEvent out) {
+        double r1 = radius(a), r2 = radius(b);
+        double dx = b.getCenterX() - a.getCenterX();
+        double dy = b.getCenterY() - a.getCenterY();
+        double r = r1 + r2;
+        double d2 = dx * dx + dy * dy;
+        if (d2 >= r * r) {
+            return false;
+        }
+        double d = Math.sqrt(d2);
+        if (d == 0.0) {
+            out.normalX = 1.0;
+            out.normalY = 0.0;
+            out.depth = r;
+        } else {
+            out.normalX = dx / d;
+            out.normalY = dy / d;
+            out.depth = r - d;
+        }
+        // the contact point is in the middle of the overlapping area.
+        double k = r1 - out.depth * 0.5;
+        out.contactCount = 1;
+        out.contactX1 = a.getCenterX() + out.normalX * k;
+        out.contactY1 = a.getCenterY() + out.normalY * k;
+        return true;
+    }
+
+    /**
+     * AABB <code>a</code> against circle <code>b</code>, the normal going from the box to the circle.
+     */
+    static boolean aabbCircle(Entity<?> a, Entity<?> b, CollisionEvent out) {
+        double r = radius(b);
+        double cx = b.getCenterX(), cy = b.getCenterY();
+        double px = Math.max(a.x, Math.min(cx, a.x + a.width));
+        double py = Math.max(a.y, Math.min(cy, a.y + a.height));
+        double dx = cx - px, dy = cy - py;
+        double d2 = dx * dx + dy * dy;
+        if (d2 >= r * r) {
+            return false;
+        }
+        if (d2 > 0.0) {
+            double d = Math.sqrt(d2);
+            out.normalX = dx / d;
+            out.normalY = dy / d;
+            out.depth = r - d;
+        } else {
+            // the circle center is inside the box: push out through the nearest side.
+            double left = cx - a.x, right = a.x + a.width - cx;
+            double top = cy - a.y, bottom = a.y + a.height - cy;
+            double min = Math.min(Math.min(left, right), Math.min(top, bottom));
+            out.normalX = min == left ? -1.0 : min == right ? 1.0 : 0.0;
+            out.normalY = out.normalX != 0.0 ? 0.0 : min == top ? -1.0 : 1.0;
+            out.depth = r + min;
+            px = cx + out.normalX * min;
+            py = cy + out.normalY * min;
+        }
+        out.contactCount = 1;
+        out.contactX1 = px;
+        out.contactY1 = py;
+        return true;
+    }
+
+    /**
+     * Sweep the bounding box of <code>e1</code> from its old position to its current one against the bounding box of
+     * <code>e2</code>, considered as fixed at its current position. This catches the small and fast entities going
+     * through a thin one within a single update, the so-called tunneling.
+     * <p>
+     * On a hit, the normal is the one of the face of <code>e2</code> first touched (going from e1 to e2), the depth is
+     * the remaining motion beyond this face, and the contact point is on the face, at the time of impact.
+     *
+     * @param e1  the moving entity.
+     * @param e2  the entity to be tested against.
+     * @param out the {@link CollisionEvent} receiving the entities and the manifold.
+     * @return true if <code>e1</code> hits <code>e2</code> during its last move.
+     */
+    public static boolean sweep(Entity<?> e1, Entity<?> e2, CollisionEvent out) {
+        double ox = e1.oldPos.x, oy = e1.oldPos.y;
+        double dx = e1.x - ox, dy = e1.y - oy;
+        // a ray from the e1 old top-left corner against e2 expanded by the e1 size.
+        double minX = e2.x - e1.width, maxX = e2.x + e2.width;
+        double minY = e2.y - e1.height, maxY = e2.y + e2.height;
+        double enterX, exitX, enterY, exitY;
+        if (dx == 0.0) {
+            if (ox <= minX || ox >= maxX) {
+                return false;
+            }
+            enterX = Double.NEGATIVE_INFINITY;
+            exitX = Double.POSITIVE_INFINITY;
+        } else {
+            double t1 = (minX - ox) / dx, t2 = (maxX - ox) / dx;
+            enterX = Math.min(t1, t2);
+            exitX = Math.max(t1, t2);
+        }
+        if (dy == 0.0) {
+            if (oy <= minY || oy >= maxY) {
+                return false;
+            }
+            enterY = Double.NEGATIVE_INFINITY;
+            exitY = Double.POSITIVE_INFINITY;
+        } else {
+            double t1 = (minY - oy) / dy, t2 = (maxY - oy) / dy;
+            enterY = Math.min(t1, t2);
+            exitY = Math.max(t1, t2);
+        }
+        double enter = Math.max(enterX, enterY);
+        double exit = Math.min(exitX, exitY);
+        // already overlapping at start (left to the discrete test), missed, or hit beyond this move.
+        if (enter < 0.0 || enter > exit || enter > 1.0) {
+            return false;
+        }
+        double hx = ox + dx * enter, hy = oy + dy * enter;
+        if (enterX > enterY) {
+            out.normalX = Math.signum(dx);
+            out.normalY = 0.0;
+            out.depth = (1.0 - enter) * Math.abs(dx);
+            out.contactX1 = dx > 0 ? e2.x : e2.x + e2.width;
+            out.contactY1 = Math.max(e2.y, Math.min(hy + e1.height * 0.5, e2.y + e2.height));
+        } else {
+            out.normalX = 0.0;
+            out.normalY = Math.signum(dy);
+            out.depth = (1.0 - enter) * Math.abs(dy);
+            out.contactX1 = Math.max(e2.x, Math.min(hx + e1.width * 0.5, e2.x + e2.width));
+            out.contactY1 = dy > 0 ? e2.y : e2.y + e2.height;
+        }
+        out.contactCount = 1;
+        out.setEntities(e1, e2);
+        return true;
+    }
+
+    private static void setContacts(CollisionEvent out, double x1, double y1, double x2, double y2) {
+        out.contactX1 = x1;
+        out.contactY1 = y1;
+        out.contactX2 = x2;
+        out.contactY2 = y2;
+        out.contactCount = (x1 == x2 && y1 == y2) ? 1 : 2;
+    }
+
+    private static double radius(Entity<?> e) {
+        return Math.min(e.width, e.height) * 0.5;
+    }
+}
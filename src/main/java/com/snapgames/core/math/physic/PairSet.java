@@ -0,0 +1,97 @@
+package com.snapgames.core.math.physic;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing set of unordered entity pairs, keyed by the ids of the two {@link com.snapgames.core.entity.Entity}'s.
+ * <p>
+ * It is used by the {@link CollisionDetection} to process each pair only once per update, whatever the number of
+ * times the {@link BroadPhase} reports it. Clearing the set is done by changing its stamp, without touching the
+ * arrays.
+ *
+ * @author Frédéric Delorme
+ * @since 1.0.5
+ */
+class PairSet {
+    private long[] keys;
+    private int[] stamps;
+    private int mask;
+    private int size;
+    private int stamp = 1;
+
+    PairSet(int capacity) {
+        int c = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+        keys = new long[c];
+        stamps = new int[c];
+        mask = c - 1;
+    }
+
+    /**
+     * Build the key of an unordered pair.
+     *
+     * @param id1 the id of the first entity.
+     * @param id2 the id of the second entity.
+     * @return the same key whatever the order of the ids.
+     */
+    static long key(int id1, int id2) {
+        int lo = Math.min(id1, id2);
+        int hi = Math.max(id1, id2);
+        return ((long) lo << 32) | (hi & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Add a pair to the set.
+     *
+     * @param key the pair key (see {@link PairSet#key(int, int)}).
+     * @return true if the pair was not already in the set.
+     */
+    boolean add(long key) {
+        if (size * 2 >= keys.length) {
+            grow();
+        }
+        int i = hash(key) & mask;
+        while (stamps[i] == stamp) {
+            if (keys[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        stamps[i] = stamp;
+        size++;
+        return true;
+    }
+
+    void clear() {
+        size = 0;
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldStamps = stamps;
+        int oldStamp = stamp;
+        keys = new long[oldKeys.length * 2];
+        stamps = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        stamp = 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStamps[i] == oldStamp) {
+                add(oldKeys[i]);
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
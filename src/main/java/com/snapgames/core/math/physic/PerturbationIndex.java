@@ -0,0 +1,171 @@
+package com.snapgames.core.math.physic;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.math.physic.entity.Perturbation;
+
+/**
+ * A static spatial index of the {@link World} {@link Perturbation}'s, used by the {@link PhysicEngine} to retrieve
+ * the perturbations overlapping an {@link Entity}.
+ * <p>
+ * The edges of all the perturbations split the play area into an irregular grid of regions, each perturbation
+ * covering a range of whole regions. The range of regions covered by an {@link Entity} is its key: the perturbations
+ * of the entity are cached into its {@link Cache}, and only searched again when this key changes, i.e. when the
+ * entity crosses a region boundary.
+ * <p>
+ * The perturbations are considered as static: the index is rebuilt when the {@link World#getVersion()} changes.
+ *
+ * @author Frédéric Delorme
+ * @see PhysicEngine
+ * @see Perturbation
+ * @since 1.0.5
+ */
+public class PerturbationIndex {
+
+    /**
+     * The perturbations overlapping an {@link Entity}, and the key of the regions they were searched for.
+     */
+    public static final class Cache {
+        private long key = -1;
+        private int version = -1;
+        private Perturbation[] items = new Perturbation[2];
+        private int size;
+
+        public int size() {
+            return size;
+        }
+
+        public Perturbation get(int i) {
+            return items[i];
+        }
+    }
+
+    private int version = -1;
+    private Perturbation[] perturbations = new Perturbation[0];
+    private double[] xs = new double[0], ys = new double[0];
+    private int nx, ny;
+    /**
+     * Range of regions covered by each perturbation: first and last column, first and last row.
+     */
+    private int[] ranges = new int[0];
+    private int misses;
+
+    /**
+     * Rebuild the index if the {@link World} perturbations changed.
+     *
+     * @param world the {@link World} containing the perturbations.
+     */
+    public void update(World world) {
+        if (world.getVersion() == version) {
+            return;
+        }
+        version = world.getVersion();
+        Collection<Entity<?>> list = world.getPerturbations();
+        int n = list.size();
+        perturbations = new Perturbation[n];
+        xs = new double[n * 2];
+        ys = new double[n * 2];
+        int i = 0;
+        for (Entity<?> e : list) {
+            Perturbation p = (Perturbation) e;
+            perturbations[i] = p;
+            xs[i * 2] = p.x;
+            xs[i * 2 + 1] = p.x + p.width;
+            ys[i * 2] = p.y;
+            ys[i * 2 + 1] = p.y + p.height;
+            i++;
+        }
+        nx = sortUnique(xs);
+        ny = sortUnique(ys);
+        ranges = new int[n * 4];
+        for (i = 0; i < n; i++) {
+            Perturbation p = perturbations[i];
+            ranges[i * 4] = Arrays.binarySearch(xs, 0, nx, p.x);
+            ranges[i * 4 + 1] = Arrays.binarySearch(xs, 0, nx, p.x + p.width) - 1;
+            ranges[i * 4 + 2] = Arrays.binarySearch(ys, 0, ny, p.y);
+            ranges[i * 4 + 3] = Arrays.binarySearch(ys, 0, ny, p.y + p.height) - 1;
+        }
+    }
+
+    private static int sortUnique(double[] values) {
+        Arrays.sort(values);
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (n == 0 || values[i] != values[n - 1]) {
+                values[n++] = values[i];
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Retrieve the perturbations overlapping an {@link Entity}, from its cache if it did not cross any region
+     * boundary since the previous call.
+     *
+     * @param e the {@link Entity} to be processed.
+     * @return the {@link Cache} of the entity, listing the perturbations in the {@link World} order.
+     */
+    public Cache find(Entity<?> e) {
+        Cache cache = e.perturbationCache;
+        if (cache == null) {
+            cache = new Cache();
+            e.perturbationCache = cache;
+        }
+        int c0 = Math.max(0, floor(xs, nx, e.x, true));
+        int c1 = Math.min(nx - 2, floor(xs, nx, e.x + e.width, false));
+        int r0 = Math.max(0, floor(ys, ny, e.y, true));
+        int r1 = Math.min(ny - 2, floor(ys, ny, e.y + e.height, false));
+        long key = c0 > c1 || r0 > r1
+            ? -2
+            : ((long) c0 << 48) | ((long) (c1 & 0xFFFF) << 32) | ((long) (r0 & 0xFFFF) << 16) | (r1 & 0xFFFF);
+        if (key == cache.key && cache.version == version) {
+            return cache;
+        }
+        misses++;
+        cache.key = key;
+        cache.version = version;
+        cache.size = 0;
+        if (key == -2) {
+            return cache;
+        }
+        for (int i = 0; i < perturbations.length; i++) {
+            if (ranges[i * 4] <= c1 && c0 <= ranges[i * 4 + 1]
+                && ranges[i * 4 + 2] <= r1 && r0 <= ranges[i * 4 + 3]) {
+                if (cache.size == cache.items.length) {
+                    cache.items = Arrays.copyOf(cache.items, cache.size * 2);
+                }
+                cache.items[cache.size++] = perturbations[i];
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Index of the region containing the value: the last edge lower than or equal to it (lower than it for a max
+     * side), -1 if the value is before the first edge.
+     */
+    private static int floor(double[] edges, int n, double v, boolean inclusive) {
+        int lo = 0, hi = n - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (edges[mid] < v || (inclusive && edges[mid] == v)) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Number of entity caches refreshed since the index creation.
+     *
+     * @return the number of cache misses.
+     */
+    public int getMisses() {
+        return misses;
+    }
+}
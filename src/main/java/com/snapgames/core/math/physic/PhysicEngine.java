@@ -1,13 +1,15 @@
 package com.snapgames.core.math.physic;
 
-import java.awt.geom.Rectangle2D;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.snapgames.core.Application;
+import com.snapgames.core.behavior.SceneBehavior;
 import com.snapgames.core.entity.Camera;
 import com.snapgames.core.entity.Entity;
-import com.snapgames.core.math.Vector2D;
+import com.snapgames.core.entity.EntityStore;
+import com.snapgames.core.math.physic.entity.Perturbation;
 import com.snapgames.core.scene.Scene;
 import com.snapgames.core.system.GSystem;
 import com.snapgames.core.utils.config.Configuration;
@@ -32,6 +34,12 @@ import com.snapgames.core.utils.config.Configuration;
  * app.physic.speed.max=128.0
  * app.physic.acceleration.max=48.0
  * app.physic.world=world(amazing,0.981,(1024x1024))
+ * app.physic.store.packed=false
+ * app.physic.debug.forces=false
+ * app.physic.threads=1
+ * app.physic.sleep=false
+ * app.physic.sleep.ticks=60
+ * app.physic.sleep.velocity=0.05
  * </pre>
  * <p>
  * where:
@@ -46,7 +54,17 @@ import com.snapgames.core.utils.config.Configuration;
  * <li><code>app.physic.acceleration.max</code> set the maximum acceleration for
  * any {@link Entity} processed by the {@link PhysicEngine},</li>
  * <li><code>app.physic.world</code> defines the World object with a name, the
- * gravity(only vertical) and the rectangle play area.</li>
+ * gravity(only vertical) and the rectangle play area,</li>
+ * <li><code>app.physic.store.packed</code> activates the packed {@link EntityStore}: the {@link Scene}'s entities
+ * are then integrated straight over its primitive arrays,</li>
+ * <li><code>app.physic.debug.forces</code> records each force applied on an {@link Entity} into its
+ * {@link ForceAccumulator}, to be displayed as debug information,</li>
+ * <li><code>app.physic.threads</code> set the number of threads processing the entities (0 for one per
+ * available processor). With more than one thread, the entities are split into chunks processed in parallel,
+ * and the {@link com.snapgames.core.behavior.Behavior}'s must use the {@link CommandBuffer} to change any
+ * shared state.</li>
+ * <li><code>app.physic.sleep</code> puts the resting entities to sleep, after <code>app.physic.sleep.ticks</code>
+ * updates in contact with a velocity under <code>app.physic.sleep.velocity</code>.</li>
  * </ul>
  *
  * @author Frédéric Delorme
@@ -62,6 +80,25 @@ public class PhysicEngine implements GSystem {
     private double maxEntitySpeed;
     private double timeScaleFactor = 1.00;
     private static long cumulatedTime;
+    private static final PhysicType[] PHYSIC_TYPES = PhysicType.values();
+    private static final String GRAVITY_SOURCE = "gravity";
+    /**
+     * Minimum number of entities processed by one thread in parallel mode.
+     */
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    /**
+     * The processing phases run by a {@link ChunkTask}.
+     */
+    private enum Phase {
+        BEHAVIORS, ENTITIES, SLOTS
+    }
+
+    private int threads = 1;
+    private ForkJoinPool pool;
+    private Entity<?>[] work = new Entity<?>[256];
+    private CommandBuffer[] buffers = new CommandBuffer[0];
+    private final PerturbationIndex perturbationIndex = new PerturbationIndex();
 
     public PhysicEngine(Application app) {
         this.application = app;
@@ -79,6 +116,14 @@ public class PhysicEngine implements GSystem {
         this.timeScaleFactor = config.timeScaleFactor;
         setWorld(config.world);
         this.configuration = config;
+        this.threads = config.physicThreads > 0 ? config.physicThreads : Runtime.getRuntime().availableProcessors();
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads);
+        }
     }
 
     /**
@@ -93,53 +138,252 @@ public class PhysicEngine implements GSystem {
     public void update(Scene scene, double elapsed, Map<String, Object> stats) {
         Camera camera = scene.getActiveCamera();
         Collection<Entity<?>> entities = scene.getEntities();
+        EntityStore store = scene.getEntityStore();
         double time = (elapsed * timeScaleFactor);
         cumulatedTime += elapsed;
 
         // remove not active entities
-        List<Entity<?>> toBeDeleted = entities.stream().filter(e -> !e.isActive()).collect(Collectors.toList());
-        entities.removeAll(toBeDeleted);
+        for (Entity<?> e : entities) {
+            if (!e.isActive()) {
+                scene.removeEntity(e);
+            }
+        }
 
         // if the world contains any Perturbation, apply to all concerned entities.
-        world.getPerturbations().stream()
-            .forEach(p -> entities.stream().filter(e -> e.isEnabled() && p.isEntityConstrained(e))
-                .forEach(e -> {
-                    // applying a penetration factor.
-                    Rectangle2D intersection = e.getBounds2D().createIntersection(p);
-                    Vector2D dist = new Vector2D(intersection.getWidth(), intersection.getHeight());
-                    Vector2D eDist = new Vector2D(e.getWidth(), e.getHeight());
-                    double vf = dist.length() / eDist.length();
-                    // apply a reduction factor on forces according to distance
-                    p.getForces().forEach(f -> e.addForce(f.multiply(vf)));
-
-                }));
-
-        entities.stream()
-            .sorted(Comparator.comparingInt(a -> a.physicType.ordinal()))
-            .forEach(
-                e -> {
-                    if (e.behaviors.size() > 0) {
-                        e.behaviors.forEach(b -> b.update(e, elapsed));
+        if (!world.getPerturbations().isEmpty()) {
+            perturbationIndex.update(world);
+            for (Entity<?> e : entities) {
+                // a sleeping entity fell asleep under the same perturbations.
+                if (!e.isEnabled() || e.sleeping) {
+                    continue;
+                }
+                PerturbationIndex.Cache overlapping = perturbationIndex.find(e);
+                for (int i = 0; i < overlapping.size(); i++) {
+                    Perturbation p = overlapping.get(i);
+                    if (p.isLayerImpacted(e.getLayer())) {
+                        applyPerturbation(p, e);
                     }
-                    if (e.physicType != PhysicType.STATIC && !e.stickToCamera) {
-                        updateEntity(e, time);
-                    }
-                    e.update(time * 100);
-                    // apply Behaviors
+                }
+            }
+        }
 
-                });
-        if (Optional.ofNullable(camera).isPresent()) {
+        // process entities by physic type: NONE, then STATIC, then DYNAMIC ones.
+        int n = 0;
+        for (PhysicType type : PHYSIC_TYPES) {
+            for (Entity<?> e : entities) {
+                if (e.physicType == type) {
+                    if (n == work.length) {
+                        work = Arrays.copyOf(work, n * 2);
+                    }
+                    work[n++] = e;
+                }
+            }
+        }
+        // all the behaviors run before any integration, so that the forces they defer on other entities land on the
+        // same tick whatever the number of threads.
+        if (pool != null && n >= MIN_CHUNK_SIZE * 2) {
+            invokeEntities(store, Phase.BEHAVIORS, n, elapsed, time);
+        } else {
+            processBehaviors(0, n, elapsed);
+        }
+        if (store != null) {
+            int size = store.size();
+            if (pool != null && size >= MIN_CHUNK_SIZE * 2) {
+                int chunkSize = chunkSize(size);
+                int chunks = (size + chunkSize - 1) / chunkSize;
+                pool.invoke(new ChunkTask(store, Phase.SLOTS, 0, chunks, chunkSize, size, elapsed, time));
+            } else {
+                integrate(store, 0, size, time);
+            }
+            store.writeBack();
+        }
+        // without store, entities are integrated here; in any case their lifespan is updated after integration.
+        if (pool != null && n >= MIN_CHUNK_SIZE * 2) {
+            invokeEntities(store, Phase.ENTITIES, n, elapsed, time);
+        } else {
+            processEntities(store, 0, n, time);
+        }
+        Arrays.fill(work, 0, n, null);
+        if (configuration.sleepEnabled) {
+            updateSleep(entities, stats);
+        }
+        if (camera != null) {
             camera.update(time);
         }
         scene.update(application, time);
 
         // execute all SceneBehavior's on the update event.
-        scene.getBehaviors().forEach(sb -> sb.update(scene, time));
+        for (SceneBehavior sb : scene.getBehaviors()) {
+            sb.update(scene, time);
+        }
+    }
+
+    /**
+     * Put to sleep the dynamic entities resting in contact for <code>app.physic.sleep.ticks</code> updates, their
+     * velocity staying under <code>app.physic.sleep.velocity</code>. A sleeping entity is no more integrated, nor
+     * moved into the {@link BroadPhase}, until a force, an impulse, a move or a contact with a moving entity wakes
+     * it up.
+     *
+     * @param entities the {@link Scene}'s entities.
+     * @param stats    the statistics map receiving the number of sleeping entities.
+     */
+    private void updateSleep(Collection<Entity<?>> entities, Map<String, Object> stats) {
+        double v2 = configuration.sleepVelocity * configuration.sleepVelocity;
+        int sleeping = 0;
+        for (Entity<?> e : entities) {
+            if (e.physicType != PhysicType.DYNAMIC || !e.isEnabled()) {
+                continue;
+            }
+            if (!e.sleeping) {
+                if (e.contact != 0 && e.vel.x * e.vel.x + e.vel.y * e.vel.y < v2) {
+                    if (++e.quietTicks >= configuration.sleepTicks) {
+                        e.setSleeping(true);
+                    }
+                } else {
+                    e.quietTicks = 0;
+                }
+            }
+            if (e.sleeping) {
+                sleeping++;
+            }
+        }
+        stats.put("5_sleeping", sleeping);
+    }
+
+    private int chunkSize(int n) {
+        return Math.max(MIN_CHUNK_SIZE, (n + threads * 4 - 1) / (threads * 4));
+    }
+
+    /**
+     * Run one phase over chunks of the <code>work</code> array in parallel, then apply the deferred operations on
+     * shared state, in the sequential order.
+     */
+    private void invokeEntities(EntityStore store, Phase phase, int n, double elapsed, double time) {
+        int chunkSize = chunkSize(n);
+        int chunks = (n + chunkSize - 1) / chunkSize;
+        if (buffers.length < chunks) {
+            buffers = Arrays.copyOf(buffers, chunks);
+            for (int c = 0; c < chunks; c++) {
+                if (buffers[c] == null) {
+                    buffers[c] = new CommandBuffer();
+                }
+            }
+        }
+        pool.invoke(new ChunkTask(store, phase, 0, chunks, chunkSize, n, elapsed, time));
+        for (int c = 0; c < chunks; c++) {
+            buffers[c].replay();
+        }
+    }
+
+    /**
+     * Apply behaviors on the entities from the <code>work</code> array, between the from (included) and to
+     * (excluded) indexes.
+     *
+     * @param from    first index to be processed.
+     * @param to      index after the last one to be processed.
+     * @param elapsed the elapsed time since previous call
+     */
+    private void processBehaviors(int from, int to, double elapsed) {
+        for (int w = from; w < to; w++) {
+            Entity<?> e = work[w];
+            e.getForces().setDebug(configuration.physicDebugForces);
+            // apply Behaviors
+            for (int i = 0; i < e.behaviors.size(); i++) {
+                e.behaviors.get(i).update(e, elapsed);
+            }
+        }
+    }
+
+    /**
+     * Apply Newton's laws on the entities from the <code>work</code> array, between the from (included) and to
+     * (excluded) indexes, when there is no {@link EntityStore}, then update their lifespan.
+     *
+     * @param store the {@link EntityStore} of the scene, if any: entities have then already been integrated from
+     *              the store.
+     * @param from  first index to be processed.
+     * @param to    index after the last one to be processed.
+     * @param time  the elapsed time scaled with the time scale factor.
+     */
+    private void processEntities(EntityStore store, int from, int to, double time) {
+        for (int w = from; w < to; w++) {
+            Entity<?> e = work[w];
+            if (store == null && e.physicType != PhysicType.STATIC && !e.stickToCamera && !e.sleeping) {
+                updateEntity(e, time);
+            }
+            e.update(time * 100);
+        }
+    }
 
-        long renderedEntities = entities.stream()
-            .filter(e -> (camera != null && camera.inViewport(e)) || e.stickToCamera).count();
-        stats.put("3_rendered", renderedEntities);
+    /**
+     * A parallel processing task over a range of chunks: either chunks of the <code>work</code> array of entities
+     * (behaviors, or integration without store), or chunks of slots of an {@link EntityStore}.
+     * <p>
+     * While processing a chunk of entities, the {@link CommandBuffer} of this chunk is bound to the running thread,
+     * to record the deferred operations of the behaviors.
+     */
+    private class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final EntityStore store;
+        private final Phase phase;
+        private final int from, to, chunkSize, size;
+        private final double elapsed, time;
+
+        ChunkTask(EntityStore store, Phase phase, int from, int to, int chunkSize, int size,
+                  double elapsed, double time) {
+            this.store = store;
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.size = size;
+            this.elapsed = elapsed;
+            this.time = time;
+        }
 
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(
+                    new ChunkTask(store, phase, from, mid, chunkSize, size, elapsed, time),
+                    new ChunkTask(store, phase, mid, to, chunkSize, size, elapsed, time));
+                return;
+            }
+            int start = from * chunkSize;
+            int end = Math.min(start + chunkSize, size);
+            if (phase == Phase.SLOTS) {
+                integrate(store, start, end, time);
+            } else {
+                CommandBuffer buffer = buffers[from];
+                buffer.bind();
+                try {
+                    if (phase == Phase.BEHAVIORS) {
+                        processBehaviors(start, end, elapsed);
+                    } else {
+                        processEntities(store, start, end, time);
+                    }
+                } finally {
+                    buffer.unbind();
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply the forces of the p perturbation on the e {@link Entity}, reduced by the penetration factor of the
+     * {@link Entity} into the perturbation area.
+     *
+     * @param p the perturbation area.
+     * @param e the {@link Entity} intersecting the perturbation area.
+     */
+    private void applyPerturbation(Perturbation p, Entity<?> e) {
+        // applying a penetration factor, from the intersection of the 2 rectangles.
+        double iw = Math.min(e.getMaxX(), p.getMaxX()) - Math.max(e.x, p.x);
+        double ih = Math.min(e.getMaxY(), p.getMaxY()) - Math.max(e.y, p.y);
+        double vf = Math.sqrt(iw * iw + ih * ih) / Math.sqrt(e.width * e.width + e.height * e.height);
+        // apply a reduction factor on forces according to distance
+        e.addForce(p.getName(), p.getForce().x * vf, p.getForce().y * vf);
     }
 
     /**
@@ -153,14 +397,14 @@ public class PhysicEngine implements GSystem {
         entity.setOldPosition(entity.pos);
         // apply gravity
         if (!entity.physicType.equals(PhysicType.NONE) || !entity.stickToCamera) {
-            entity.forces.add(world.getGravity());
+            entity.addForce(GRAVITY_SOURCE, world.getGravity().x, world.getGravity().y);
         }
         // compute acceleration
-        entity.setAcceleration(entity.acceleration.addAll(entity.getForces()));
-        entity.setAcceleration(entity.acceleration.multiply(
-            (entity.getMaterial() != null ? entity.getMaterial().getDensity() : 1.0) * entity.mass));
+        ForceAccumulator forces = entity.getForces();
+        double factor = (entity.getMaterial() != null ? entity.getMaterial().getDensity() : 1.0) * entity.mass;
+        entity.acceleration.set(forces.fx, forces.fy).scaleLocal(factor);
         if (configuration.physicConstrained) {
-            entity.acceleration = entity.acceleration.maximize(entity.getAttribute("maxAccelY", this.maxEntityAcc));
+            entity.acceleration.maximize(entity.getDoubleAttribute("maxAccelY", this.maxEntityAcc));
         }
         // compute velocity
         double roughness = 1.0;
@@ -169,17 +413,17 @@ public class PhysicEngine implements GSystem {
         } else {
             roughness = world.getMaterial() != null ? world.getMaterial().getRoughness() : 1.0;
         }
-        entity.setSpeed(entity.vel.add(entity.acceleration.multiply(elapsed * elapsed * 0.5)).multiply(roughness));
+        entity.vel.addScaled(entity.acceleration, elapsed * elapsed * 0.5)
+            .addLocal(forces.ix * factor, forces.iy * factor)
+            .scaleLocal(roughness);
         if (configuration.physicConstrained) {
-            entity.vel = entity.vel.maximize(entity.getAttribute("maxVelX", this.maxEntitySpeed));
+            entity.vel.maximize(entity.getDoubleAttribute("maxVelX", this.maxEntitySpeed));
         }
 
         // compute position
-        entity.pos = entity.pos.add(entity.vel.multiply(elapsed));
+        entity.pos.addScaled(entity.vel, elapsed);
 
-        // update child entities
-        entity.getChild().forEach(c -> updateEntity(c, elapsed));
-        entity.forces.clear();
+        entity.clearForces();
 
         // set natural BoundingBox coordinates
         entity.x = entity.pos.x;
@@ -191,6 +435,109 @@ public class PhysicEngine implements GSystem {
         constrainPlayArea(entity);
     }
 
+    /**
+     * Process a range of slots of the packed {@link EntityStore} with the same 2 first Newton's laws than
+     * {@link PhysicEngine#updateEntity(Entity, double)}, walking straight over the primitive arrays.
+     * <p>
+     * Each slot is integrated once; child entities own their slot and are not processed through their parent.
+     *
+     * @param s       the {@link EntityStore} to be processed.
+     * @param from    first slot to be processed.
+     * @param to      slot after the last one to be processed.
+     * @param elapsed the elapsed time since previous call.
+     */
+    private void integrate(EntityStore s, int from, int to, double elapsed) {
+        double gx = world.getGravity().x;
+        double gy = world.getGravity().y;
+        double worldRoughness = world.getMaterial() != null ? world.getMaterial().getRoughness() : 1.0;
+        boolean constrained = configuration.physicConstrained;
+        double dt2 = elapsed * elapsed * 0.5;
+        int[] flags = s.flags;
+        for (int i = from; i < to; i++) {
+            if ((flags[i] & (EntityStore.FLAG_STATIC | EntityStore.FLAG_STICK_TO_CAMERA | EntityStore.FLAG_SLEEPING)) != 0) {
+                continue;
+            }
+            // save previous entity position.
+            s.oldX[i] = s.posX[i];
+            s.oldY[i] = s.posY[i];
+            // compute acceleration from forces and gravity
+            double factor = s.density[i] * s.mass[i];
+            double ax = (s.forceX[i] + gx) * factor;
+            double ay = (s.forceY[i] + gy) * factor;
+            if (constrained) {
+                double maxAcc = Double.isNaN(s.maxAcc[i]) ? this.maxEntityAcc : s.maxAcc[i];
+                ax = Math.abs(ax) > maxAcc ? Math.signum(ax) * maxAcc : ax;
+                ay = Math.abs(ay) > maxAcc ? Math.signum(ay) * maxAcc : ay;
+            }
+            s.accX[i] = ax;
+            s.accY[i] = ay;
+            // compute velocity
+            double roughness = s.contact[i] > 0 ? s.roughness[i] : worldRoughness;
+            double vx = (s.velX[i] + ax * dt2 + s.impulseX[i] * factor) * roughness;
+            double vy = (s.velY[i] + ay * dt2 + s.impulseY[i] * factor) * roughness;
+            s.forceX[i] = 0.0;
+            s.forceY[i] = 0.0;
+            s.impulseX[i] = 0.0;
+            s.impulseY[i] = 0.0;
+            if (constrained) {
+                double maxVel = Double.isNaN(s.maxVel[i]) ? this.maxEntitySpeed : s.maxVel[i];
+                vx = Math.abs(vx) > maxVel ? Math.signum(vx) * maxVel : vx;
+                vy = Math.abs(vy) > maxVel ? Math.signum(vy) * maxVel : vy;
+            }
+            s.velX[i] = vx;
+            s.velY[i] = vy;
+            // compute position
+            s.posX[i] += vx * elapsed;
+            s.posY[i] += vy * elapsed;
+            // reset contact value
+            s.contact[i] = 0;
+            // test slot against play area limits.
+            if ((flags[i] & EntityStore.FLAG_CONSTRAINED) != 0) {
+                constrainPlayArea(s, i);
+            }
+        }
+    }
+
+    /**
+     * Apply play area constrains to the slot <code>i</code> of the packed {@link EntityStore}.
+     *
+     * @param s the {@link EntityStore} containing the slot.
+     * @param i the slot to be kept inside the play area.
+     */
+    private void constrainPlayArea(EntityStore s, int i) {
+        double elasticity = s.elasticity[i];
+        double paWidth = world.getPlayArea().getWidth();
+        double paHeight = world.getPlayArea().getHeight();
+        if (s.posX[i] < 0) {
+            s.oldX[i] = s.posX[i];
+            s.oldY[i] = s.posY[i];
+            s.posX[i] = 0;
+            s.velX[i] *= -elasticity;
+            s.contact[i] += 1;
+        }
+        if (s.posX[i] + s.width[i] > paWidth) {
+            s.oldX[i] = s.posX[i];
+            s.oldY[i] = s.posY[i];
+            s.posX[i] = paWidth - s.width[i];
+            s.velX[i] *= -elasticity;
+            s.contact[i] += 2;
+        }
+        if (s.posY[i] < 0) {
+            s.oldX[i] = s.posX[i];
+            s.oldY[i] = s.posY[i];
+            s.posY[i] = 0;
+            s.velY[i] *= -elasticity;
+            s.contact[i] += 4;
+        }
+        if (s.posY[i] + s.height[i] > paHeight) {
+            s.oldX[i] = s.posX[i];
+            s.oldY[i] = s.posY[i];
+            s.posY[i] = paHeight - s.height[i];
+            s.velY[i] *= -elasticity;
+            s.contact[i] += 8;
+        }
+    }
+
     /**
      * Apply play area constrains to the concerned {@link Entity}.
      *
@@ -250,7 +597,10 @@ public class PhysicEngine implements GSystem {
      * Release possible captured resource.
      */
     public void dispose() {
-
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
     }
 
     @Override
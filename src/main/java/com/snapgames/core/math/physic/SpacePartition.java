@@ -9,36 +9,72 @@ import com.snapgames.core.system.GSystemManager;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
+
+import com.snapgames.core.math.physic.entity.Perturbation;
 
 /**
  * A space partitioning system to dispatch Scene's {@link Entity} list into some {@link SpacePartition}, to accelerate
  * any neighbour operation like collision detection.
  * <p>
- * This partitioning system is used from {@link CollisionDetection} system.
+ * This partitioning system is the default {@link BroadPhase} used from {@link CollisionDetection} system.
  * During collision detection, {@link CollisionEvent} are created and processed by
  * {@link com.snapgames.core.behavior.CollisionResponseBehavior} at {@link Entity} level.
  * <p>
  * At each {@link PhysicEngine}  update cycle, the inactive entities are removed from scene.
+ * <p>
+ * By default, the tree is fully rebuilt on each update. With the incremental mode
+ * (<code>app.physic.space.incremental=true</code>), the tree is kept from one update to the next: only the entities
+ * that left their node are moved to a new one, and the nodes having too few entities are collapsed back into
+ * their parent. In both modes, the released nodes are pooled and reused on the next split.
  *
  * @author Frédéric Delorme
  * @see CollisionDetection
  * @see PhysicEngine
  * @since 1.0.4
  */
-public class SpacePartition extends Rectangle2D.Double implements GSystem {
+public class SpacePartition extends Rectangle2D.Double implements BroadPhase {
     private int maxObjectsPerNode = 10;
     private int maxTreeLevels = 5;
+    private boolean incremental = false;
 
     private SpacePartition root;
+    private SpacePartition parent;
+    /**
+     * Quadrant index of this node into its parent one.
+     */
+    private int index = -1;
 
     private int level;
     private List<Entity<?>> objects;
     private SpacePartition[] nodes;
 
+    /**
+     * Root only: the released nodes ready to be reused.
+     */
+    private Deque<SpacePartition> pool;
+    /**
+     * Root only (incremental mode): the node where each {@link Entity} is stored.
+     */
+    private Map<Entity<?>, Home> homes;
+    private int stamp;
+    private boolean removed;
+
+    /**
+     * Node of an {@link Entity} and the stamp of the last update it was seen in.
+     */
+    private static class Home {
+        SpacePartition node;
+        int stamp;
+    }
+
     /**
      * Create a new {@link SpacePartition} with a depth level and its defined rectangle area.
      *
@@ -50,6 +86,7 @@ public class SpacePartition extends Rectangle2D.Double implements GSystem {
         objects = new ArrayList<>();
         setRect(pBounds);
         nodes = new SpacePartition[4];
+        root = this;
     }
 
     /**
@@ -68,6 +105,24 @@ public class SpacePartition extends Rectangle2D.Double implements GSystem {
         this(0, app.getConfiguration().world.getPlayArea().getBounds());
         this.maxObjectsPerNode = app.getConfiguration().maxEntitiesInSpace;
         this.maxTreeLevels = app.getConfiguration().maxLevelsInSpace;
+        setIncremental(app.getConfiguration().spaceIncremental);
+    }
+
+    /**
+     * Switch the tree between the full rebuild and the incremental modes. Switching mode empties the tree.
+     *
+     * @param incremental true to keep the tree between updates.
+     * @return this {@link SpacePartition} root node.
+     */
+    public SpacePartition setIncremental(boolean incremental) {
+        clear();
+        this.incremental = incremental;
+        this.homes = incremental ? new IdentityHashMap<>() : null;
+        return this;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
     }
 
     /**
@@ -78,9 +133,13 @@ public class SpacePartition extends Rectangle2D.Double implements GSystem {
         for (int i = 0; i < nodes.length; i++) {
             if (nodes[i] != null) {
                 nodes[i].clear();
+                release(nodes[i]);
                 nodes[i] = null;
             }
         }
+        if (this == root && homes != null) {
+            homes.clear();
+        }
     }
 
     /**
@@ -91,20 +150,78 @@ public class SpacePartition extends Rectangle2D.Double implements GSystem {
         int subHeight = (int) (getHeight() / 2);
         int x = (int) getX();
         int y = (int) getY();
-        nodes[0] = new SpacePartition(level + 1, new Rectangle(x + subWidth, y, subWidth, subHeight));
-        nodes[1] = new SpacePartition(level + 1, new Rectangle(x, y, subWidth, subHeight));
-        nodes[2] = new SpacePartition(level + 1, new Rectangle(x, y + subHeight, subWidth, subHeight));
-        nodes[3] = new SpacePartition(level + 1, new Rectangle(x + subWidth, y + subHeight, subWidth, subHeight));
+        nodes[0] = obtain(0, x + subWidth, y, subWidth, subHeight);
+        nodes[1] = obtain(1, x, y, subWidth, subHeight);
+        nodes[2] = obtain(2, x, y + subHeight, subWidth, subHeight);
+        nodes[3] = obtain(3, x + subWidth, y + subHeight, subWidth, subHeight);
+    }
+
+    /**
+     * Get a child node from the root's pool, or create a new one if the pool is empty.
+     */
+    private SpacePartition obtain(int pIndex, int x, int y, int w, int h) {
+        SpacePartition node = root.pool != null ? root.pool.poll() : null;
+        if (node == null) {
+            node = new SpacePartition(level + 1, new Rectangle(x, y, w, h));
+        } else {
+            node.level = level + 1;
+            node.setRect(x, y, w, h);
+        }
+        node.root = root;
+        node.parent = this;
+        node.index = pIndex;
+        node.maxObjectsPerNode = maxObjectsPerNode;
+        node.maxTreeLevels = maxTreeLevels;
+        return node;
+    }
+
+    private void release(SpacePartition node) {
+        node.parent = null;
+        node.index = -1;
+        if (root.pool == null) {
+            root.pool = new ArrayDeque<>();
+        }
+        root.pool.push(node);
+    }
+
+    /**
+     * Store the {@link Entity} into this node, and keep track of it in incremental mode.
+     */
+    private void store(Entity<?> e) {
+        objects.add(e);
+        if (root.homes != null) {
+            Home home = root.homes.get(e);
+            if (home == null) {
+                home = new Home();
+                root.homes.put(e, home);
+            }
+            home.node = this;
+            home.stamp = root.stamp;
+        }
+    }
+
+    /**
+     * Remove an {@link Entity} from this node's objects, by identity (Entity equality is a geometric one).
+     */
+    private void unstore(Entity<?> e) {
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) == e) {
+                int last = objects.size() - 1;
+                objects.set(i, objects.get(last));
+                objects.remove(last);
+                return;
+            }
+        }
     }
 
     /**
      * Determine which {@link SpacePartition} node the {@link Entity} belongs to.
      *
-     * @param pRect the {@link Entity} to search in the {@link SpacePartition}'s tree.
+     * @param pRect the {@link Entity} (or any area) to search in the {@link SpacePartition}'s tree.
      * @return the depth level of the {@link Entity}; -1 means object cannot completely fit
      * within a child node and is part of the parent node
      */
-    private int getIndex(Entity<?> pRect) {
+    private int getIndex(Rectangle2D pRect) {
         int index = -1;
         double verticalMidpoint = getX() + (getWidth() / 2);
         double horizontalMidpoint = getY() + (getHeight() / 2);
@@ -147,7 +264,7 @@ public class SpacePartition extends Rectangle2D.Double implements GSystem {
                 return;
             }
         }
-        objects.add(pRect);
+        store(pRect);
         if (objects.size() > maxObjectsPerNode && level < maxTreeLevels) {
             if (nodes[0] == null) {
                 split();
@@ -176,31 +293,210 @@ public class SpacePartition extends Rectangle2D.Double implements GSystem {
     }
 
 
+    /**
+     * Collect the entities of all the nodes overlapping the area: its own node and ancestors, but also the descendant
+     * nodes of an area straddling several children, so that an entity stored into a parent node finds the ones
+     * stored below it.
+     */
+    @Override
+    public int find(Rectangle2D e, Entity<?>[] buffer) {
+        return find(e, buffer, 0);
+    }
+
+    private int find(Rectangle2D e, Entity<?>[] buffer, int count) {
+        if (nodes[0] != null) {
+            for (SpacePartition node : nodes) {
+                if (node.overlaps(e)) {
+                    count = node.find(e, buffer, count);
+                }
+            }
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            if (count < buffer.length) {
+                buffer[count] = objects.get(i);
+            }
+            count++;
+        }
+        return count;
+    }
+
     /*
      * Return all objects that could collide with the given object
      */
     private List find(List returnObjects, Entity<?> pRect) {
-        int index = getIndex(pRect);
-        if (index != -1 && nodes[0] != null) {
-            nodes[index].find(returnObjects, pRect);
+        if (nodes[0] != null) {
+            for (SpacePartition node : nodes) {
+                if (node.overlaps(pRect)) {
+                    node.find(returnObjects, pRect);
+                }
+            }
         }
         returnObjects.addAll(objects);
         return returnObjects;
     }
 
+    /**
+     * Test if an area overlaps or touches the bounds of this node.
+     */
+    private boolean overlaps(Rectangle2D area) {
+        return area.getX() <= x + width && x <= area.getMaxX()
+            && area.getY() <= y + height && y <= area.getMaxY();
+    }
+
     /**
      * Dispatch all the {@link Scene} {@link Entity}'s into the {@link SpacePartition} tree.
      *
      * @param scene   the Scene to be processed.
      * @param elapsed the elapsed time since previous call (not used here).
      */
+    @Override
     public void update(Scene scene, double elapsed) {
         PhysicEngine pe = GSystemManager.find(PhysicEngine.class);
-        this.clear();
-        Collection<Entity<?>> colEntity = scene.getEntities();
-        Collection<Entity<?>> colPerturbs = pe.getWorld().getPerturbations();
+        update(scene.getEntities(), pe.getWorld().getPerturbations());
+    }
+
+    /**
+     * Dispatch the entities and perturbations into the {@link SpacePartition} tree, by rebuilding it or by
+     * moving only the entities that left their node, according to the mode.
+     *
+     * @param entities     the {@link Entity}'s from the Scene.
+     * @param perturbations the {@link Perturbation}'s from the World.
+     */
+    public void update(Collection<Entity<?>> entities, Collection<? extends Entity<?>> perturbations) {
+        if (!incremental) {
+            this.clear();
+            for (Entity<?> e : entities) {
+                insert(e);
+            }
+            for (Entity<?> e : perturbations) {
+                insert(e);
+            }
+            return;
+        }
+        stamp++;
+        removed = false;
+        int count = 0;
+        for (Entity<?> e : entities) {
+            rehome(e);
+            count++;
+        }
+        for (Entity<?> e : perturbations) {
+            rehome(e);
+            count++;
+        }
+        // some tracked entities were not seen on this update: they left the scene.
+        if (homes.size() > count) {
+            Iterator<Home> it = homes.values().iterator();
+            while (it.hasNext()) {
+                Home home = it.next();
+                if (home.stamp != stamp) {
+                    it.remove();
+                    removed = true;
+                }
+            }
+            rebuildObjects();
+        }
+        if (removed) {
+            collapse();
+        }
+    }
 
-        Stream.concat(colEntity.stream(), colPerturbs.stream()).forEach(e -> this.insert((Entity<?>) e));
+    /**
+     * Check the {@link Entity} is still in the right node, or move it to its new one.
+     */
+    private void rehome(Entity<?> e) {
+        Home home = homes.get(e);
+        if (home == null) {
+            insert(e);
+            return;
+        }
+        home.stamp = stamp;
+        // a sleeping entity did not move.
+        if (e.sleeping) {
+            return;
+        }
+        SpacePartition node = home.node;
+        // find the highest node the entity went out of.
+        SpacePartition target = node;
+        for (SpacePartition n = node; n.parent != null; n = n.parent) {
+            if (n.parent.getIndex(e) != n.index) {
+                target = n.parent;
+            }
+        }
+        if (target == node && (node.nodes[0] == null || node.getIndex(e) == -1)) {
+            return;
+        }
+        node.unstore(e);
+        removed = true;
+        target.insert(e);
+    }
+
+    /**
+     * Remove from the nodes all the entities that are no more tracked.
+     */
+    private void rebuildObjects() {
+        objects.removeIf(e -> !root.homes.containsKey(e));
+        if (nodes[0] != null) {
+            for (SpacePartition node : nodes) {
+                node.rebuildObjects();
+            }
+        }
+    }
+
+    /**
+     * Collapse the nodes having less than half of their capacity in their whole sub-tree.
+     *
+     * @return the number of entities in this sub-tree.
+     */
+    private int collapse() {
+        int count = objects.size();
+        if (nodes[0] == null) {
+            return count;
+        }
+        for (SpacePartition node : nodes) {
+            count += node.collapse();
+        }
+        if (count <= maxObjectsPerNode / 2) {
+            for (int i = 0; i < nodes.length; i++) {
+                for (Entity<?> e : nodes[i].objects) {
+                    store(e);
+                }
+                nodes[i].objects.clear();
+                release(nodes[i]);
+                nodes[i] = null;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count the nodes in this sub-tree.
+     *
+     * @return the number of nodes, including this one.
+     */
+    public int getNodeCount() {
+        int count = 1;
+        if (nodes[0] != null) {
+            for (SpacePartition node : nodes) {
+                count += node.getNodeCount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count the entities stored in this sub-tree.
+     *
+     * @return the number of entities.
+     */
+    public int getEntityCount() {
+        int count = objects.size();
+        if (nodes[0] != null) {
+            for (SpacePartition node : nodes) {
+                count += node.getEntityCount();
+            }
+        }
+        return count;
     }
 
 
@@ -231,6 +527,7 @@ public class SpacePartition extends Rectangle2D.Double implements GSystem {
      * @param g     the {@link Graphics2D} API instance
      * @param scene the {@link Scene} to be processed.
      */
+    @Override
     public void draw(Renderer r, Graphics2D g, Scene scene) {
         g.setFont(g.getFont().deriveFont(8.5f));
         SpacePartition sp = this;
@@ -0,0 +1,309 @@
+package com.snapgames.core.math.physic;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.snapgames.core.Application;
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.graphics.Renderer;
+import com.snapgames.core.scene.Scene;
+import com.snapgames.core.system.GSystem;
+import com.snapgames.core.system.GSystemManager;
+
+/**
+ * A uniform grid {@link BroadPhase}, covering the World play area with square cells.
+ * <p>
+ * Each {@link Entity} gets an index on each update, and this index is stored into the buckets of all the cells its
+ * bounds overlap. The buckets are packed into one primitive <code>int</code> array (a cell's bucket being the range
+ * from <code>cellStart[cell]</code> to <code>cellStart[cell+1]</code>), rebuilt on each update with a counting pass
+ * and a filling pass, so no object is allocated once the arrays have reached their working size.
+ * <p>
+ * Entities outside the play area are clamped into the border cells. This grid works best when the entities have
+ * sizes close to the cell size, defined with the configuration key:
+ *
+ * <pre>
+ * app.physic.broadphase=grid
+ * app.physic.grid.cell.size=32
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see BroadPhase
+ * @see CollisionDetection
+ * @since 1.0.5
+ */
+public class SpatialHashGrid implements BroadPhase {
+
+    private double originX, originY;
+    private int cellSize;
+    private int cols, rows;
+
+    private int[] cellStart = new int[0];
+    private int[] cellItems = new int[0];
+    private int[] fill = new int[0];
+
+    private Entity<?>[] entities = new Entity<?>[0];
+    private int[] minCol = new int[0], minRow = new int[0], maxCol = new int[0], maxRow = new int[0];
+    private int size;
+
+    /**
+     * Dedup marks for the neighbour queries: an entity is already in the result if its mark equals the query stamp.
+     */
+    private int[] marks = new int[0];
+    private int queryStamp;
+
+    /**
+     * Create a grid covering an area.
+     *
+     * @param area     the area to be covered by the grid.
+     * @param cellSize the size of a square cell.
+     */
+    public SpatialHashGrid(Rectangle2D area, int cellSize) {
+        setArea(area, cellSize);
+    }
+
+    /**
+     * Create the grid according to the World play area and the <code>app.physic.grid.cell.size</code> configuration.
+     *
+     * @param app the parent {@link Application} instance.
+     */
+    public SpatialHashGrid(Application app) {
+        this(app.getConfiguration().world.getPlayArea(), app.getConfiguration().gridCellSize);
+    }
+
+    /**
+     * Define the area covered by the grid and its cell size.
+     *
+     * @param area     the area to be covered by the grid.
+     * @param cellSize the size of a square cell.
+     * @return this {@link SpatialHashGrid}.
+     */
+    public SpatialHashGrid setArea(Rectangle2D area, int cellSize) {
+        this.originX = area.getX();
+        this.originY = area.getY();
+        this.cellSize = Math.max(1, cellSize);
+        this.cols = Math.max(1, (int) Math.ceil(area.getWidth() / this.cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(area.getHeight() / this.cellSize));
+        cellStart = new int[cols * rows + 1];
+        fill = new int[cols * rows];
+        size = 0;
+        return this;
+    }
+
+    @Override
+    public void update(Scene scene, double elapsed) {
+        PhysicEngine pe = GSystemManager.find(PhysicEngine.class);
+        update(scene.getEntities(), pe.getWorld().getPerturbations());
+    }
+
+    /**
+     * Rebuild the buckets with the entities and perturbations.
+     *
+     * @param entities      the {@link Entity}'s from the Scene.
+     * @param perturbations the {@link com.snapgames.core.math.physic.entity.Perturbation}'s from the World.
+     */
+    public void update(Collection<Entity<?>> entities, Collection<? extends Entity<?>> perturbations) {
+        int count = entities.size() + perturbations.size();
+        if (this.entities.length < count) {
+            grow(count);
+        }
+        Arrays.fill(this.entities, count, size > count ? size : count, null);
+        size = 0;
+        Arrays.fill(cellStart, 0);
+        int refs = 0;
+        // 1. count the references of each cell.
+        for (Entity<?> e : entities) {
+            refs += add(e);
+        }
+        for (Entity<?> e : perturbations) {
+            refs += add(e);
+        }
+        // 2. turn the counts into bucket start positions.
+        int start = 0;
+        for (int c = 0; c < cols * rows; c++) {
+            int n = cellStart[c];
+            cellStart[c] = start;
+            fill[c] = start;
+            start += n;
+        }
+        cellStart[cols * rows] = start;
+        // 3. fill the buckets with the entity indices.
+        if (cellItems.length < refs) {
+            cellItems = new int[Math.max(refs, cellItems.length * 2)];
+        }
+        for (int i = 0; i < size; i++) {
+            for (int row = minRow[i]; row <= maxRow[i]; row++) {
+                for (int col = minCol[i]; col <= maxCol[i]; col++) {
+                    cellItems[fill[row * cols + col]++] = i;
+                }
+            }
+        }
+    }
+
+    private int add(Entity<?> e) {
+        int i = size++;
+        entities[i] = e;
+        minCol[i] = col(e.x);
+        maxCol[i] = col(e.x + e.width);
+        minRow[i] = row(e.y);
+        maxRow[i] = row(e.y + e.height);
+        for (int row = minRow[i]; row <= maxRow[i]; row++) {
+            for (int col = minCol[i]; col <= maxCol[i]; col++) {
+                cellStart[row * cols + col]++;
+            }
+        }
+        return (maxCol[i] - minCol[i] + 1) * (maxRow[i] - minRow[i] + 1);
+    }
+
+    private void grow(int capacity) {
+        entities = Arrays.copyOf(entities, capacity);
+        minCol = Arrays.copyOf(minCol, capacity);
+        maxCol = Arrays.copyOf(maxCol, capacity);
+        minRow = Arrays.copyOf(minRow, capacity);
+        maxRow = Arrays.copyOf(maxRow, capacity);
+        marks = Arrays.copyOf(marks, capacity);
+    }
+
+    private int col(double x) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor((x - originX) / cellSize)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - originY) / cellSize)));
+    }
+
+    /**
+     * Retrieve the indices of the entities sharing a cell with the given bounds, each index being reported once.
+     * <p>
+     * If the returned count is greater than the buffer length, only the first <code>buffer.length</code> indices
+     * have been written.
+     *
+     * @param x      the left of the bounds.
+     * @param y      the top of the bounds.
+     * @param width  the width of the bounds.
+     * @param height the height of the bounds.
+     * @param buffer the caller's buffer to be filled with the indices.
+     * @return the number of indices found.
+     * @see SpatialHashGrid#get(int)
+     */
+    public int query(double x, double y, double width, double height, int[] buffer) {
+        int count = 0;
+        int stamp = nextStamp();
+        int c0 = col(x), c1 = col(x + width);
+        int r0 = row(y), r1 = row(y + height);
+        for (int row = r0; row <= r1; row++) {
+            for (int col = c0; col <= c1; col++) {
+                int cell = row * cols + col;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = cellItems[k];
+                    if (marks[i] != stamp) {
+                        marks[i] = stamp;
+                        if (count < buffer.length) {
+                            buffer[count] = i;
+                        }
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int find(Rectangle2D area, Entity<?>[] buffer) {
+        int count = 0;
+        int stamp = nextStamp();
+        int c0 = col(area.getX()), c1 = col(area.getMaxX());
+        int r0 = row(area.getY()), r1 = row(area.getMaxY());
+        for (int row = r0; row <= r1; row++) {
+            for (int col = c0; col <= c1; col++) {
+                int cell = row * cols + col;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = cellItems[k];
+                    if (marks[i] != stamp) {
+                        marks[i] = stamp;
+                        if (count < buffer.length) {
+                            buffer[count] = entities[i];
+                        }
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private int nextStamp() {
+        if (++queryStamp == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            queryStamp = 1;
+        }
+        return queryStamp;
+    }
+
+    /**
+     * Retrieve the {@link Entity} for an index returned by {@link SpatialHashGrid#query(double, double, double, double, int[])}.
+     *
+     * @param index the entity index.
+     * @return the corresponding {@link Entity}.
+     */
+    public Entity<?> get(int index) {
+        return entities[index];
+    }
+
+    /**
+     * Number of entities dispatched on the last update.
+     *
+     * @return the number of indexed entities.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Draw the non-empty cells, with the number of entities they contain.
+     *
+     * @param r     the {@link Renderer} instance
+     * @param g     the {@link Graphics2D} API instance
+     * @param scene the {@link Scene} to be processed.
+     */
+    @Override
+    public void draw(Renderer r, Graphics2D g, Scene scene) {
+        g.setFont(g.getFont().deriveFont(8.5f));
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int cell = row * cols + col;
+                int n = cellStart[cell + 1] - cellStart[cell];
+                if (n > 0) {
+                    int x = (int) (originX + col * cellSize);
+                    int y = (int) (originY + row * cellSize);
+                    g.setColor(Color.ORANGE);
+                    g.drawRect(x, y, cellSize, cellSize);
+                    g.drawString("s:" + n, x + 2, y + 10);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Class<? extends GSystem> getSystemName() {
+        return SpatialHashGrid.class;
+    }
+
+    @Override
+    public void initialize(Application app) {
+        // nothing to initialize, the grid is built on the first update.
+    }
+
+    @Override
+    public void dispose() {
+        Arrays.fill(entities, null);
+        size = 0;
+    }
+}
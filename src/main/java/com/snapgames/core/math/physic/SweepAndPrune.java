@@ -0,0 +1,390 @@
+package com.snapgames.core.math.physic;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.snapgames.core.Application;
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.graphics.Renderer;
+import com.snapgames.core.scene.Scene;
+import com.snapgames.core.system.GSystem;
+import com.snapgames.core.system.GSystemManager;
+
+/**
+ * A sweep-and-prune {@link BroadPhase}: the min and max X of each {@link Entity} are kept as endpoints into a sorted
+ * primitive array, persistent from one update to the next.
+ * <p>
+ * On each update, the endpoint values are refreshed and the array is sorted again with an insertion sort. As the
+ * entities only move a little between two updates, the array is nearly sorted and this costs close to a single pass.
+ * A sweep over the endpoints then produces the candidate pairs, whose X intervals overlap, and keeps only those also
+ * overlapping on the Y axis, and whose categories may collide (see {@link CollisionMatrix}).
+ * <p>
+ * The number of pairs appearing or disappearing between two updates is reported as the pair churn.
+ *
+ * <pre>
+ * app.physic.broadphase=sap
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @see BroadPhase
+ * @see CollisionDetection
+ * @since 1.0.5
+ */
+public class SweepAndPrune implements BroadPhase {
+
+    /**
+     * The state of one tracked {@link Entity}.
+     */
+    private static class Proxy {
+        final int id;
+        final Entity<?> entity;
+        double minY, maxY;
+        int stamp;
+        /**
+         * Index of the first neighbour of this proxy into the adjacency array.
+         */
+        int adjStart, adjCount;
+
+        Proxy(int id, Entity<?> entity) {
+            this.id = id;
+            this.entity = entity;
+        }
+    }
+
+    private final Map<Entity<?>, Proxy> proxies = new IdentityHashMap<>();
+    private int nextId;
+    private int stamp;
+
+    /**
+     * Sorted endpoints: value, owner and kind (min or max).
+     */
+    private double[] endValue = new double[0];
+    private Proxy[] endProxy = new Proxy[0];
+    private boolean[] endIsMin = new boolean[0];
+    private int endCount;
+
+    private Proxy[] active = new Proxy[16];
+
+    private Proxy[] pairA = new Proxy[64], pairB = new Proxy[64];
+    private int pairCount;
+    private long[] pairKeys = new long[64], previousKeys = new long[64];
+    private int previousCount;
+    private int churn;
+    private int swaps;
+
+    private Entity<?>[] adjacency = new Entity<?>[128];
+
+    @Override
+    public void update(Scene scene, double elapsed) {
+        PhysicEngine pe = GSystemManager.find(PhysicEngine.class);
+        update(scene.getEntities(), pe.getWorld().getPerturbations());
+    }
+
+    /**
+     * Refresh the endpoints with the entities and perturbations, sort them and compute the overlapping pairs.
+     *
+     * @param entities      the {@link Entity}'s from the Scene.
+     * @param perturbations the {@link com.snapgames.core.math.physic.entity.Perturbation}'s from the World.
+     */
+    public void update(Collection<Entity<?>> entities, Collection<? extends Entity<?>> perturbations) {
+        stamp++;
+        int count = 0;
+        for (Entity<?> e : entities) {
+            track(e);
+            count++;
+        }
+        for (Entity<?> e : perturbations) {
+            track(e);
+            count++;
+        }
+        if (proxies.size() > count) {
+            removeUntracked();
+        }
+        refresh();
+        sort();
+        sweep();
+        buildAdjacency();
+        computeChurn();
+    }
+
+    private void track(Entity<?> e) {
+        Proxy p = proxies.get(e);
+        if (p == null) {
+            p = new Proxy(nextId++, e);
+            proxies.put(e, p);
+            addEndpoint(p, true);
+            addEndpoint(p, false);
+        }
+        p.stamp = stamp;
+    }
+
+    private void addEndpoint(Proxy p, boolean min) {
+        if (endCount == endValue.length) {
+            int capacity = Math.max(32, endCount * 2);
+            endValue = Arrays.copyOf(endValue, capacity);
+            endProxy = Arrays.copyOf(endProxy, capacity);
+            endIsMin = Arrays.copyOf(endIsMin, capacity);
+        }
+        endProxy[endCount] = p;
+        endIsMin[endCount] = min;
+        endValue[endCount] = min ? p.entity.x : p.entity.x + p.entity.width;
+        endCount++;
+    }
+
+    /**
+     * Drop the proxies not seen on this update, and their endpoints, keeping the endpoints order.
+     */
+    private void removeUntracked() {
+        Iterator<Proxy> it = proxies.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().stamp != stamp) {
+                it.remove();
+            }
+        }
+        int j = 0;
+        for (int i = 0; i < endCount; i++) {
+            if (endProxy[i].stamp == stamp) {
+                endValue[j] = endValue[i];
+                endProxy[j] = endProxy[i];
+                endIsMin[j] = endIsMin[i];
+                j++;
+            }
+        }
+        Arrays.fill(endProxy, j, endCount, null);
+        endCount = j;
+    }
+
+    private void refresh() {
+        for (int i = 0; i < endCount; i++) {
+            Proxy p = endProxy[i];
+            Entity<?> e = p.entity;
+            endValue[i] = endIsMin[i] ? e.x : e.x + e.width;
+            p.minY = e.y;
+            p.maxY = e.y + e.height;
+        }
+    }
+
+    /**
+     * Insertion sort of the endpoints, cheap on an almost sorted array. A min endpoint is placed before a max one
+     * with the same value, so that touching intervals are reported.
+     */
+    private void sort() {
+        swaps = 0;
+        for (int i = 1; i < endCount; i++) {
+            double v = endValue[i];
+            Proxy p = endProxy[i];
+            boolean min = endIsMin[i];
+            int j = i - 1;
+            while (j >= 0 && (endValue[j] > v || (endValue[j] == v && min && !endIsMin[j]))) {
+                endValue[j + 1] = endValue[j];
+                endProxy[j + 1] = endProxy[j];
+                endIsMin[j + 1] = endIsMin[j];
+                j--;
+                swaps++;
+            }
+            endValue[j + 1] = v;
+            endProxy[j + 1] = p;
+            endIsMin[j + 1] = min;
+        }
+    }
+
+    private void sweep() {
+        pairCount = 0;
+        int activeCount = 0;
+        for (int i = 0; i < endCount; i++) {
+            Proxy p = endProxy[i];
+            if (endIsMin[i]) {
+                for (int k = 0; k < activeCount; k++) {
+                    Proxy o = active[k];
+                    if (o.minY <= p.maxY && p.minY <= o.maxY && CollisionMatrix.canCollide(o.entity, p.entity)) {
+                        addPair(o, p);
+                    }
+                }
+                if (activeCount == active.length) {
+                    active = Arrays.copyOf(active, activeCount * 2);
+                }
+                active[activeCount++] = p;
+            } else {
+                for (int k = 0; k < activeCount; k++) {
+                    if (active[k] == p) {
+                        active[k] = active[--activeCount];
+                        active[activeCount] = null;
+                        break;
+                    }
+                }
+            }
+        }
+        Arrays.fill(active, 0, activeCount, null);
+    }
+
+    private void addPair(Proxy a, Proxy b) {
+        if (pairCount == pairA.length) {
+            pairA = Arrays.copyOf(pairA, pairCount * 2);
+            pairB = Arrays.copyOf(pairB, pairCount * 2);
+            pairKeys = Arrays.copyOf(pairKeys, pairCount * 2);
+        }
+        pairA[pairCount] = a;
+        pairB[pairCount] = b;
+        int lo = Math.min(a.id, b.id);
+        int hi = Math.max(a.id, b.id);
+        pairKeys[pairCount] = ((long) lo << 32) | (hi & 0xFFFFFFFFL);
+        pairCount++;
+    }
+
+    /**
+     * Build the neighbours list of each proxy from the pairs, to answer {@link SweepAndPrune#find(Entity, Entity[])}.
+     */
+    private void buildAdjacency() {
+        // each proxy owns exactly one min endpoint.
+        for (int i = 0; i < endCount; i++) {
+            endProxy[i].adjCount = 0;
+        }
+        for (int i = 0; i < pairCount; i++) {
+            pairA[i].adjCount++;
+            pairB[i].adjCount++;
+        }
+        int start = 0;
+        for (int i = 0; i < endCount; i++) {
+            if (endIsMin[i]) {
+                Proxy p = endProxy[i];
+                p.adjStart = start;
+                start += p.adjCount;
+                p.adjCount = 0;
+            }
+        }
+        if (adjacency.length < start) {
+            adjacency = new Entity<?>[Math.max(start, adjacency.length * 2)];
+        }
+        for (int i = 0; i < pairCount; i++) {
+            Proxy a = pairA[i], b = pairB[i];
+            adjacency[a.adjStart + a.adjCount++] = b.entity;
+            adjacency[b.adjStart + b.adjCount++] = a.entity;
+        }
+    }
+
+    /**
+     * Count the pairs appearing or disappearing since the previous update, by merging the sorted pair keys.
+     */
+    private void computeChurn() {
+        Arrays.sort(pairKeys, 0, pairCount);
+        int i = 0, j = 0, common = 0;
+        while (i < pairCount && j < previousCount) {
+            if (pairKeys[i] == previousKeys[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (pairKeys[i] < previousKeys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        churn = (pairCount - common) + (previousCount - common);
+        if (previousKeys.length < pairCount) {
+            previousKeys = new long[pairKeys.length];
+        }
+        System.arraycopy(pairKeys, 0, previousKeys, 0, pairCount);
+        previousCount = pairCount;
+    }
+
+    @Override
+    public int find(Entity<?> e, Entity<?>[] buffer) {
+        Proxy p = proxies.get(e);
+        if (p == null) {
+            return 0;
+        }
+        int n = Math.min(p.adjCount, buffer.length);
+        System.arraycopy(adjacency, p.adjStart, buffer, 0, n);
+        return p.adjCount;
+    }
+
+    /**
+     * Walk the sorted min endpoints up to the right of the area, keeping the entities overlapping it.
+     */
+    @Override
+    public int find(Rectangle2D area, Entity<?>[] buffer) {
+        int count = 0;
+        double minX = area.getX(), maxX = area.getMaxX();
+        double minY = area.getY(), maxY = area.getMaxY();
+        for (int i = 0; i < endCount && endValue[i] <= maxX; i++) {
+            if (endIsMin[i]) {
+                Proxy p = endProxy[i];
+                if (p.entity.x + p.entity.width >= minX && p.minY <= maxY && minY <= p.maxY) {
+                    if (count < buffer.length) {
+                        buffer[count] = p.entity;
+                    }
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Number of overlapping pairs found on the last update.
+     *
+     * @return the number of pairs.
+     */
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    /**
+     * Number of pairs which appeared or disappeared between the last two updates.
+     *
+     * @return the pair churn.
+     */
+    public int getPairChurn() {
+        return churn;
+    }
+
+    /**
+     * Number of endpoint moves done by the last sort, close to 0 on a coherent scene.
+     *
+     * @return the number of swaps.
+     */
+    public int getSwapCount() {
+        return swaps;
+    }
+
+    /**
+     * Draw the X intervals of the tracked entities at the top of the play area.
+     *
+     * @param r     the {@link Renderer} instance
+     * @param g     the {@link Graphics2D} API instance
+     * @param scene the {@link Scene} to be processed.
+     */
+    @Override
+    public void draw(Renderer r, Graphics2D g, Scene scene) {
+        g.setColor(Color.ORANGE);
+        for (int i = 0; i < endCount; i++) {
+            int x = (int) endValue[i];
+            g.drawLine(x, 0, x, endIsMin[i] ? 4 : 8);
+        }
+    }
+
+    @Override
+    public Class<? extends GSystem> getSystemName() {
+        return SweepAndPrune.class;
+    }
+
+    @Override
+    public void initialize(Application app) {
+        // nothing to initialize, endpoints are added on the first update.
+    }
+
+    @Override
+    public void dispose() {
+        proxies.clear();
+        Arrays.fill(endProxy, null);
+        endCount = 0;
+        pairCount = 0;
+        previousCount = 0;
+    }
+}
@@ -26,6 +26,10 @@ public class World {
     private Material material = Material.AIR;
 
     public List<Entity<?>> perturbations = new ArrayList<>();
+    /**
+     * Incremented on each change of the perturbations.
+     */
+    private int version;
 
     public World(String name) {
         this.name = name;
@@ -38,14 +42,31 @@ public class World {
 
     public World setPlayArea(Rectangle2D pa) {
         this.playArea = pa;
+        version++;
         return this;
     }
 
     public World add(Perturbation p) {
         this.perturbations.add(p);
+        version++;
         return this;
     }
 
+    public World remove(Perturbation p) {
+        this.perturbations.remove(p);
+        version++;
+        return this;
+    }
+
+    /**
+     * Retrieve the version of the perturbations list and play area, to detect any change.
+     *
+     * @return the current version number.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     public Vector2D getGravity() {
         return gravity;
     }
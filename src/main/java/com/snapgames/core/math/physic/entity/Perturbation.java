@@ -23,7 +23,16 @@ import java.util.List;
  */
 public class Perturbation extends Entity<Perturbation> {
     private double attraction;
+    private final Vector2D force = new Vector2D();
     private final List<Integer> impactedlayers = new ArrayList<>();
+    /**
+     * The impacted layers from 0 to 63, as bits.
+     */
+    private long layerMask;
+    /**
+     * Some impacted layers are out of the mask range, and must be searched into the list.
+     */
+    private boolean outOfMask;
 
     /**
      * Create a {@link Perturbation} with a name on defined rectangular area (x,y,w,h)
@@ -51,7 +60,9 @@ public class Perturbation extends Entity<Perturbation> {
      */
     public Perturbation(String name, double x, double y, double w, double h, int... impactedLayers) {
         super(name, x, y, w, h);
-        this.impactedlayers.addAll(impactedlayers);
+        for (int layer : impactedLayers) {
+            addLayer(layer);
+        }
     }
 
     /**
@@ -66,16 +77,26 @@ public class Perturbation extends Entity<Perturbation> {
     }
 
     /**
-     * Define a force applied to any {@link Entity} contained by this {@link Perturbation}
+     * Define a force applied to any {@link Entity} contained by this {@link Perturbation}. Successive calls add
+     * their forces.
      *
      * @param f the Vector2D force to be applied to contained {@link Entity}.
      * @return updated {@link Perturbation} object.
      */
     public Perturbation setForce(Vector2D f) {
-        this.forces.add(f);
+        this.force.addLocal(f);
         return this;
     }
 
+    /**
+     * Retrieve the force applied to any {@link Entity} contained by this {@link Perturbation}.
+     *
+     * @return the force to be applied.
+     */
+    public Vector2D getForce() {
+        return force;
+    }
+
     /**
      * Test if the e {@link Entity} is contained by the {@link Perturbation}.
      *
@@ -85,8 +106,28 @@ public class Perturbation extends Entity<Perturbation> {
     public boolean isEntityConstrained(Entity e) {
         // check if entity intersect or is contained by the Perturbation
         // AND check Entity on its own layer matches the perturbation layer, if defined.
-        return (this.contains(e) || this.intersects(e))
-                && (getLayers().size() > 0 ? getLayers().stream().anyMatch(l -> l == e.getLayer()) : getLayers().size() == 0 ? true : false);
+        return this.intersects(e) && isLayerImpacted(e.getLayer());
+    }
+
+    /**
+     * Test if a layer is impacted by this {@link Perturbation}: all the layers are if none was defined.
+     *
+     * @param layer the layer to be tested.
+     * @return true if the entities on this layer are impacted.
+     */
+    public boolean isLayerImpacted(int layer) {
+        if (layer >= 0 && layer < 64 && (layerMask & (1L << layer)) != 0) {
+            return true;
+        }
+        if (outOfMask) {
+            for (int i = 0; i < impactedlayers.size(); i++) {
+                if (impactedlayers.get(i) == layer) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return layerMask == 0;
     }
 
     /**
@@ -97,6 +138,11 @@ public class Perturbation extends Entity<Perturbation> {
      */
     public Perturbation addLayer(int layerId) {
         impactedlayers.add(layerId);
+        if (layerId >= 0 && layerId < 64) {
+            layerMask |= 1L << layerId;
+        } else {
+            outOfMask = true;
+        }
         return this;
     }
 
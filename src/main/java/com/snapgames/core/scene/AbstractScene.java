@@ -4,10 +4,13 @@ import com.snapgames.core.Application;
 import com.snapgames.core.behavior.SceneBehavior;
 import com.snapgames.core.entity.Camera;
 import com.snapgames.core.entity.Entity;
+import com.snapgames.core.entity.EntityStore;
 import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.graphics.RenderQueue;
 import com.snapgames.core.graphics.Renderer;
 import com.snapgames.core.input.InputHandler;
-import com.snapgames.core.math.physic.SpacePartition;
+import com.snapgames.core.math.physic.BroadPhase;
+import com.snapgames.core.math.physic.CollisionDetection;
 import com.snapgames.core.math.physic.World;
 import com.snapgames.core.system.GSystemManager;
 
@@ -33,15 +36,47 @@ public abstract class AbstractScene implements Scene {
      * the map of entities maintained for this Scene implementation.
      */
     private final Map<String, Entity<? extends Entity<?>>> entities = new ConcurrentHashMap<>();
+    /**
+     * The entities into their drawing order, and the ones sticking to the camera, maintained on add and remove.
+     */
+    private final RenderQueue renderQueue = new RenderQueue();
     /**
      * The list of behaviors for this scene.
      */
     private Collection<SceneBehavior> behaviors = new ArrayList<>();
+    /**
+     * The optional packed storage for entities physic state.
+     */
+    private EntityStore store;
 
     @Override
     public void addEntity(Entity<?> e) {
-        entities.put(e.name, e);
-        e.child.forEach(c -> entities.put(c.name, c));
+        putEntity(e);
+        e.child.forEach(this::putEntity);
+    }
+
+    private void putEntity(Entity<?> e) {
+        Entity<?> previous = entities.put(e.name, e);
+        if (previous != null && previous != e) {
+            renderQueue.remove(previous);
+        }
+        renderQueue.add(e);
+        if (store != null) {
+            if (previous != null && previous != e) {
+                store.detach(previous);
+            }
+            store.attach(e);
+        }
+    }
+
+    @Override
+    public void removeEntity(Entity<?> e) {
+        if (entities.remove(e.name, e)) {
+            renderQueue.remove(e);
+            if (store != null) {
+                store.detach(e);
+            }
+        }
     }
 
 
@@ -57,7 +92,7 @@ public abstract class AbstractScene implements Scene {
 
     @Override
     public void dispose() {
-        entities.clear();
+        clearScene();
     }
 
     @Override
@@ -70,6 +105,16 @@ public abstract class AbstractScene implements Scene {
         return this.activeCamera;
     }
 
+    @Override
+    public RenderQueue getRenderQueue() {
+        return renderQueue;
+    }
+
+    @Override
+    public Collection<Entity<?>> getStickToCameraEntities() {
+        return renderQueue.getStickToCameraEntities();
+    }
+
     @Override
     public Entity<? extends Entity> getEntity(String entityName) {
         return entities.get(entityName);
@@ -77,6 +122,26 @@ public abstract class AbstractScene implements Scene {
 
     public void clearScene() {
         entities.clear();
+        renderQueue.clear();
+        if (store != null) {
+            store.clear();
+        }
+    }
+
+    /**
+     * Define the packed {@link EntityStore} to be used for this {@link Scene}. All the already existing entities
+     * are attached to it.
+     *
+     * @param s the {@link EntityStore} instance to be used.
+     */
+    public void setEntityStore(EntityStore s) {
+        this.store = s;
+        entities.values().forEach(s::attach);
+    }
+
+    @Override
+    public EntityStore getEntityStore() {
+        return store;
     }
 
     @Override
@@ -91,11 +156,11 @@ public abstract class AbstractScene implements Scene {
 
     @Override
     public void draw(Application app, Graphics2D g, Map<String, Object> stats) {
-        SpacePartition sp = GSystemManager.find(SpacePartition.class);
+        BroadPhase bp = ((CollisionDetection) GSystemManager.find(CollisionDetection.class)).getBroadPhase();
         Renderer r = GSystemManager.find(Renderer.class);
         if (app.isDebugAtLeast(2)) {
             r.moveFromCameraPoV(g, getActiveCamera(), -1);
-            sp.draw(r, g, this);
+            bp.draw(r, g, this);
             r.moveFromCameraPoV(g, getActiveCamera(), 1);
         }
     }
@@ -4,6 +4,8 @@ import com.snapgames.core.Application;
 import com.snapgames.core.behavior.SceneBehavior;
 import com.snapgames.core.entity.Camera;
 import com.snapgames.core.entity.Entity;
+import com.snapgames.core.entity.EntityStore;
+import com.snapgames.core.graphics.RenderQueue;
 import com.snapgames.core.input.InputHandler;
 import com.snapgames.core.math.physic.World;
 
@@ -82,6 +84,13 @@ public interface Scene {
      */
     void addEntity(Entity<?> entity);
 
+    /**
+     * Remove an {@link Entity} from the {@link Scene}.
+     *
+     * @param entity the {@link Entity} instance to be removed from the scene management.
+     */
+    void removeEntity(Entity<?> entity);
+
     /**
      * If default {@link World} instance must be adapted to match your gameplay requirement.
      *
@@ -103,6 +112,22 @@ public interface Scene {
      */
     Collection<Entity<?>> getEntities();
 
+    /**
+     * Retrieve the entities sticking to the camera viewport (HUD, texts, ...), drawn whatever the camera position.
+     *
+     * @return the collection of entities sticking to the camera.
+     */
+    default Collection<Entity<?>> getStickToCameraEntities() {
+        return getEntities().stream().filter(e -> e.stickToCamera).toList();
+    }
+
+    /**
+     * Retrieve the {@link RenderQueue} keeping the entities of this Scene in their drawing order.
+     *
+     * @return the {@link RenderQueue} of the Scene.
+     */
+    RenderQueue getRenderQueue();
+
     /**
      * Retrieve the list collection of scene behavior attached to this scene.
      *
@@ -122,4 +147,11 @@ public interface Scene {
      * Clear all entities from the scene.
      */
     void clearScene();
+
+    /**
+     * Retrieve the packed {@link EntityStore} used to process this {@link Scene}'s entities.
+     *
+     * @return the {@link EntityStore} instance, or null if the entities are not packed.
+     */
+    EntityStore getEntityStore();
 }
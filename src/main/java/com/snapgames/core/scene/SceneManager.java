@@ -1,6 +1,7 @@
 package com.snapgames.core.scene;
 
 import com.snapgames.core.Application;
+import com.snapgames.core.entity.EntityStore;
 import com.snapgames.core.system.GSystem;
 
 import java.util.HashMap;
@@ -26,6 +27,9 @@ public class SceneManager implements GSystem {
 
     public SceneManager add(Scene s) {
         this.scenes.put(s.getName(), s);
+        if (application.getConfiguration().physicPackedStore && s instanceof AbstractScene as) {
+            as.setEntityStore(new EntityStore(application.getConfiguration().physicStoreCapacity));
+        }
         System.out.printf(">> <!> Add Scene '%s'(%s)%n", s.getName(), s.getClass().getName());
         if (!Optional.ofNullable(this.current).isPresent()) {
             setCurrentScene(s);
@@ -89,6 +89,80 @@ public class Configuration extends ConcurrentHashMap<String, Object> {
      * {@link com.snapgames.core.math.physic.SpacePartition}: define the maximum depth level in the tree.
      */
     public int maxLevelsInSpace;
+    /**
+     * {@link com.snapgames.core.math.physic.SpacePartition}: keep the tree between updates and only move the
+     * entities that left their node.
+     */
+    public boolean spaceIncremental;
+    /**
+     * {@link com.snapgames.core.math.physic.CollisionDetection}: the broadphase implementation to be used,
+     * <code>quadtree</code>, <code>grid</code> or <code>sap</code>.
+     */
+    public String broadPhase;
+    /**
+     * {@link com.snapgames.core.math.physic.SpatialHashGrid}: size of a grid cell.
+     */
+    public int gridCellSize;
+    /**
+     * {@link com.snapgames.core.math.physic.CollisionEventBuffer}: number of preallocated collision events.
+     */
+    public int collisionEventsCapacity;
+    /**
+     * {@link com.snapgames.core.math.physic.CollisionEventBuffer}: policy on overflow, <code>drop</code>,
+     * <code>overwrite</code> or <code>grow</code>.
+     */
+    public String collisionEventsOverflow;
+    /**
+     * {@link com.snapgames.core.math.physic.CollisionMatrix}: categories of entities colliding with each other, as
+     * <code>category:other1,other2;...</code> entries.
+     */
+    public String collisionMatrix;
+    /**
+     * {@link com.snapgames.core.math.physic.CollisionResolver}: resolve the collisions between entities.
+     */
+    public boolean resolverEnabled;
+    /**
+     * {@link com.snapgames.core.math.physic.CollisionResolver}: number of velocity iterations over the contacts.
+     */
+    public int resolverIterations;
+    /**
+     * {@link com.snapgames.core.math.physic.CollisionResolver}: part of the overlap corrected on each update.
+     */
+    public double resolverCorrection;
+    /**
+     * {@link com.snapgames.core.math.physic.CollisionResolver}: overlap depth allowed without correction.
+     */
+    public double resolverSlop;
+    /**
+     * {@link com.snapgames.core.math.physic.PhysicEngine}: put the resting entities to sleep.
+     */
+    public boolean sleepEnabled;
+    /**
+     * {@link com.snapgames.core.math.physic.PhysicEngine}: number of quiet updates before an entity falls asleep.
+     */
+    public int sleepTicks;
+    /**
+     * {@link com.snapgames.core.math.physic.PhysicEngine}: velocity under which an entity in contact is quiet.
+     */
+    public double sleepVelocity;
+    /**
+     * {@link com.snapgames.core.math.physic.PhysicEngine}: process the {@link com.snapgames.core.scene.Scene}'s
+     * entities through a packed {@link com.snapgames.core.entity.EntityStore}.
+     */
+    public boolean physicPackedStore;
+    /**
+     * {@link com.snapgames.core.entity.EntityStore}: initial number of slots in the packed store.
+     */
+    public int physicStoreCapacity;
+    /**
+     * {@link com.snapgames.core.math.physic.ForceAccumulator}: record each force contributor for debug display.
+     */
+    public boolean physicDebugForces;
+    /**
+     * {@link com.snapgames.core.math.physic.PhysicEngine}: number of threads processing the entities (0 for one per
+     * available processor).
+     */
+    public int physicThreads;
 
     /**
      * targeted frame-per-second rate
@@ -98,6 +172,42 @@ public class Configuration extends ConcurrentHashMap<String, Object> {
      * targeted update-per-second rate.
      */
     public int ups;
+    /**
+     * {@link com.snapgames.core.loop.GameLoop} implementation to be used: <code>standard</code> or <code>fixed</code>.
+     */
+    public String gameLoop;
+    /**
+     * {@link com.snapgames.core.loop.FixedStepGameLoop}: maximum number of updates to catch up in one frame.
+     */
+    public int maxCatchUpSteps;
+    /**
+     * {@link com.snapgames.core.graphics.Renderer}: draw on a dedicated render thread from the snapshots published
+     * by the update thread.
+     */
+    public boolean renderPipelined;
+    /**
+     * {@link com.snapgames.core.graphics.Renderer}: draw to an accelerated {@link java.awt.image.VolatileImage} back
+     * buffer when available.
+     */
+    public boolean renderAccelerated;
+    /**
+     * {@link com.snapgames.core.graphics.TextSpriteCache}: maximum number of prerendered texts to be kept.
+     */
+    public int textCacheSize;
+    /**
+     * {@link com.snapgames.core.graphics.RenderQuality}: the default rendering profile, and its overrides by layer.
+     */
+    public String renderQuality;
+    public String renderQualityLayers;
+    /**
+     * {@link com.snapgames.core.graphics.StaticLayer}: render the play area grid and the perturbation areas once,
+     * until the World changes.
+     */
+    public boolean renderStaticLayer;
+    /**
+     * {@link com.snapgames.core.graphics.TextureAtlas}: path of the sprites atlas descriptor, empty for none.
+     */
+    public String atlas;
     /**
      * Define an {@link com.snapgames.core.entity.Entity}'s name-based filtering for a debug display process.
      */
@@ -188,10 +298,53 @@ public class Configuration extends ConcurrentHashMap<String, Object> {
 
         fps = getParsedInt(config, "app.render.fps", "60");
         ups = getParsedInt(config, "app.physic.ups", "120");
+        // Game loop implementation
+        gameLoop = config.getProperty("app.loop", "standard");
+        maxCatchUpSteps = getParsedInt(config, "app.loop.max.steps", "5");
+        // Rendering on its own thread
+        renderPipelined = getParsedBoolean(config, "app.render.pipelined", "false");
+        // Accelerated back buffer
+        renderAccelerated = getParsedBoolean(config, "app.render.accelerated", "true");
+        // Rendering quality profiles
+        renderQuality = config.getProperty("app.render.quality", "quality");
+        renderQualityLayers = config.getProperty("app.render.quality.layers", "");
+        // Cached static background
+        renderStaticLayer = getParsedBoolean(config, "app.render.static.layer", "true");
+        // Prerendered texts cache
+        textCacheSize = getParsedInt(config, "app.render.text.cache.size", "128");
+        // Sprites atlas
+        atlas = config.getProperty("app.render.atlas", "");
 
         maxEntitiesInSpace = getParsedInt(config, "app.physic.space.max.entities", "10");
 
         maxLevelsInSpace = getParsedInt(config, "app.physic.space.max.levels", "5");
+        // Incremental space partitioning
+        spaceIncremental = getParsedBoolean(config, "app.physic.space.incremental", "false");
+        // Broadphase selection for collision detection
+        broadPhase = config.getProperty("app.physic.broadphase", "quadtree");
+        gridCellSize = getParsedInt(config, "app.physic.grid.cell.size", "32");
+        // Collision events buffer
+        collisionEventsCapacity = getParsedInt(config, "app.physic.collision.events.capacity", "1024");
+        collisionEventsOverflow = config.getProperty("app.physic.collision.events.overflow", "drop");
+        // Collision categories matrix
+        collisionMatrix = config.getProperty("app.physic.collision.matrix", "");
+        // Collision resolution
+        resolverEnabled = getParsedBoolean(config, "app.physic.resolver", "false");
+        resolverIterations = getParsedInt(config, "app.physic.resolver.iterations", "4");
+        resolverCorrection = getParsedDouble(config, "app.physic.resolver.correction", "0.8");
+        resolverSlop = getParsedDouble(config, "app.physic.resolver.slop", "0.01");
+        // Sleeping entities
+        sleepEnabled = getParsedBoolean(config, "app.physic.sleep", "false");
+        sleepTicks = getParsedInt(config, "app.physic.sleep.ticks", "60");
+        sleepVelocity = getParsedDouble(config, "app.physic.sleep.velocity", "0.05");
+
+        // Packed entity store for physic processing.
+        physicPackedStore = getParsedBoolean(config, "app.physic.store.packed", "false");
+        physicStoreCapacity = getParsedInt(config, "app.physic.store.capacity", "1024");
+        // Force contributors recording for debug.
+        physicDebugForces = getParsedBoolean(config, "app.physic.debug.forces", "false");
+        // Number of threads for entities processing.
+        physicThreads = getParsedInt(config, "app.physic.threads", "1");
     }
 
     /**
@@ -16,10 +16,11 @@ import com.snapgames.core.math.physic.CollisionEvent;
  */
 public class BallResponseBehavior implements CollisionResponseBehavior {
 
-    private String filter="";
-
-    public BallResponseBehavior(String filter) {
-        this.filter = filter;
+    /**
+     * Create the response of a ball, colliding with the categories of the <code>ball</code> one into the
+     * {@link com.snapgames.core.math.physic.CollisionMatrix}.
+     */
+    public BallResponseBehavior() {
     }
 
     @Override
@@ -27,7 +28,13 @@ public class BallResponseBehavior implements CollisionResponseBehavior {
         double energy = ce.getEntity1().getAttribute("energy", 100.0);
         energy -= 10.0;
         ce.getEntity1().setAttribute("energy", energy);
-        ce.getEntity1().setSpeed(ce.getEntity1().getVelocity().multiply(-1 * ce.getEntity1().getMaterial().getDensity()));
+        // bounce on the contact normal, the velocity along the normal being reversed and scaled by the density.
+        Entity<?> ball = ce.getEntity1();
+        double vn = ball.getVelocity().x * ce.getNormalX() + ball.getVelocity().y * ce.getNormalY();
+        if (vn > 0) {
+            double k = (1 + ball.getMaterial().getDensity()) * vn;
+            ball.setSpeed(ball.getVelocity().x - k * ce.getNormalX(), ball.getVelocity().y - k * ce.getNormalY());
+        }
         if (energy <= 0.0) {
             ce.getEntity1().setEnabled(false);
             int score = ce.getEntity2().getAttribute("score", 0);
@@ -37,7 +44,7 @@ public class BallResponseBehavior implements CollisionResponseBehavior {
 
     @Override
     public boolean filter(CollisionEvent ce) {
-        return filter.contains(ce.getEntity2().getName());
+        return true;
     }
 
     /**
@@ -4,6 +4,8 @@ import com.snapgames.core.behavior.Behavior;
 import com.snapgames.core.entity.Entity;
 import com.snapgames.core.entity.GameObject;
 import com.snapgames.core.math.Vector2D;
+import com.snapgames.core.math.Vector2DPool;
+import com.snapgames.core.math.physic.CommandBuffer;
 
 /**
  * An Enemy behavior design to track a target with a specific acceleration factor.
@@ -15,6 +17,7 @@ public class EnemyBehavior implements Behavior<GameObject> {
 
     private final GameObject target;
     private final double speedFactor;
+    private final CommandBuffer.Command track = this::track;
 
     /**
      * Create a new {@link EnemyBehavior} targeting the target entity with an acceleration equals to the distance
@@ -30,7 +33,21 @@ public class EnemyBehavior implements Behavior<GameObject> {
 
     @Override
     public void update(Entity<?> e, double elapsed) {
-        Vector2D distance = target.getPosition().substract(e.getPosition());
-        e.addForce(distance.multiply(speedFactor));
+        CommandBuffer.defer(track, e, elapsed);
+    }
+
+    /**
+     * Push the e {@link Entity} toward the target. As the target position is read, it is executed through the
+     * {@link CommandBuffer}, once all the entities have been processed.
+     *
+     * @param e       the enemy {@link Entity}.
+     * @param elapsed the elapsed time since previous call.
+     */
+    private void track(Entity<?> e, double elapsed) {
+        Vector2DPool pool = Vector2DPool.get();
+        int mark = pool.mark();
+        Vector2D distance = pool.obtain(target.getPosition()).subLocal(e.getPosition()).scaleLocal(speedFactor);
+        e.addForce(distance.x, distance.y);
+        pool.release(mark);
     }
 }
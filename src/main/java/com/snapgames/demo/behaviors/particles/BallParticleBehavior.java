@@ -4,10 +4,12 @@ import com.snapgames.core.behavior.ParticleBehavior;
 import com.snapgames.core.entity.Entity;
 import com.snapgames.core.entity.GameObject;
 import com.snapgames.core.entity.GameObjectType;
-import com.snapgames.core.math.Vector2D;
+import com.snapgames.core.math.physic.CollisionDetection;
+import com.snapgames.core.math.physic.CommandBuffer;
 import com.snapgames.core.math.physic.Material;
 import com.snapgames.core.math.physic.PhysicType;
 import com.snapgames.core.math.physic.World;
+import com.snapgames.core.system.GSystemManager;
 import com.snapgames.core.utils.particles.ParticleSystemBuilder;
 
 import java.awt.Color;
@@ -24,6 +26,7 @@ public class BallParticleBehavior implements ParticleBehavior<GameObject> {
     private int internalTime = 0;
     private final double ballForce;
     private final double appFreq;
+    private final CommandBuffer.Command push = this::push;
 
     /**
      * Create a new animation behavior for a Particle System created with the
@@ -43,7 +46,7 @@ public class BallParticleBehavior implements ParticleBehavior<GameObject> {
     public GameObject create(World parentWorld, double elapsed, String particleNamePrefix,
                              GameObject parent) {
 
-        return new GameObject(
+        GameObject ball = new GameObject(
             particleNamePrefix + "_" + GameObject.index)
             .setPosition(
                 Math.random() * parentWorld.getPlayArea().getWidth(),
@@ -62,9 +65,10 @@ public class BallParticleBehavior implements ParticleBehavior<GameObject> {
             .addBehavior(this)
             .setAttribute("energy", Math.random() * 20.0)
             .addForce(
-                new Vector2D(
-                    -0.15 + Math.random() * 0.30,
-                    -0.15 + Math.random() * 0.30));
+                -0.15 + Math.random() * 0.30,
+                -0.15 + Math.random() * 0.30);
+        ((CollisionDetection) GSystemManager.find(CollisionDetection.class)).getMatrix().apply(ball, "ball");
+        return ball;
     }
 
     /**
@@ -75,13 +79,23 @@ public class BallParticleBehavior implements ParticleBehavior<GameObject> {
      */
     @Override
     public void update(Entity<?> e, double elapsed) {
+        CommandBuffer.defer(push, e, elapsed);
+    }
+
+    /**
+     * Push the e ball on the defined frequency. As the internal time is shared by all the balls, it is executed
+     * through the {@link CommandBuffer}.
+     *
+     * @param e       the ball {@link Entity}.
+     * @param elapsed the elapsed time since previous call.
+     */
+    private void push(Entity<?> e, double elapsed) {
         internalTime += (int) elapsed;
         if (internalTime > appFreq) {
             internalTime = 0;
             e.addForce(
-                new Vector2D(
-                    -(ballForce) + Math.random() * ballForce * 2.0,
-                    -(ballForce) + Math.random() * ballForce * 2.0));
+                -(ballForce) + Math.random() * ballForce * 2.0,
+                -(ballForce) + Math.random() * ballForce * 2.0);
         }
     }
 }
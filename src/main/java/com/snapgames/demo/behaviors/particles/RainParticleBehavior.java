@@ -5,14 +5,13 @@ import com.snapgames.core.behavior.ParticleBehavior;
 import com.snapgames.core.entity.Entity;
 import com.snapgames.core.entity.GameObject;
 import com.snapgames.core.entity.GameObjectType;
-import com.snapgames.core.math.Vector2D;
 import com.snapgames.core.math.physic.*;
+import com.snapgames.core.math.physic.entity.Perturbation;
 import com.snapgames.core.scene.Scene;
 import com.snapgames.core.scene.SceneManager;
 import com.snapgames.core.system.GSystemManager;
 
 import java.awt.*;
-import java.awt.geom.Point2D;
 
 /**
  * Create a particle system animation behavior of rain drops. To be created with
@@ -23,23 +22,39 @@ import java.awt.geom.Point2D;
  */
 public class RainParticleBehavior implements ParticleBehavior<GameObject>, CollisionResponseBehavior {
 
+    /**
+     * Rain drop colors, from the back layer 10 to the front layer 18.
+     */
+    private static final Color[] LAYER_COLORS = new Color[9];
+
+    static {
+        for (int i = 0; i < LAYER_COLORS.length; i++) {
+            LAYER_COLORS[i] = new Color(i * 0.1f, i * 0.1f, i * 0.1f, i * 0.1f);
+        }
+    }
+
     private final double accFactor;
-    private final String collisionFilter;
+    private final String category;
+    private double particleTime = 0.0;
+    private final CommandBuffer.Command spawn = this::spawn;
 
     /**
      * Create a new Animation behavior for a Rain simulator particle system.
+     *
+     * @param accelerationFactorY factor applied to the gravity to define the falling force of a drop.
+     * @param category            the collision category of the drops into the
+     *                            {@link com.snapgames.core.math.physic.CollisionMatrix}.
      */
-    public RainParticleBehavior(double accelerationFactorY, String collisionFilter) {
+    public RainParticleBehavior(double accelerationFactorY, String category) {
         this.accFactor = accelerationFactorY;
-        this.collisionFilter = collisionFilter;
-
+        this.category = category;
     }
 
     @Override
     public GameObject create(World parentWorld, double elapsed, String particleNamePrefix,
                              GameObject parent) {
 
-        return new GameObject(
+        GameObject drop = new GameObject(
             particleNamePrefix + "_" + GameObject.index)
             .setPosition(
                 Math.random() * parentWorld.getPlayArea().getWidth(),
@@ -56,7 +71,11 @@ public class RainParticleBehavior implements ParticleBehavior<GameObject>, Colli
             .setMass(1.0)
             .setParent(parent)
             .addBehavior(this)
-            .addForce(new Vector2D(0.0, Math.random() * accFactor * parentWorld.getGravity().y));
+            // a drop moves by more than its size on each update: sweep its move to hit the water.
+            .setContinuous(true)
+            .addForce(0.0, Math.random() * accFactor * parentWorld.getGravity().y);
+        ((CollisionDetection) GSystemManager.find(CollisionDetection.class)).getMatrix().apply(drop, category);
+        return drop;
     }
 
     /**
@@ -67,47 +86,75 @@ public class RainParticleBehavior implements ParticleBehavior<GameObject>, Colli
      */
     @Override
     public void update(Entity<?> e, double elapsed) {
-        Scene scene = ((SceneManager) GSystemManager.find(SceneManager.class)).getCurrent();
         World parentWorld = ((PhysicEngine) GSystemManager.find(PhysicEngine.class)).getWorld();
 
-        int layer = e.getLayer();
-        float layerColor = (layer - 10) * 0.1f;
-        e.setColor(new Color(layerColor, layerColor, layerColor, layerColor));
-        if (!parentWorld.getPlayArea().getBounds2D().contains(new Point2D.Double(e.x, e.y))) {
-            e.setOldPosition(e.x, e.y);
-            if (Math.random() > 0.3) {
-                e.setPosition(parentWorld.getPlayArea().getWidth() * Math.random(),
-                    Math.random() * parentWorld.getPlayArea().getHeight() * 0.1);
-            } else {
-                e.setPosition(parentWorld.getPlayArea().getWidth() * Math.random() * 0.1,
-                    Math.random() * parentWorld.getPlayArea().getHeight());
-            }
+        int layer = e.getLayer() - 10;
+        if (layer >= 0 && layer < LAYER_COLORS.length) {
+            e.setColor(LAYER_COLORS[layer]);
+        } else {
+            float layerColor = layer * 0.1f;
+            e.setColor(new Color(layerColor, layerColor, layerColor, layerColor));
+        }
+        if (!parentWorld.getPlayArea().contains(e.x, e.y)) {
+            recycle(e, parentWorld);
         }
+        CommandBuffer.defer(spawn, e, elapsed);
+    }
+
+    /**
+     * Move the rain drop back to a new start position.
+     *
+     * @param e           the rain drop {@link Entity}.
+     * @param parentWorld the {@link World} containing the drop.
+     */
+    private void recycle(Entity<?> e, World parentWorld) {
+        e.setOldPosition(e.x, e.y);
+        if (Math.random() > 0.3) {
+            e.setPosition(parentWorld.getPlayArea().getWidth() * Math.random(),
+                Math.random() * parentWorld.getPlayArea().getHeight() * 0.1);
+        } else {
+            e.setPosition(parentWorld.getPlayArea().getWidth() * Math.random() * 0.1,
+                Math.random() * parentWorld.getPlayArea().getHeight());
+        }
+    }
+
+    /**
+     * Create new rain drops into the particle system of the e {@link Entity}, if needed. As it changes the shared
+     * particle system and the {@link Scene}, it is executed through the {@link CommandBuffer}.
+     *
+     * @param e       the rain drop {@link Entity}.
+     * @param elapsed the elapsed time since previous call.
+     */
+    private void spawn(Entity<?> e, double elapsed) {
+        Scene scene = ((SceneManager) GSystemManager.find(SceneManager.class)).getCurrent();
+        World parentWorld = ((PhysicEngine) GSystemManager.find(PhysicEngine.class)).getWorld();
         GameObject parent = (GameObject) e.parent;
-        double time = parent.getAttribute("particleTime", 0.0);
-        double particleTimeCycle = parent.getAttribute("particleTimeCycle", 980.0);
-        double particleFreq = parent.getAttribute("particleFreq", 0.005);
-        time += elapsed;
+        double particleTimeCycle = parent.getDoubleAttribute("particleTimeCycle", 980.0);
+        double particleFreq = parent.getDoubleAttribute("particleFreq", 0.005);
+        particleTime += elapsed;
         int nbP = parent.getAttribute("nbParticles", 0);
-        if (parent.getChild().size() < nbP && time > particleTimeCycle) {
+        if (parent.getChild().size() < nbP && particleTime > particleTimeCycle) {
             for (int i = 0; i < nbP * particleFreq; i++) {
                 GameObject particle = this.create(parentWorld, 0, parent.name, parent);
                 parent.addChild(particle);
                 scene.addEntity(particle);
             }
-            time = 0;
+            particleTime = 0;
         }
-        parent.setAttribute("particleTime", time);
     }
 
     @Override
     public void response(CollisionEvent ce) {
-
-        ce.getEntity2().setActive(false);
+        if (ce.getEntity2() instanceof Perturbation) {
+            // the drop falls into the water, and restarts from the sky.
+            recycle(ce.getEntity1(), ((PhysicEngine) GSystemManager.find(PhysicEngine.class)).getWorld());
+        } else {
+            ce.getEntity2().setActive(false);
+        }
     }
 
     @Override
     public boolean filter(CollisionEvent ce) {
-        return collisionFilter.contains(ce.getEntity2().getName());
+        return true;
     }
 }
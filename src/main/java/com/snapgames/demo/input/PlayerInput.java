@@ -4,7 +4,6 @@ import com.snapgames.core.Application;
 import com.snapgames.core.entity.Entity;
 import com.snapgames.core.input.InputHandler;
 import com.snapgames.core.input.InputInterface;
-import com.snapgames.core.math.Vector2D;
 import com.snapgames.core.scene.Scene;
 import com.snapgames.core.scene.SceneManager;
 import com.snapgames.core.system.GSystemManager;
@@ -47,26 +46,27 @@ public class PlayerInput implements InputInterface {
                 }
             } else {
                 if (ih.isKeyPressed(KeyEvent.VK_UP)) {
-                    player.addForce(new Vector2D(0.0, -step * jumpFactor));
+                    player.addForce(0.0, -step * jumpFactor);
                     moving = true;
                 }
                 if (ih.isKeyPressed(KeyEvent.VK_DOWN)) {
-                    player.addForce(new Vector2D(0.0, step));
+                    player.addForce(0.0, step);
                     moving = true;
                 }
             }
 
             if (ih.isKeyPressed(KeyEvent.VK_LEFT)) {
-                player.addForce(new Vector2D(-step, 0.0));
+                player.addForce(-step, 0.0);
                 moving = true;
             }
             if (ih.isKeyPressed(KeyEvent.VK_RIGHT)) {
-                player.addForce(new Vector2D(step, 0.0));
+                player.addForce(step, 0.0);
                 moving = true;
             }
 
             if (!moving) {
-                player.vel = player.vel.multiply(player.getMaterial().getRoughness());
+                double roughness = player.getMaterial().getRoughness();
+                player.setSpeed(player.vel.x * roughness, player.vel.y * roughness);
             }
         }
     }
@@ -87,16 +87,15 @@ public class DemoScene extends AbstractScene {
                 .setFillColor(new Color(0.1f, 0.6f, 0.3f, 0.1f))
                 .setLayer(10)
         );
-        world.add(
-            new Perturbation(
-                "water_1",
-                0, world.getPlayArea().getHeight() * 0.90,
-                world.getPlayArea().getWidth(), world.getPlayArea().getHeight() * 0.10)
-                .setForce(new Vector2D(0.0, -0.80))
-                .setColor(new Color(0.6f, 0.7f, 0.9f, 0.6f))
-                .setFillColor(new Color(0.3f, 0.2f, 0.8f, 0.5f))
-                .setLayer(10)
-        );
+        Perturbation water = new Perturbation(
+            "water_1",
+            0, world.getPlayArea().getHeight() * 0.90,
+            world.getPlayArea().getWidth(), world.getPlayArea().getHeight() * 0.10)
+            .setForce(new Vector2D(0.0, -0.80))
+            .setColor(new Color(0.6f, 0.7f, 0.9f, 0.6f))
+            .setFillColor(new Color(0.3f, 0.2f, 0.8f, 0.5f))
+            .setLayer(10);
+        world.add(water);
         world.add(
             new Perturbation(
                 "magnet_1",
@@ -126,6 +125,11 @@ public class DemoScene extends AbstractScene {
                 .setColor(new Color(0.0f, 0.0f, 0.0f, 0.0f))
                 .setFillColor(new Color(0.9f, 0.7f, 0.1f, 0.1f)));
 
+        // the perturbations are areas, only the water collides with the rain drops.
+        CollisionMatrix matrix = ((CollisionDetection) GSystemManager.find(CollisionDetection.class)).getMatrix();
+        world.getPerturbations().forEach(p -> matrix.apply(p, "area"));
+        matrix.apply(water, "water");
+
         TextObject score = new TextObject("score")
             .setPosition(
                 configuration.bufferResolution.getWidth() * 0.98, 32)
@@ -246,6 +250,7 @@ public class DemoScene extends AbstractScene {
             .setDebug(2)
             .setDuration(-1)
             .addBehavior(new GameObjectCollisionResponse());
+        matrix.apply(player, "player");
         addEntity(player);
 
         TextObject helpPanel = new TextObject("helpPanel")
@@ -274,12 +279,12 @@ public class DemoScene extends AbstractScene {
         addEntity(
             ParticleSystemBuilder.createParticleSystem(world, "ball", 50, 1,
                 new BallParticleBehavior(200.0, 2.0),
-                ((Behavior) new BallResponseBehavior("player"))));
+                ((Behavior) new BallResponseBehavior())));
 
         // add rain drops particle system.
         addEntity(
             ParticleSystemBuilder.createParticleSystem(world, "raindrop", 1000, 50,
-                new RainParticleBehavior(0.003, "ball_,player,water_1")));
+                new RainParticleBehavior(0.003, "rain")));
 
         Camera cam = new Camera("cam01", configuration.bufferResolution.width, configuration.bufferResolution.height);
         cam.setTarget(player);
@@ -12,6 +12,8 @@ import com.snapgames.core.entity.TextObject;
 import com.snapgames.core.graphics.Renderer;
 import com.snapgames.core.input.InputHandler;
 import com.snapgames.core.math.Vector2D;
+import com.snapgames.core.math.physic.CollisionDetection;
+import com.snapgames.core.math.physic.CollisionMatrix;
 import com.snapgames.core.math.physic.Material;
 import com.snapgames.core.math.physic.PhysicEngine;
 import com.snapgames.core.math.physic.PhysicType;
@@ -63,12 +65,15 @@ public class TitleScene extends AbstractScene {
                 .setFillColor(new Color(0.1f, 0.6f, 0.3f, 0.5f))
                 .setLayer(5)
         );
+        // this water covers the whole screen: an area the rain drops do not collide with.
+        CollisionMatrix matrix = ((CollisionDetection) GSystemManager.find(CollisionDetection.class)).getMatrix();
+        pe.getWorld().getPerturbations().forEach(p -> matrix.apply(p, "area"));
 
 
         // add rain drops particle system.
         addEntity(
             ParticleSystemBuilder.createParticleSystem(pe.getWorld(), "raindrop", 1000, 10,
-                new RainParticleBehavior(0.03, "enemy_,player,water_1")));
+                new RainParticleBehavior(0.03, "rain")));
 
         GameObject player = new GameObject("player")
             .setPosition(
@@ -183,7 +188,7 @@ public class TitleScene extends AbstractScene {
         GameObject player = (GameObject) getEntity("player");
         internalSceneTime += elapsed;
         if (Optional.ofNullable(player).isPresent() && internalSceneTime > 0.5) {
-            player.addForce(new Vector2D(-(factor * 0.5) + Math.random() * factor, -(factor * 1.5) + Math.random() * factor * 3));
+            player.addForce(-(factor * 0.5) + Math.random() * factor, -(factor * 1.5) + Math.random() * factor * 3);
             internalSceneTime = 0;
         }
 
@@ -0,0 +1,61 @@
+package com.snapgames.core.test.entity;
+
+import com.snapgames.core.entity.EntityStore;
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.math.Vector2D;
+import org.junit.jupiter.api.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class EntityStoreTest {
+    private EntityStore store;
+
+    @BeforeEach
+    public void setup() {
+        store = new EntityStore(2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.clear();
+        store = null;
+    }
+
+    @Test
+    @Order(1)
+    public void anAttachedEntityIsCopiedToItsSlot() {
+        GameObject obj1 = new GameObject("obj1", 10, 20, 8, 8).setSpeed(1.0, 2.0).setMass(3.0);
+        store.attach(obj1);
+        Assertions.assertEquals(1, store.size());
+        Assertions.assertEquals(0, obj1.getSlot());
+        Assertions.assertEquals(10.0, store.posX[0]);
+        Assertions.assertEquals(20.0, store.posY[0]);
+        Assertions.assertEquals(2.0, store.velY[0]);
+        Assertions.assertEquals(3.0, store.mass[0]);
+    }
+
+    @Test
+    @Order(2)
+    public void entitySettersWriteThroughItsSlot() {
+        GameObject obj1 = new GameObject("obj1", 10, 20, 8, 8);
+        store.attach(obj1);
+        obj1.setPosition(30, 40).setSpeed(5.0, 6.0).addForce(new Vector2D(0.5, 0.25));
+        Assertions.assertEquals(30.0, store.posX[0]);
+        Assertions.assertEquals(10.0, store.oldX[0]);
+        Assertions.assertEquals(6.0, store.velY[0]);
+        Assertions.assertEquals(0.25, store.forceY[0]);
+    }
+
+    @Test
+    @Order(3)
+    public void detachingAnEntityKeepsTheStoreDense() {
+        for (int i = 0; i < 20; i++) {
+            store.attach(new GameObject("obj_" + i, i, i, 1, 1));
+        }
+        Assertions.assertTrue(store.capacity() >= 20);
+        GameObject last = (GameObject) store.get(19);
+        store.detach(store.get(3));
+        Assertions.assertEquals(19, store.size());
+        Assertions.assertEquals(3, last.getSlot());
+        Assertions.assertEquals(19.0, store.posX[3]);
+    }
+}
@@ -0,0 +1,30 @@
+package com.snapgames.core.test.graphics;
+
+import com.snapgames.core.graphics.RenderQuality;
+import org.junit.jupiter.api.*;
+
+import java.util.Map;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class RenderQualityTest {
+
+    @Test
+    @Order(1)
+    public void profilesAreParsedByName() {
+        Assertions.assertEquals(RenderQuality.SPEED, RenderQuality.parse("speed", RenderQuality.QUALITY));
+        Assertions.assertEquals(RenderQuality.BALANCED, RenderQuality.parse(" Balanced", RenderQuality.QUALITY));
+        Assertions.assertEquals(RenderQuality.QUALITY, RenderQuality.parse("unknown", RenderQuality.QUALITY));
+    }
+
+    @Test
+    @Order(2)
+    public void layerOverridesAcceptRanges() {
+        Map<Integer, RenderQuality> layers = RenderQuality.parseLayers("1:quality,10-12:speed,wrong", RenderQuality.BALANCED);
+        Assertions.assertEquals(4, layers.size());
+        Assertions.assertEquals(RenderQuality.QUALITY, layers.get(1));
+        Assertions.assertEquals(RenderQuality.SPEED, layers.get(10));
+        Assertions.assertEquals(RenderQuality.SPEED, layers.get(12));
+        Assertions.assertNull(layers.get(13));
+        Assertions.assertTrue(RenderQuality.parseLayers("", RenderQuality.BALANCED).isEmpty());
+    }
+}
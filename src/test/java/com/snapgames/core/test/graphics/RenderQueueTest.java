@@ -0,0 +1,84 @@
+package com.snapgames.core.test.graphics;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.graphics.RenderQueue;
+import com.snapgames.core.test.scenes.TestScene;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class RenderQueueTest {
+    private RenderQueue queue;
+
+    @BeforeEach
+    public void setup() {
+        queue = new RenderQueue();
+    }
+
+    @Test
+    @Order(1)
+    public void entitiesAreOrderedFromTheHighestLayerAndPriority() {
+        Random rand = new Random(1234);
+        List<Entity<?>> entities = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            GameObject go = new GameObject("obj_" + i, 0, 0, 4, 4)
+                .setLayer(rand.nextInt(4))
+                .setPriority(rand.nextInt(5));
+            queue.add(go);
+            entities.add(go);
+        }
+        // change some layers after the entities were queued.
+        for (int i = 0; i < 20; i++) {
+            entities.get(rand.nextInt(100)).setLayer(rand.nextInt(6));
+        }
+        List<Entity<?>> expected = new ArrayList<>(entities);
+        expected.sort(Comparator.comparingInt(e -> -(e.getLayer() * 1000 + e.getPriority())));
+
+        queue.order(entities);
+        Assertions.assertEquals(expected, entities);
+    }
+
+    @Test
+    @Order(2)
+    public void removedEntitiesLeaveTheQueue() {
+        GameObject a = new GameObject("a", 0, 0, 4, 4).setLayer(1);
+        GameObject b = new GameObject("b", 0, 0, 4, 4).setLayer(1);
+        queue.add(a);
+        queue.add(b);
+        queue.remove(a);
+        Assertions.assertEquals(1, queue.size());
+        Assertions.assertNull(a.renderNode);
+        // an entity unknown to the queue (e.g. a World perturbation) is ordered without being added.
+        GameObject c = new GameObject("c", 0, 0, 4, 4).setLayer(2);
+        List<Entity<?>> list = new ArrayList<>(List.of(a, b, c));
+        queue.order(list);
+        Assertions.assertEquals(List.of(c, a, b), list);
+        Assertions.assertEquals(1, queue.size());
+        Assertions.assertNull(a.renderNode);
+        Assertions.assertNull(c.renderNode);
+        queue.clear();
+        Assertions.assertEquals(0, queue.size());
+        Assertions.assertNull(b.renderNode);
+    }
+
+    @Test
+    @Order(3)
+    public void entitiesStickingToTheCameraAfterTheirAddAreKept() {
+        TestScene scene = new TestScene();
+        GameObject hud = new GameObject("hud", 0, 0, 4, 4);
+        scene.addEntity(hud);
+        Assertions.assertFalse(scene.getStickToCameraEntities().contains(hud));
+        hud.setStickToCameraView(true);
+        Assertions.assertTrue(scene.getStickToCameraEntities().contains(hud));
+        hud.setStickToCameraView(false);
+        Assertions.assertFalse(scene.getStickToCameraEntities().contains(hud));
+        hud.setStickToCameraView(true);
+        scene.removeEntity(hud);
+        Assertions.assertTrue(scene.getStickToCameraEntities().isEmpty());
+    }
+}
@@ -0,0 +1,47 @@
+package com.snapgames.core.test.graphics;
+
+import com.snapgames.core.graphics.StaticLayer;
+import com.snapgames.core.math.physic.World;
+import com.snapgames.core.math.physic.entity.Perturbation;
+import org.junit.jupiter.api.*;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class StaticLayerTest {
+
+    @Test
+    @Order(1)
+    public void theLayerIsOnlyRenderedAgainWhenTheWorldChanges() {
+        World world = new World("test").setPlayArea(new Rectangle2D.Double(0, 0, 128, 96));
+        StaticLayer layer = new StaticLayer();
+        layer.update(world, null);
+        layer.update(world, null);
+        Assertions.assertEquals(1, layer.getRedraws());
+        world.add((Perturbation) new Perturbation("water", 10, 10, 20, 20).setFillColor(Color.CYAN));
+        layer.update(world, null);
+        Assertions.assertEquals(2, layer.getRedraws());
+        layer.update(new World("other").setPlayArea(new Rectangle2D.Double(0, 0, 64, 64)), null);
+        Assertions.assertEquals(3, layer.getRedraws());
+    }
+
+    @Test
+    @Order(2)
+    public void theVisibleWindowIsCopied() {
+        World world = new World("test").setPlayArea(new Rectangle2D.Double(0, 0, 128, 96));
+        world.add((Perturbation) new Perturbation("water", 40, 40, 20, 20).setFillColor(Color.CYAN));
+        StaticLayer layer = new StaticLayer();
+        layer.update(world, null);
+
+        BufferedImage buffer = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = buffer.createGraphics();
+        // a camera at (35,35), the perturbation starting at (5,5) into the buffer.
+        g.translate(-35, -35);
+        layer.draw(g, 35, 35, 32, 32);
+        g.dispose();
+        Assertions.assertEquals(Color.CYAN.getRGB(), buffer.getRGB(10, 10));
+        Assertions.assertEquals(Color.BLACK.getRGB(), buffer.getRGB(2, 2));
+    }
+}
@@ -0,0 +1,83 @@
+package com.snapgames.core.test.graphics;
+
+import com.snapgames.core.entity.TextObject;
+import com.snapgames.core.graphics.RenderSnapshot;
+import com.snapgames.core.graphics.Renderer;
+import com.snapgames.core.graphics.TextSpriteCache;
+import com.snapgames.core.graphics.plugins.TextObjectRendererPlugin;
+import org.junit.jupiter.api.*;
+
+import java.awt.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TextSpriteCacheTest {
+
+    private static TextSpriteCache.Key key(String text) {
+        return key(text, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    }
+
+    private static TextSpriteCache.Key key(String text, Object textAntialiasing) {
+        return new TextSpriteCache.Key(text, new Font("Arial", Font.PLAIN, 12), Color.WHITE,
+            Color.BLACK, 2, Color.DARK_GRAY, 1, TextObject.ALIGN_CENTER, textAntialiasing);
+    }
+
+    @Test
+    @Order(1)
+    public void spritesAreSharedAndTheLeastRecentlyUsedAreDropped() {
+        TextSpriteCache cache = new TextSpriteCache(2);
+        TextSpriteCache.Sprite a = cache.get(key("a"));
+        Assertions.assertSame(a, cache.get(key("a")));
+        cache.get(key("b"));
+        cache.get(key("a"));
+        cache.get(key("c"));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(3, cache.getMisses());
+        // "b" was the least recently used one.
+        Assertions.assertSame(a, cache.get(key("a")));
+        cache.get(key("b"));
+        Assertions.assertEquals(4, cache.getMisses());
+        // a centered sprite starts left of the text position.
+        Assertions.assertTrue(a.offsetX < 0);
+    }
+
+    @Test
+    @Order(2)
+    public void theVersionOnlyChangesWhenTheTextChanges() {
+        TextObject text = new TextObject("score").setText("%05d").setValue(0);
+        int version = text.getVersion();
+        text.setValue(0);
+        text.setText("%05d");
+        Assertions.assertEquals(version, text.getVersion());
+        text.setValue(10);
+        Assertions.assertNotEquals(version, text.getVersion());
+        Assertions.assertEquals("00010", text.getFormattedText());
+    }
+
+    @Test
+    @Order(3)
+    public void textsRenderedWithAnotherAntialiasingAreNotShared() {
+        TextSpriteCache cache = new TextSpriteCache(8);
+        TextSpriteCache.Sprite on = cache.get(key("a", RenderingHints.VALUE_TEXT_ANTIALIAS_ON));
+        TextSpriteCache.Sprite off = cache.get(key("a", RenderingHints.VALUE_TEXT_ANTIALIAS_OFF));
+        Assertions.assertNotSame(on, off);
+        Assertions.assertEquals(2, cache.getMisses());
+        Assertions.assertSame(off, cache.get(key("a", RenderingHints.VALUE_TEXT_ANTIALIAS_OFF)));
+    }
+
+    @Test
+    @Order(4)
+    public void theSpriteIsRetrievedWhenTheTextIsCaptured() {
+        TextObjectRendererPlugin plugin = new TextObjectRendererPlugin(8);
+        TextObject text = new TextObject("score").setText("%05d").setValue(42)
+            .setFont(new Font("Arial", Font.PLAIN, 12));
+        RenderSnapshot.Item item = new RenderSnapshot.Item();
+        plugin.capture(new Renderer(null), text, item);
+        Assertions.assertNotNull(item.sprite);
+        Assertions.assertEquals("00042", item.sprite.key.text());
+        // the size is set on the capturing thread, the render thread only draws the item.
+        Assertions.assertEquals(item.sprite.lineWidth, text.width);
+        Assertions.assertEquals(item.sprite.lineWidth, item.width);
+        plugin.capture(new Renderer(null), text, item);
+        Assertions.assertEquals(1, plugin.getCache().getMisses());
+    }
+}
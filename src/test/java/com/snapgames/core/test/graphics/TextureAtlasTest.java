@@ -0,0 +1,59 @@
+package com.snapgames.core.test.graphics;
+
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.entity.GameObjectType;
+import com.snapgames.core.graphics.TextureAtlas;
+import org.junit.jupiter.api.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TextureAtlasTest {
+
+    private static BufferedImage image(int w, int h) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        // a red left column to check the flipped variant.
+        for (int y = 0; y < h; y++) {
+            img.setRGB(0, y, Color.RED.getRGB());
+        }
+        return img;
+    }
+
+    @Test
+    @Order(1)
+    public void imagesArePackedWithTheirFlippedVariant() {
+        Map<String, BufferedImage> images = new LinkedHashMap<>();
+        images.put("small", image(8, 8));
+        images.put("tall", image(16, 32));
+        images.put("wide", image(40, 10));
+        TextureAtlas atlas = new TextureAtlas(null, images, 1);
+
+        for (String name : images.keySet()) {
+            TextureAtlas.Region r = atlas.getRegion(name);
+            Assertions.assertEquals(images.get(name).getWidth(), r.width);
+            Assertions.assertEquals(images.get(name).getHeight(), r.height);
+            Assertions.assertTrue(r.x + r.width <= atlas.getImage().getWidth());
+            Assertions.assertTrue(r.y + r.height <= atlas.getImage().getHeight());
+            Assertions.assertEquals(Color.RED.getRGB(), atlas.getImage().getRGB(r.x, r.y));
+            Assertions.assertEquals(Color.RED.getRGB(), atlas.getImage().getRGB(r.flippedX + r.width - 1, r.y));
+        }
+        Assertions.assertNull(atlas.getRegion("unknown"));
+        // regions do not overlap.
+        TextureAtlas.Region a = atlas.getRegion("tall"), b = atlas.getRegion("wide");
+        Assertions.assertFalse(new Rectangle(a.x, a.y, 2 * a.width, a.height)
+            .intersects(new Rectangle(b.x, b.y, 2 * b.width, b.height)));
+    }
+
+    @Test
+    @Order(2)
+    public void imageObjectsAreGroupedByAtlas() {
+        TextureAtlas atlas = new TextureAtlas(null, Map.of("icon", image(8, 8)), 1);
+        GameObject go = new GameObject("go", 0, 0, 8, 8);
+        Assertions.assertEquals(0, go.getRenderGroup());
+        go.setType(GameObjectType.TYPE_IMAGE).setRegion(atlas.getRegion("icon"));
+        Assertions.assertEquals(atlas.getId(), go.getRenderGroup());
+    }
+}
@@ -0,0 +1,67 @@
+package com.snapgames.core.test.math;
+
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.math.Vector2D;
+import com.snapgames.core.math.Vector2DPool;
+import org.junit.jupiter.api.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class Vector2DTest {
+
+    @Test
+    @Order(1)
+    public void inPlaceOperationsMatchAllocatingOnes() {
+        Vector2D v = new Vector2D(1.5, -2.0);
+        Vector2D a = new Vector2D(0.25, 0.75);
+        Vector2D expected = v.add(a.multiply(0.3)).multiply(0.99);
+        Vector2D same = v.addScaled(a, 0.3).scaleLocal(0.99);
+        Assertions.assertSame(v, same);
+        Assertions.assertEquals(expected, v);
+
+        v.set(3.0, 4.0).subLocal(new Vector2D(1.0, 1.0)).addLocal(0.5, 0.5);
+        Assertions.assertEquals(new Vector2D(2.5, 3.5), v);
+    }
+
+    @Test
+    @Order(2)
+    public void poolReusesReleasedVectors() {
+        Vector2DPool pool = Vector2DPool.get();
+        int mark = pool.mark();
+        Vector2D t1 = pool.obtain(1.0, 2.0);
+        pool.release(mark);
+        Vector2D t2 = pool.obtain(3.0, 4.0);
+        Assertions.assertSame(t1, t2);
+        Assertions.assertEquals(new Vector2D(3.0, 4.0), t2);
+        pool.release(mark);
+    }
+
+    @Test
+    @Order(3)
+    public void entityCopiesPositionAndSpeed() {
+        Vector2D p = new Vector2D(10.0, 20.0);
+        GameObject obj1 = new GameObject("obj1").setPosition(p).setSpeed(p);
+        p.set(0.0, 0.0);
+        Assertions.assertEquals(new Vector2D(10.0, 20.0), obj1.getPosition());
+        Assertions.assertEquals(new Vector2D(10.0, 20.0), obj1.getVelocity());
+        Assertions.assertNotSame(obj1.pos, obj1.oldPos);
+
+        obj1.setPosition(30.0, 40.0);
+        Assertions.assertEquals(new Vector2D(10.0, 20.0), obj1.oldPos);
+    }
+
+    @Test
+    @Order(4)
+    public void forcesAndImpulsesAreAccumulated() {
+        GameObject obj1 = new GameObject("obj1");
+        obj1.getForces().setDebug(true);
+        obj1.addForce(1.0, 2.0).addForce(new Vector2D(0.5, 0.5)).addImpulse(0.0, -3.0);
+        Assertions.assertEquals(1.5, obj1.getForces().fx);
+        Assertions.assertEquals(2.5, obj1.getForces().fy);
+        Assertions.assertEquals(-3.0, obj1.getForces().iy);
+
+        obj1.clearForces();
+        Assertions.assertEquals(0.0, obj1.getForces().fx);
+        Assertions.assertEquals(0.0, obj1.getForces().iy);
+        Assertions.assertEquals(3, obj1.getForces().getContributors().size());
+    }
+}
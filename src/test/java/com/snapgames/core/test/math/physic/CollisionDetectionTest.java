@@ -0,0 +1,135 @@
+package com.snapgames.core.test.math.physic;
+
+import com.snapgames.core.behavior.CollisionResponseBehavior;
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.math.physic.CollisionDetection;
+import com.snapgames.core.math.physic.CollisionEvent;
+import com.snapgames.core.math.physic.CollisionResolver;
+import com.snapgames.core.math.physic.SweepAndPrune;
+import com.snapgames.core.system.GSystemManager;
+import com.snapgames.core.test.AppTest;
+import com.snapgames.core.test.scenes.TestScene;
+import com.snapgames.core.utils.config.Configuration;
+import org.junit.jupiter.api.*;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CollisionDetectionTest {
+    private AppTest application;
+    private CountingSweepAndPrune sap;
+    private CollisionDetection cd;
+
+    /**
+     * A {@link SweepAndPrune} counting the entity and area queries.
+     */
+    private static class CountingSweepAndPrune extends SweepAndPrune {
+        int entityQueries;
+        int areaQueries;
+
+        @Override
+        public int find(Entity<?> e, Entity<?>[] buffer) {
+            entityQueries++;
+            return super.find(e, buffer);
+        }
+
+        @Override
+        public int find(Rectangle2D area, Entity<?>[] buffer) {
+            areaQueries++;
+            return super.find(area, buffer);
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        application = new AppTest();
+        Configuration cfg = new Configuration("./test-pe.properties", Arrays.asList("testMode=true"));
+        cfg.broadPhase = "sap";
+        application.setConfiguration(cfg);
+        sap = new CountingSweepAndPrune();
+        GSystemManager.add(sap);
+        cd = new CollisionDetection(application);
+        cd.initialize(application);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        GSystemManager.reset();
+        application = null;
+    }
+
+    @Test
+    @Order(1)
+    public void sweepAndPruneNeighboursComeFromItsAdjacency() {
+        TestScene scene = new TestScene();
+        for (int i = 0; i < 50; i++) {
+            scene.addEntity(new GameObject("obj_" + i, i * 6, 0, 8, 8));
+        }
+        GameObject drop = new GameObject("drop", 0, 20, 1, 1).setContinuous(true);
+        scene.addEntity(drop);
+        sap.update(scene.getEntities(), Collections.emptyList());
+
+        cd.update(scene, 0.1, new HashMap<>());
+        // only the continuous entity queries its swept area.
+        Assertions.assertEquals(50, sap.entityQueries);
+        Assertions.assertEquals(1, sap.areaQueries);
+    }
+
+    @Test
+    @Order(2)
+    public void contactsWithoutRespondersAreRecordedAndNotified() {
+        TestScene scene = new TestScene();
+        scene.addEntity(new GameObject("a", 0, 0, 10, 10));
+        scene.addEntity(new GameObject("b", 8, 0, 10, 10));
+        sap.update(scene.getEntities(), Collections.emptyList());
+        List<CollisionEvent> notified = new ArrayList<>();
+        cd.addListener(notified::addAll);
+
+        cd.update(scene, 0.1, new HashMap<>());
+        Assertions.assertEquals(1, cd.getCount());
+        Assertions.assertEquals(1, notified.size());
+    }
+
+    @Test
+    @Order(3)
+    public void contactsAnsweredByAResponderAreNotResolvedAgain() {
+        TestScene scene = new TestScene();
+        GameObject a = new GameObject("a", 0, 0, 10, 10).setMass(1.0).setSpeed(1.0, 0.0);
+        GameObject b = new GameObject("b", 8, 0, 10, 10).setMass(1.0);
+        a.addBehavior(new CollisionResponseBehavior() {
+            @Override
+            public void response(CollisionEvent ce) {
+                ce.getEntity1().setSpeed(-1.0, 0.0);
+            }
+
+            @Override
+            public boolean filter(CollisionEvent ce) {
+                return true;
+            }
+
+            @Override
+            public void update(Entity<?> e, double elapsed) {
+            }
+        });
+        scene.addEntity(a);
+        scene.addEntity(b);
+        sap.update(scene.getEntities(), Collections.emptyList());
+        CollisionResolver resolver = new CollisionResolver();
+        cd.addListener(resolver);
+
+        cd.update(scene, 0.1, new HashMap<>());
+        Assertions.assertTrue(cd.getCollisions().get(0).isResponded());
+        Assertions.assertEquals(0, resolver.getResolvedCount());
+        Assertions.assertEquals(-1.0, a.vel.x);
+        Assertions.assertEquals(0.0, b.vel.x);
+        // no positional correction either.
+        Assertions.assertEquals(0.0, a.pos.x);
+        Assertions.assertEquals(8.0, b.pos.x);
+    }
+}
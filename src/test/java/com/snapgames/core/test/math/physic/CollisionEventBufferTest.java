@@ -0,0 +1,60 @@
+package com.snapgames.core.test.math.physic;
+
+import com.snapgames.core.math.physic.CollisionEvent;
+import com.snapgames.core.math.physic.CollisionEventBuffer;
+import com.snapgames.core.math.physic.CollisionEventBuffer.OverflowPolicy;
+import org.junit.jupiter.api.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CollisionEventBufferTest {
+
+    @Test
+    @Order(1)
+    public void recordsAreReusedAfterAClear() {
+        CollisionEventBuffer buffer = new CollisionEventBuffer(4, OverflowPolicy.DROP);
+        CollisionEvent first = buffer.next();
+        buffer.next();
+        Assertions.assertEquals(2, buffer.size());
+        buffer.clear();
+        Assertions.assertEquals(0, buffer.size());
+        Assertions.assertSame(first, buffer.next());
+    }
+
+    @Test
+    @Order(2)
+    public void dropPolicyKeepsTheFirstEvents() {
+        CollisionEventBuffer buffer = new CollisionEventBuffer(2, OverflowPolicy.DROP);
+        CollisionEvent first = buffer.next();
+        buffer.next();
+        CollisionEvent extra = buffer.next();
+        Assertions.assertNotNull(extra);
+        Assertions.assertEquals(2, buffer.size());
+        Assertions.assertEquals(1, buffer.getDropped());
+        Assertions.assertSame(first, buffer.view().get(0));
+        Assertions.assertFalse(buffer.view().contains(extra));
+    }
+
+    @Test
+    @Order(3)
+    public void overwritePolicyKeepsTheLastEvents() {
+        CollisionEventBuffer buffer = new CollisionEventBuffer(2, OverflowPolicy.OVERWRITE);
+        buffer.next();
+        CollisionEvent second = buffer.next();
+        CollisionEvent third = buffer.next();
+        Assertions.assertEquals(2, buffer.size());
+        Assertions.assertSame(second, buffer.view().get(0));
+        Assertions.assertSame(third, buffer.view().get(1));
+    }
+
+    @Test
+    @Order(4)
+    public void growPolicyKeepsAllEventsAndTheViewIsReadOnly() {
+        CollisionEventBuffer buffer = new CollisionEventBuffer(2, OverflowPolicy.GROW);
+        for (int i = 0; i < 5; i++) {
+            buffer.next();
+        }
+        Assertions.assertEquals(5, buffer.size());
+        Assertions.assertEquals(8, buffer.capacity());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> buffer.view().clear());
+    }
+}
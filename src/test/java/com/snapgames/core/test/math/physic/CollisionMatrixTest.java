@@ -0,0 +1,48 @@
+package com.snapgames.core.test.math.physic;
+
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.math.physic.CollisionMatrix;
+import org.junit.jupiter.api.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CollisionMatrixTest {
+
+    @Test
+    @Order(1)
+    public void categoriesCollideSymmetrically() {
+        CollisionMatrix matrix = new CollisionMatrix("player:default,ball,rain;rain:water;area:");
+        GameObject player = new GameObject("player", 0, 0, 10, 10);
+        GameObject ball = new GameObject("ball_1", 0, 0, 10, 10);
+        GameObject drop = new GameObject("raindrop_1", 0, 0, 1, 1);
+        GameObject water = new GameObject("water_1", 0, 0, 10, 10);
+        GameObject area = new GameObject("wind", 0, 0, 10, 10);
+        GameObject other = new GameObject("other", 0, 0, 10, 10);
+        Assertions.assertTrue(matrix.apply(player, "player"));
+        matrix.apply(ball, "ball");
+        matrix.apply(drop, "rain");
+        matrix.apply(water, "water");
+        matrix.apply(area, "area");
+
+        Assertions.assertTrue(CollisionMatrix.canCollide(player, ball));
+        Assertions.assertTrue(CollisionMatrix.canCollide(ball, player));
+        Assertions.assertTrue(CollisionMatrix.canCollide(drop, water));
+        Assertions.assertTrue(CollisionMatrix.canCollide(player, other));
+        Assertions.assertFalse(CollisionMatrix.canCollide(ball, drop));
+        Assertions.assertFalse(CollisionMatrix.canCollide(ball, other));
+        Assertions.assertFalse(CollisionMatrix.canCollide(area, player));
+        Assertions.assertFalse(CollisionMatrix.canCollide(area, other));
+        // entities without category still collide with each other.
+        Assertions.assertTrue(CollisionMatrix.canCollide(other, new GameObject("another", 0, 0, 10, 10)));
+    }
+
+    @Test
+    @Order(2)
+    public void anUnknownCategoryLeavesTheEntityUnchanged() {
+        CollisionMatrix matrix = new CollisionMatrix("");
+        GameObject e = new GameObject("e", 0, 0, 10, 10);
+        Assertions.assertFalse(matrix.apply(e, "unknown"));
+        Assertions.assertEquals(1, e.collisionCategory);
+        Assertions.assertEquals(-1, e.collisionMask);
+        Assertions.assertEquals(0, matrix.getCategory("unknown"));
+    }
+}
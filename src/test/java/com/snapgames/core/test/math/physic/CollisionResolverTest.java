@@ -0,0 +1,71 @@
+package com.snapgames.core.test.math.physic;
+
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.math.physic.CollisionEvent;
+import com.snapgames.core.math.physic.CollisionResolver;
+import com.snapgames.core.math.physic.Material;
+import com.snapgames.core.math.physic.NarrowPhase;
+import com.snapgames.core.math.physic.PhysicType;
+import com.snapgames.core.math.physic.entity.Perturbation;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CollisionResolverTest {
+
+    private static GameObject body(String name, double x, double mass, Material m) {
+        return new GameObject(name, x, 0, 10, 10)
+            .setPhysicType(PhysicType.DYNAMIC)
+            .setMass(mass)
+            .setMaterial(m);
+    }
+
+    @Test
+    @Order(1)
+    public void elasticBodiesOfSameMassExchangeTheirVelocities() {
+        Material elastic = new Material("elastic", 1.0, 1.0, 1.0);
+        GameObject a = body("a", 0, 1.0, elastic).setSpeed(2.0, 0.0);
+        GameObject b = body("b", 9, 1.0, elastic).setSpeed(-1.0, 0.0);
+        CollisionEvent ce = new CollisionEvent(a, b);
+        Assertions.assertTrue(NarrowPhase.collide(a, b, ce));
+
+        new CollisionResolver().setIterations(1).resolve(List.of(ce));
+        Assertions.assertEquals(-1.0, a.vel.x, 1e-9);
+        Assertions.assertEquals(2.0, b.vel.x, 1e-9);
+        // the overlap of 1 has been mostly corrected, both bodies moving apart.
+        Assertions.assertTrue(a.pos.x < 0.0);
+        Assertions.assertTrue(b.pos.x > 9.0);
+    }
+
+    @Test
+    @Order(2)
+    public void aStaticBodyIsNeverMoved() {
+        Material inelastic = new Material("inelastic", 0.0, 1.0, 1.0);
+        GameObject wall = body("wall", 9, 1.0, inelastic).setPhysicType(PhysicType.STATIC);
+        GameObject a = body("a", 0, 2.0, inelastic).setSpeed(3.0, 0.0);
+        CollisionEvent ce = new CollisionEvent(a, wall);
+        Assertions.assertTrue(NarrowPhase.collide(a, wall, ce));
+
+        new CollisionResolver().resolve(List.of(ce));
+        Assertions.assertEquals(0.0, a.vel.x, 1e-9);
+        Assertions.assertEquals(9.0, wall.pos.x);
+        Assertions.assertTrue(a.pos.x < 0.0);
+    }
+
+    @Test
+    @Order(3)
+    public void aPerturbationAreaIsNeverMoved() {
+        GameObject drop = body("drop", 0, 1.0, Material.WATER).setSpeed(0.0, 3.0);
+        Perturbation water = new Perturbation("water", -20, 9, 50, 50);
+        CollisionEvent ce = new CollisionEvent(drop, water);
+        Assertions.assertTrue(NarrowPhase.collide(drop, water, ce));
+
+        new CollisionResolver().resolve(List.of(ce));
+        Assertions.assertEquals(-20.0, water.pos.x);
+        Assertions.assertEquals(9.0, water.pos.y);
+        Assertions.assertEquals(0.0, water.vel.x);
+        Assertions.assertEquals(0.0, water.vel.y);
+        Assertions.assertTrue(drop.vel.y <= 0.0);
+    }
+}
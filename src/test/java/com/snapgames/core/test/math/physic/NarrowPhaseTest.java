@@ -0,0 +1,85 @@
+package com.snapgames.core.test.math.physic;
+
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.entity.GameObjectType;
+import com.snapgames.core.math.physic.CollisionEvent;
+import com.snapgames.core.math.physic.NarrowPhase;
+import org.junit.jupiter.api.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class NarrowPhaseTest {
+
+    @Test
+    @Order(1)
+    public void aabbOverlapGivesTheAxisOfLeastPenetration() {
+        GameObject a = new GameObject("a", 0, 0, 10, 10);
+        GameObject b = new GameObject("b", 8, 2, 10, 10);
+        CollisionEvent ce = new CollisionEvent(a, b);
+        Assertions.assertTrue(NarrowPhase.collide(a, b, ce));
+        Assertions.assertEquals(1.0, ce.getNormalX());
+        Assertions.assertEquals(0.0, ce.getNormalY());
+        Assertions.assertEquals(2.0, ce.getDepth(), 1e-9);
+        Assertions.assertEquals(2, ce.getContactCount());
+        Assertions.assertEquals(9.0, ce.getContactX(0), 1e-9);
+
+        GameObject far = new GameObject("far", 30, 0, 10, 10);
+        Assertions.assertFalse(NarrowPhase.collide(a, far, ce));
+    }
+
+    @Test
+    @Order(2)
+    public void circlesOnlyCollideWhenTheirCentersAreCloseEnough() {
+        GameObject a = new GameObject("a", 0, 0, 10, 10).setType(GameObjectType.TYPE_ELLIPSE);
+        GameObject b = new GameObject("b", 8, 0, 10, 10).setType(GameObjectType.TYPE_ELLIPSE);
+        CollisionEvent ce = new CollisionEvent(a, b);
+        Assertions.assertTrue(NarrowPhase.collide(a, b, ce));
+        Assertions.assertEquals(1.0, ce.getNormalX(), 1e-9);
+        Assertions.assertEquals(2.0, ce.getDepth(), 1e-9);
+        Assertions.assertEquals(1, ce.getContactCount());
+
+        // boxes overlap by the corners, but not the circles.
+        GameObject c = new GameObject("c", 9, 9, 10, 10).setType(GameObjectType.TYPE_ELLIPSE);
+        Assertions.assertTrue(a.intersects(c));
+        Assertions.assertFalse(NarrowPhase.collide(a, c, ce));
+    }
+
+    @Test
+    @Order(3)
+    public void aabbAgainstCircleNormalGoesFromTheFirstToTheSecondEntity() {
+        GameObject box = new GameObject("box", 0, 0, 20, 10);
+        GameObject ball = new GameObject("ball", 5, 8, 6, 6).setType(GameObjectType.TYPE_ELLIPSE);
+        CollisionEvent ce = new CollisionEvent(box, ball);
+        Assertions.assertTrue(NarrowPhase.collide(box, ball, ce));
+        Assertions.assertEquals(0.0, ce.getNormalX(), 1e-9);
+        Assertions.assertEquals(1.0, ce.getNormalY(), 1e-9);
+        Assertions.assertEquals(2.0, ce.getDepth(), 1e-9);
+        Assertions.assertEquals(8.0, ce.getContactX(0), 1e-9);
+        Assertions.assertEquals(10.0, ce.getContactY(0), 1e-9);
+
+        Assertions.assertTrue(NarrowPhase.collide(ball, box, ce));
+        Assertions.assertEquals(-1.0, ce.getNormalY(), 1e-9);
+        Assertions.assertSame(ball, ce.getEntity1());
+    }
+
+    @Test
+    @Order(4)
+    public void aFastDropGoingThroughAThinBoxIsOnlyCaughtBySweeping() {
+        GameObject water = new GameObject("water", 0, 10, 40, 2);
+        GameObject drop = new GameObject("drop", 10, 0, 1, 1);
+        // the drop jumps over the water in one update.
+        drop.setPosition(10, 20);
+        CollisionEvent ce = new CollisionEvent(drop, water);
+        Assertions.assertFalse(NarrowPhase.collide(drop, water, ce));
+        Assertions.assertTrue(NarrowPhase.sweep(drop, water, ce));
+        Assertions.assertEquals(0.0, ce.getNormalX(), 1e-9);
+        Assertions.assertEquals(1.0, ce.getNormalY(), 1e-9);
+        Assertions.assertEquals(11.0, ce.getDepth(), 1e-9);
+        Assertions.assertEquals(10.5, ce.getContactX(0), 1e-9);
+        Assertions.assertEquals(10.0, ce.getContactY(0), 1e-9);
+
+        // the same move beside the water hits nothing.
+        drop.setPosition(50, 0);
+        drop.setPosition(50, 20);
+        Assertions.assertFalse(NarrowPhase.sweep(drop, water, ce));
+    }
+}
@@ -0,0 +1,80 @@
+package com.snapgames.core.test.math.physic;
+
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.math.physic.PerturbationIndex;
+import com.snapgames.core.math.physic.World;
+import com.snapgames.core.math.physic.entity.Perturbation;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class PerturbationIndexTest {
+    private World world;
+    private PerturbationIndex index;
+
+    @BeforeEach
+    public void setup() {
+        world = new World("test");
+        index = new PerturbationIndex();
+    }
+
+    @Test
+    @Order(1)
+    public void cachedPerturbationsMatchABruteForceSearchWhileEntitiesMove() {
+        Random rand = new Random(4321);
+        for (int i = 0; i < 5; i++) {
+            world.add(new Perturbation("p_" + i, rand.nextInt(200), rand.nextInt(200),
+                rand.nextInt(150) + 10, rand.nextInt(150) + 10));
+        }
+        List<GameObject> entities = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            entities.add(new GameObject("obj_" + i, rand.nextInt(400), rand.nextInt(400), 4, 4));
+        }
+        for (int tick = 0; tick < 20; tick++) {
+            index.update(world);
+            for (GameObject e : entities) {
+                e.setPosition(e.pos.x + rand.nextInt(9) - 4, e.pos.y + rand.nextInt(9) - 4);
+                PerturbationIndex.Cache cache = index.find(e);
+                List<Perturbation> found = new ArrayList<>();
+                for (int i = 0; i < cache.size(); i++) {
+                    found.add(cache.get(i));
+                }
+                List<Perturbation> expected = new ArrayList<>();
+                world.getPerturbations().forEach(p -> {
+                    if (p.intersects(e)) {
+                        expected.add((Perturbation) p);
+                    }
+                });
+                Assertions.assertEquals(expected, found);
+            }
+        }
+        // most of the entities stay in the same regions from one tick to the next.
+        Assertions.assertTrue(index.getMisses() < 200 * 20);
+    }
+
+    @Test
+    @Order(2)
+    public void layersGivenAtCreationAreImpacted() {
+        Perturbation p = new Perturbation("p", 0, 0, 100, 100, 2, 5);
+        Assertions.assertTrue(p.isLayerImpacted(2));
+        Assertions.assertTrue(p.isLayerImpacted(5));
+        Assertions.assertFalse(p.isLayerImpacted(3));
+        p.addLayer(80);
+        Assertions.assertTrue(p.isLayerImpacted(80));
+        Assertions.assertTrue(new Perturbation("all", 0, 0, 10, 10).isLayerImpacted(12));
+    }
+
+    @Test
+    @Order(3)
+    public void theIndexIsRebuiltWhenThePerturbationsChange() {
+        GameObject e = new GameObject("e", 10, 10, 4, 4);
+        index.update(world);
+        Assertions.assertEquals(0, index.find(e).size());
+        world.add(new Perturbation("p", 0, 0, 100, 100));
+        index.update(world);
+        Assertions.assertEquals(1, index.find(e).size());
+    }
+}
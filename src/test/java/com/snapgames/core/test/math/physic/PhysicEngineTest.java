@@ -1,8 +1,11 @@
 package com.snapgames.core.test.math.physic;
 
 import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.entity.EntityStore;
 import com.snapgames.core.entity.GameObjectType;
 import com.snapgames.core.math.Vector2D;
+import com.snapgames.core.math.physic.CommandBuffer;
+import com.snapgames.core.math.physic.Material;
 import com.snapgames.core.math.physic.PhysicEngine;
 import com.snapgames.core.math.physic.PhysicType;
 import com.snapgames.core.math.physic.entity.Perturbation;
@@ -14,6 +17,7 @@ import org.junit.jupiter.api.*;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -117,4 +121,169 @@ public class PhysicEngineTest {
                 player.getPosition());
 
     }
+
+    @Test
+    @Order(4)
+    public void testDynamicEntityWithPackedStore() {
+        // Just initialize a configuration, but no looping (testMode=true)
+        Configuration cfg = new Configuration("./test-pe.properties", Arrays.asList("testMode=true"));
+        // create a specific instance of the PhysicEngine for test purpose (isolated)
+        PhysicEngine pe = new PhysicEngine(application);
+        pe.initialize(cfg);
+        // add a TestScene, with its entities packed into an EntityStore
+        TestScene testScene = new TestScene();
+        testScene.setEntityStore(new EntityStore(16));
+        testScene.create(application);
+        // gather the already existing player object from test scene
+        GameObject player = (GameObject) testScene.getEntity("player");
+        player.addForce(new Vector2D(0.0, 0.1));
+
+        Perturbation pert01 = new Perturbation("pert01",
+                0, 0,
+                pe.world.getPlayArea().getWidth(),
+                pe.world.getPlayArea().getHeight())
+                .setForce(new Vector2D(0.10, 0.0));
+        pe.world.add(pert01);
+
+        Map<String, Object> stats = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            pe.update(testScene, 0.1, stats);
+        }
+        // the packed integration must give the same result as the standard one.
+        Assertions.assertEquals(new Vector2D(125.16436206296397, 100.49748331212493),
+                player.getPosition());
+
+    }
+
+    @Test
+    @Order(5)
+    public void testDynamicEntitiesWithThreads() {
+        Configuration cfg = new Configuration("./test-pe.properties", Arrays.asList("testMode=true"));
+        PhysicEngine sequential = new PhysicEngine(application);
+        sequential.initialize(cfg);
+        cfg.physicThreads = 4;
+        PhysicEngine parallel = new PhysicEngine(application);
+        parallel.initialize(cfg);
+
+        TestScene scene1 = new TestScene();
+        TestScene scene2 = new TestScene();
+        for (int i = 0; i < 500; i++) {
+            scene1.addEntity(new GameObject("obj_" + i).setPosition(i % 100, i / 5).setSize(4, 4)
+                .setSpeed(0.1 * (i % 7), -0.05 * (i % 3)));
+            scene2.addEntity(new GameObject("obj_" + i).setPosition(i % 100, i / 5).setSize(4, 4)
+                .setSpeed(0.1 * (i % 7), -0.05 * (i % 3)));
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            sequential.update(scene1, 0.1, stats);
+            parallel.update(scene2, 0.1, stats);
+        }
+        // the parallel processing must give the same result as the sequential one.
+        for (int i = 0; i < 500; i++) {
+            Assertions.assertEquals(scene1.getEntity("obj_" + i).getPosition(),
+                    scene2.getEntity("obj_" + i).getPosition());
+        }
+        parallel.dispose();
+    }
+
+    @Test
+    @Order(6)
+    public void testRestingEntityFallsAsleepAndWakesOnForce() {
+        Configuration cfg = new Configuration("./test-pe.properties", Arrays.asList("testMode=true"));
+        cfg.world.setGravity(new Vector2D(0, 0.981));
+        cfg.sleepEnabled = true;
+        cfg.sleepTicks = 10;
+        PhysicEngine pe = new PhysicEngine(application);
+        pe.initialize(cfg);
+
+        Scene testScene = new TestScene();
+        GameObject ball = new GameObject("ball")
+                .setPosition(100, 1014)
+                .setSize(10, 10)
+                .setMass(1.0)
+                .setMaterial(new Material("test", 0.5, 1.0, 1.0))
+                .setConstrainedToPlayArea(true);
+        testScene.addEntity(ball);
+
+        Map<String, Object> stats = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            pe.update(testScene, 0.1, stats);
+        }
+        Assertions.assertTrue(ball.isSleeping());
+        Assertions.assertEquals(1, stats.get("5_sleeping"));
+        Vector2D rest = new Vector2D(ball.getPosition().x, ball.getPosition().y);
+        pe.update(testScene, 0.1, stats);
+        Assertions.assertEquals(rest, ball.getPosition());
+
+        // a force wakes it up.
+        ball.addForce(0.0, -10.0);
+        Assertions.assertFalse(ball.isSleeping());
+        pe.update(testScene, 0.1, stats);
+        Assertions.assertEquals(0, stats.get("5_sleeping"));
+        Assertions.assertTrue(ball.getPosition().y < rest.y);
+    }
+
+    @Test
+    @Order(7)
+    public void deferredForcesLandOnTheSameTickWithThreads() {
+        Configuration cfg = new Configuration("./test-pe.properties", Arrays.asList("testMode=true"));
+        PhysicEngine sequential = new PhysicEngine(application);
+        sequential.initialize(cfg);
+        cfg.physicThreads = 4;
+        PhysicEngine parallel = new PhysicEngine(application);
+        parallel.initialize(cfg);
+
+        TestScene scene1 = new TestScene();
+        TestScene scene2 = new TestScene();
+        for (TestScene scene : List.of(scene1, scene2)) {
+            GameObject[] objects = new GameObject[300];
+            for (int i = 0; i < objects.length; i++) {
+                objects[i] = new GameObject("obj_" + i).setPosition(i % 100, i / 5).setSize(4, 4);
+                scene.addEntity(objects[i]);
+            }
+            for (int i = 0; i < objects.length; i++) {
+                // push entities processed before and after this one, possibly from another chunk.
+                GameObject target = objects[(i * 7 + 150) % objects.length];
+                CommandBuffer.Command push = (e, elapsed) -> target.addForce(0.01, -0.02);
+                objects[i].addBehavior((e, elapsed) -> CommandBuffer.defer(push, e, elapsed));
+            }
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            sequential.update(scene1, 0.1, stats);
+            parallel.update(scene2, 0.1, stats);
+            for (int j = 0; j < 300; j++) {
+                Assertions.assertEquals(scene1.getEntity("obj_" + j).getPosition(),
+                        scene2.getEntity("obj_" + j).getPosition());
+            }
+        }
+        parallel.dispose();
+    }
+
+    @Test
+    @Order(8)
+    public void childEntityIsIntegratedOncePerUpdate() {
+        Configuration cfg = new Configuration("./test-pe.properties", Arrays.asList("testMode=true"));
+        PhysicEngine pe = new PhysicEngine(application);
+        pe.initialize(cfg);
+
+        Scene testScene = new TestScene();
+        GameObject parent = new GameObject("parent").setPosition(100, 100).setSize(10, 10).setSpeed(0.5, 0.0);
+        GameObject child = new GameObject("child").setPosition(100, 200).setSize(4, 4).setSpeed(0.5, -0.25);
+        GameObject lone = new GameObject("lone").setPosition(300, 200).setSize(4, 4).setSpeed(0.5, -0.25);
+        parent.addChild(child.setParent(parent));
+        // the scene registers the child as one of its entities too.
+        testScene.addEntity(parent);
+        testScene.addEntity(lone);
+
+        Map<String, Object> stats = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            pe.update(testScene, 0.1, stats);
+        }
+        // a child moves like a standalone entity: it is not integrated a second time through its parent.
+        Assertions.assertEquals(lone.getPosition().x - 200, child.getPosition().x, 1e-9);
+        Assertions.assertEquals(lone.getPosition().y, child.getPosition().y);
+    }
 }
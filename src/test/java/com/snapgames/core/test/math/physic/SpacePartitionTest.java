@@ -0,0 +1,110 @@
+package com.snapgames.core.test.math.physic;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.math.physic.SpacePartition;
+import org.junit.jupiter.api.*;
+
+import java.awt.Rectangle;
+import java.util.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SpacePartitionTest {
+    private List<Entity<?>> entities;
+    private SpacePartition full;
+    private SpacePartition incremental;
+
+    @BeforeEach
+    public void setup() {
+        entities = new ArrayList<>();
+        Random rand = new Random(1234);
+        for (int i = 0; i < 200; i++) {
+            entities.add(new GameObject("obj_" + i, rand.nextInt(1000), rand.nextInt(1000), 8, 8));
+        }
+        full = new SpacePartition(0, new Rectangle(0, 0, 1024, 1024));
+        incremental = new SpacePartition(0, new Rectangle(0, 0, 1024, 1024)).setIncremental(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        full.clear();
+        incremental.clear();
+    }
+
+    private static Set<Entity<?>> neighbours(SpacePartition sp, Entity<?> e) {
+        Set<Entity<?>> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(sp.find(e));
+        return set;
+    }
+
+    @Test
+    @Order(1)
+    public void incrementalTreeKeepsEveryEntity() {
+        Random rand = new Random(42);
+        for (int tick = 0; tick < 50; tick++) {
+            for (Entity<?> e : entities) {
+                e.setPosition(
+                    Math.max(0, Math.min(1000, e.pos.x + rand.nextInt(21) - 10)),
+                    Math.max(0, Math.min(1000, e.pos.y + rand.nextInt(21) - 10)));
+            }
+            incremental.update(entities, Collections.emptyList());
+            Assertions.assertEquals(entities.size(), incremental.getEntityCount());
+        }
+    }
+
+    @Test
+    @Order(2)
+    public void incrementalTreeFindsTheNeighboursOfTheRebuiltOne() {
+        Random rand = new Random(42);
+        for (int tick = 0; tick < 20; tick++) {
+            for (Entity<?> e : entities) {
+                e.setPosition(
+                    Math.max(0, Math.min(1000, e.pos.x + rand.nextInt(41) - 20)),
+                    Math.max(0, Math.min(1000, e.pos.y + rand.nextInt(41) - 20)));
+            }
+            full.update(entities, Collections.emptyList());
+            incremental.update(entities, Collections.emptyList());
+        }
+        // the trees may differ in shape, but any overlapping pair must still be found.
+        for (Entity<?> e : entities) {
+            Set<Entity<?>> found = neighbours(incremental, e);
+            for (Entity<?> o : neighbours(full, e)) {
+                if (o != e && o.intersects(e)) {
+                    Assertions.assertTrue(found.contains(o), "missing neighbour " + o.getName() + " for " + e.getName());
+                }
+            }
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void removedEntitiesLeaveTheTreeAndNodesCollapse() {
+        incremental.update(entities, Collections.emptyList());
+        int nodes = incremental.getNodeCount();
+        Assertions.assertTrue(nodes > 1);
+        List<Entity<?>> remaining = new ArrayList<>(entities.subList(0, 3));
+        incremental.update(remaining, Collections.emptyList());
+        Assertions.assertEquals(3, incremental.getEntityCount());
+        Assertions.assertEquals(1, incremental.getNodeCount());
+    }
+
+    @Test
+    @Order(4)
+    public void entityOfAParentNodeFindsTheOnesOfChildNodes() {
+        // a large entity straddling the root node center stays into the root node.
+        GameObject large = new GameObject("large", 400, 400, 200, 200);
+        GameObject small = new GameObject("small", 420, 420, 8, 8);
+        List<Entity<?>> all = new ArrayList<>(entities);
+        all.add(large);
+        all.add(small);
+        for (SpacePartition sp : List.of(full, incremental)) {
+            sp.update(all, Collections.emptyList());
+            Assertions.assertTrue(sp.getNodeCount() > 1);
+            Assertions.assertTrue(neighbours(sp, large).contains(small));
+            Assertions.assertTrue(neighbours(sp, small).contains(large));
+            Entity<?>[] buffer = new Entity<?>[all.size()];
+            int count = sp.find(large, buffer);
+            Assertions.assertTrue(Arrays.asList(buffer).subList(0, count).contains(small));
+        }
+    }
+}
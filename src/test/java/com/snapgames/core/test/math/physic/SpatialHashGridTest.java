@@ -0,0 +1,71 @@
+package com.snapgames.core.test.math.physic;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.math.physic.SpatialHashGrid;
+import org.junit.jupiter.api.*;
+
+import java.awt.Rectangle;
+import java.util.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SpatialHashGridTest {
+    private SpatialHashGrid grid;
+    private List<Entity<?>> entities;
+
+    @BeforeEach
+    public void setup() {
+        grid = new SpatialHashGrid(new Rectangle(0, 0, 320, 320), 32);
+        entities = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        grid.dispose();
+    }
+
+    @Test
+    @Order(1)
+    public void anEntityIsFoundOnceEvenOverManyCells() {
+        // this one overlaps 4 cells.
+        GameObject big = new GameObject("big", 20, 20, 30, 30);
+        GameObject small = new GameObject("small", 40, 40, 8, 8);
+        GameObject far = new GameObject("far", 200, 200, 8, 8);
+        entities.addAll(List.of(big, small, far));
+        grid.update(entities, Collections.emptyList());
+
+        Entity<?>[] buffer = new Entity<?>[8];
+        int count = grid.find(small, buffer);
+        Assertions.assertEquals(2, count);
+        Set<Entity<?>> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        found.addAll(Arrays.asList(buffer).subList(0, count));
+        Assertions.assertTrue(found.contains(big));
+        Assertions.assertTrue(found.contains(small));
+        Assertions.assertFalse(found.contains(far));
+    }
+
+    @Test
+    @Order(2)
+    public void aTooSmallBufferReturnsTheFullCount() {
+        for (int i = 0; i < 10; i++) {
+            entities.add(new GameObject("obj_" + i, 4 + i, 4, 2, 2));
+        }
+        grid.update(entities, Collections.emptyList());
+        Entity<?>[] buffer = new Entity<?>[4];
+        Assertions.assertEquals(10, grid.find(entities.get(0), buffer));
+        int[] indices = new int[16];
+        Assertions.assertEquals(10, grid.query(0, 0, 31, 31, indices));
+        Assertions.assertSame(entities.get(indices[0]), grid.get(indices[0]));
+    }
+
+    @Test
+    @Order(3)
+    public void entitiesOutsideThePlayAreaAreClampedToTheBorderCells() {
+        GameObject outside = new GameObject("outside", -50, 400, 8, 8);
+        GameObject corner = new GameObject("corner", 2, 300, 8, 8);
+        entities.addAll(List.of(outside, corner));
+        grid.update(entities, Collections.emptyList());
+        Entity<?>[] buffer = new Entity<?>[4];
+        Assertions.assertEquals(2, grid.find(corner, buffer));
+    }
+}
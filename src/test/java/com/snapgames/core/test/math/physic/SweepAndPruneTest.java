@@ -0,0 +1,93 @@
+package com.snapgames.core.test.math.physic;
+
+import com.snapgames.core.entity.Entity;
+import com.snapgames.core.entity.GameObject;
+import com.snapgames.core.math.physic.SweepAndPrune;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SweepAndPruneTest {
+    private SweepAndPrune sap;
+    private List<Entity<?>> entities;
+
+    @BeforeEach
+    public void setup() {
+        sap = new SweepAndPrune();
+        entities = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sap.dispose();
+    }
+
+    private static int bruteForcePairs(List<Entity<?>> entities) {
+        int pairs = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            for (int j = i + 1; j < entities.size(); j++) {
+                Entity<?> a = entities.get(i), b = entities.get(j);
+                if (a.x <= b.x + b.width && b.x <= a.x + a.width
+                    && a.y <= b.y + b.height && b.y <= a.y + a.height) {
+                    pairs++;
+                }
+            }
+        }
+        return pairs;
+    }
+
+    @Test
+    @Order(1)
+    public void pairsMatchABruteForceSearchWhileEntitiesMove() {
+        Random rand = new Random(1234);
+        for (int i = 0; i < 150; i++) {
+            entities.add(new GameObject("obj_" + i, rand.nextInt(400), rand.nextInt(400), 8, 8));
+        }
+        for (int tick = 0; tick < 30; tick++) {
+            for (Entity<?> e : entities) {
+                e.setPosition(e.pos.x + rand.nextInt(5) - 2, e.pos.y + rand.nextInt(5) - 2);
+            }
+            sap.update(entities, Collections.emptyList());
+            Assertions.assertEquals(bruteForcePairs(entities), sap.getPairCount());
+        }
+    }
+
+    @Test
+    @Order(2)
+    public void neighboursAndChurnAreReported() {
+        GameObject a = new GameObject("a", 0, 0, 10, 10);
+        GameObject b = new GameObject("b", 5, 5, 10, 10);
+        GameObject c = new GameObject("c", 100, 0, 10, 10);
+        entities.addAll(List.of(a, b, c));
+        sap.update(entities, Collections.emptyList());
+        Assertions.assertEquals(1, sap.getPairCount());
+        Assertions.assertEquals(1, sap.getPairChurn());
+
+        Entity<?>[] buffer = new Entity<?>[4];
+        Assertions.assertEquals(1, sap.find(a, buffer));
+        Assertions.assertSame(b, buffer[0]);
+        Assertions.assertEquals(0, sap.find(c, buffer));
+
+        // b leaves a and joins c: one pair disappears, one appears.
+        b.setPosition(95, 5);
+        sap.update(entities, Collections.emptyList());
+        Assertions.assertEquals(1, sap.getPairCount());
+        Assertions.assertEquals(2, sap.getPairChurn());
+        Assertions.assertEquals(1, sap.find(c, buffer));
+        Assertions.assertSame(b, buffer[0]);
+    }
+
+    @Test
+    @Order(3)
+    public void removedEntitiesAreNoMoreReported() {
+        GameObject a = new GameObject("a", 0, 0, 10, 10);
+        GameObject b = new GameObject("b", 5, 5, 10, 10);
+        entities.addAll(List.of(a, b));
+        sap.update(entities, Collections.emptyList());
+        entities.remove(b);
+        sap.update(entities, Collections.emptyList());
+        Assertions.assertEquals(0, sap.getPairCount());
+        Assertions.assertEquals(0, sap.find(b, new Entity<?>[4]));
+    }
+}